@@ -21,26 +21,48 @@ import com.fern.generator.exec.model.config.GeneratorConfig;
 import com.fern.generator.exec.model.config.GeneratorPublishConfig;
 import com.fern.generator.exec.model.config.GithubOutputMode;
 import com.fern.ir.core.ObjectMappers;
+import com.fern.ir.model.http.HttpMethod;
+import com.fern.ir.model.http.HttpResponse;
 import com.fern.ir.model.ir.IntermediateRepresentation;
 import com.fern.java.AbstractGeneratorCli;
 import com.fern.java.AbstractPoetClassNameFactory;
 import com.fern.java.DefaultGeneratorExecClient;
+import com.fern.java.client.generators.AdaptiveConcurrencyLimiterGenerator;
 import com.fern.java.client.generators.ApiErrorGenerator;
+import com.fern.java.client.generators.BatchGenerator;
+import com.fern.java.client.generators.BulkheadGenerator;
+import com.fern.java.client.generators.CachingSupplierGenerator;
+import com.fern.java.client.generators.CallsGenerator;
+import com.fern.java.client.generators.CancellationTokenGenerator;
+import com.fern.java.client.generators.ClientMetricsGenerator;
 import com.fern.java.client.generators.ClientOptionsGenerator;
 import com.fern.java.client.generators.EnvironmentGenerator;
+import com.fern.java.client.generators.FileDownloaderGenerator;
+import com.fern.java.client.generators.HistogramClientMetricsGenerator;
+import com.fern.java.client.generators.JsonRequestBodyGenerator;
+import com.fern.java.client.generators.LatencyHistogramGenerator;
+import com.fern.java.client.generators.LoadBalancingInterceptorGenerator;
+import com.fern.java.client.generators.MetricsEventListenerGenerator;
+import com.fern.java.client.generators.ProgressListenerGenerator;
+import com.fern.java.client.generators.ReplicaSetGenerator;
+import com.fern.java.client.generators.RequestCoalescerGenerator;
 import com.fern.java.client.generators.RequestOptionsGenerator;
+import com.fern.java.client.generators.ResponseCacheGenerator;
 import com.fern.java.client.generators.RetryInterceptorGenerator;
 import com.fern.java.client.generators.RootClientGenerator;
 import com.fern.java.client.generators.SampleAppGenerator;
+import com.fern.java.client.generators.StreamGenerator;
 import com.fern.java.client.generators.SubpackageClientGenerator;
 import com.fern.java.client.generators.SuppliersGenerator;
 import com.fern.java.client.generators.TestGenerator;
+import com.fern.java.client.generators.UploadSourceGenerator;
 import com.fern.java.generators.DateTimeDeserializerGenerator;
 import com.fern.java.generators.ObjectMappersGenerator;
 import com.fern.java.generators.TypesGenerator;
 import com.fern.java.generators.TypesGenerator.Result;
 import com.fern.java.output.GeneratedJavaFile;
 import com.fern.java.output.GeneratedObjectMapper;
+import com.fern.java.output.GeneratedResourcesJavaFile;
 import com.fern.java.output.gradle.AbstractGradleDependency;
 import com.fern.java.output.gradle.GradleDependency;
 import com.fern.java.output.gradle.GradleDependencyType;
@@ -48,6 +70,7 @@ import com.fern.java.output.gradle.ParsedGradleDependency;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -166,18 +189,115 @@ public final class ClientGeneratorCli
         GeneratedJavaFile generatedRequestOptions = requestOptionsGenerator.generateFile();
         this.addGeneratedFile(generatedRequestOptions);
 
+        CancellationTokenGenerator cancellationTokenGenerator = new CancellationTokenGenerator(context);
+        this.addGeneratedFile(cancellationTokenGenerator.generateFile());
+
+        CallsGenerator callsGenerator = new CallsGenerator(context);
+        this.addGeneratedFile(callsGenerator.generateFile());
+
+        if (generatedEnvironmentsClass.replicaSetsPresent()) {
+            ReplicaSetGenerator replicaSetGenerator = new ReplicaSetGenerator(context);
+            this.addGeneratedFile(replicaSetGenerator.generateFile());
+
+            LoadBalancingInterceptorGenerator loadBalancingInterceptorGenerator =
+                    new LoadBalancingInterceptorGenerator(context);
+            this.addGeneratedFile(loadBalancingInterceptorGenerator.generateFile());
+        }
+
+        if (hasMultipleBaseUrls(ir)) {
+            BulkheadGenerator bulkheadGenerator = new BulkheadGenerator(context);
+            this.addGeneratedFile(bulkheadGenerator.generateFile());
+        }
+
+        Optional<GeneratedResourcesJavaFile> generatedResponseCache = Optional.empty();
+        Optional<GeneratedResourcesJavaFile> generatedRequestCoalescer = Optional.empty();
+        if (hasCacheableEndpoints(ir)) {
+            ResponseCacheGenerator responseCacheGenerator = new ResponseCacheGenerator(context);
+            generatedResponseCache = Optional.of(responseCacheGenerator.generateFile());
+            this.addGeneratedFile(generatedResponseCache.get());
+
+            // The response cache coalesces its misses with the request coalescer.
+            RequestCoalescerGenerator requestCoalescerGenerator = new RequestCoalescerGenerator(context);
+            generatedRequestCoalescer = Optional.of(requestCoalescerGenerator.generateFile());
+            this.addGeneratedFile(generatedRequestCoalescer.get());
+        }
+
+        Optional<GeneratedResourcesJavaFile> generatedBatch = Optional.empty();
+        if (hasEndpoints(ir)) {
+            BatchGenerator batchGenerator = new BatchGenerator(context);
+            generatedBatch = Optional.of(batchGenerator.generateFile());
+            this.addGeneratedFile(generatedBatch.get());
+        }
+
+        Optional<GeneratedResourcesJavaFile> generatedConcurrencyLimiter = Optional.empty();
+        if (hasEndpoints(ir)) {
+            AdaptiveConcurrencyLimiterGenerator adaptiveConcurrencyLimiterGenerator =
+                    new AdaptiveConcurrencyLimiterGenerator(context);
+            generatedConcurrencyLimiter = Optional.of(adaptiveConcurrencyLimiterGenerator.generateFile());
+            this.addGeneratedFile(generatedConcurrencyLimiter.get());
+        }
+
         RetryInterceptorGenerator retryInterceptorGenerator = new RetryInterceptorGenerator(context);
         this.addGeneratedFile(retryInterceptorGenerator.generateFile());
 
-        ClientOptionsGenerator clientOptionsGenerator =
-                new ClientOptionsGenerator(context, generatedEnvironmentsClass, generatedRequestOptions);
+        JsonRequestBodyGenerator jsonRequestBodyGenerator = new JsonRequestBodyGenerator(context);
+        this.addGeneratedFile(jsonRequestBodyGenerator.generateFile());
+
+        ProgressListenerGenerator progressListenerGenerator = new ProgressListenerGenerator(context);
+        this.addGeneratedFile(progressListenerGenerator.generateFile());
+
+        UploadSourceGenerator uploadSourceGenerator = new UploadSourceGenerator(context);
+        this.addGeneratedFile(uploadSourceGenerator.generateFile());
+
+        Optional<GeneratedResourcesJavaFile> generatedClientMetrics = Optional.empty();
+        if (hasEndpoints(ir)) {
+            ClientMetricsGenerator clientMetricsGenerator = new ClientMetricsGenerator(context);
+            generatedClientMetrics = Optional.of(clientMetricsGenerator.generateFile());
+            this.addGeneratedFile(generatedClientMetrics.get());
+
+            MetricsEventListenerGenerator metricsEventListenerGenerator = new MetricsEventListenerGenerator(context);
+            this.addGeneratedFile(metricsEventListenerGenerator.generateFile());
+
+            LatencyHistogramGenerator latencyHistogramGenerator = new LatencyHistogramGenerator(context);
+            this.addGeneratedFile(latencyHistogramGenerator.generateFile());
+
+            HistogramClientMetricsGenerator histogramClientMetricsGenerator =
+                    new HistogramClientMetricsGenerator(context);
+            this.addGeneratedFile(histogramClientMetricsGenerator.generateFile());
+        }
+
+        if (hasFileDownloadEndpoints(ir)) {
+            FileDownloaderGenerator fileDownloaderGenerator = new FileDownloaderGenerator(context);
+            this.addGeneratedFile(fileDownloaderGenerator.generateFile());
+        }
+
+        if (hasStreamingEndpoints(ir)) {
+            StreamGenerator streamGenerator = new StreamGenerator(context);
+            this.addGeneratedFile(streamGenerator.generateFile());
+        }
+
+        ClientOptionsGenerator clientOptionsGenerator = new ClientOptionsGenerator(
+                context,
+                generatedEnvironmentsClass,
+                generatedRequestOptions,
+                generatedClientMetrics,
+                generatedConcurrencyLimiter,
+                generatedResponseCache,
+                generatedRequestCoalescer);
         GeneratedClientOptions generatedClientOptions = clientOptionsGenerator.generateFile();
         this.addGeneratedFile(generatedClientOptions);
 
         DateTimeDeserializerGenerator dateTimeDeserializerGenerator = new DateTimeDeserializerGenerator(context);
         this.addGeneratedFile(dateTimeDeserializerGenerator.generateFile());
 
-        SuppliersGenerator suppliersGenerator = new SuppliersGenerator(context);
+        Optional<GeneratedResourcesJavaFile> generatedCachingSupplier = Optional.empty();
+        if (hasHeaderSuppliers(ir)) {
+            CachingSupplierGenerator cachingSupplierGenerator = new CachingSupplierGenerator(context);
+            generatedCachingSupplier = Optional.of(cachingSupplierGenerator.generateFile());
+            this.addGeneratedFile(generatedCachingSupplier.get());
+        }
+
+        SuppliersGenerator suppliersGenerator = new SuppliersGenerator(context, generatedCachingSupplier);
         GeneratedJavaFile generatedSuppliersFile = suppliersGenerator.generateFile();
         this.addGeneratedFile(generatedSuppliersFile);
 
@@ -208,6 +328,7 @@ public final class ClientGeneratorCli
                     generatedTypes.getInterfaces());
             GeneratedClient generatedClient = httpServiceClientGenerator.generateFile();
             this.addGeneratedFile(generatedClient);
+            this.addGeneratedFile(generatedClient.asyncClient());
             generatedClient.wrappedRequests().forEach(this::addGeneratedFile);
         });
 
@@ -220,10 +341,12 @@ public final class ClientGeneratorCli
                 generatedSuppliersFile,
                 generatedEnvironmentsClass,
                 generatedRequestOptions,
-                generatedTypes.getInterfaces());
+                generatedTypes.getInterfaces(),
+                generatedBatch);
         GeneratedRootClient generatedRootClient = rootClientGenerator.generateFile();
         this.addGeneratedFile(generatedRootClient);
         this.addGeneratedFile(generatedRootClient.builderClass());
+        this.addGeneratedFile(generatedRootClient.asyncClient());
         generatedRootClient.wrappedRequests().forEach(this::addGeneratedFile);
 
         context.getCustomConfig().customDependencies().ifPresent(deps -> {
@@ -234,6 +357,58 @@ public final class ClientGeneratorCli
         return generatedRootClient;
     }
 
+    /**
+     * Each base url of a multi-url environment can be isolated in its own bulkhead.
+     */
+    private static boolean hasMultipleBaseUrls(IntermediateRepresentation ir) {
+        return ir.getEnvironments()
+                .flatMap(environmentsConfig ->
+                        environmentsConfig.getEnvironments().getMultipleBaseUrls())
+                .isPresent();
+    }
+
+    private static boolean hasEndpoints(IntermediateRepresentation ir) {
+        return ir.getServices().values().stream()
+                .anyMatch(httpService -> !httpService.getEndpoints().isEmpty());
+    }
+
+    /**
+     * GET endpoints with a JSON response can share their deserialized responses between callers.
+     */
+    private static boolean hasCacheableEndpoints(IntermediateRepresentation ir) {
+        return ir.getServices().values().stream()
+                .flatMap(httpService -> httpService.getEndpoints().stream())
+                .anyMatch(httpEndpoint -> httpEndpoint.getMethod().equals(HttpMethod.GET)
+                        && httpEndpoint.getResponse().map(HttpResponse::isJson).orElse(false));
+    }
+
+    private static boolean hasStreamingEndpoints(IntermediateRepresentation ir) {
+        return ir.getServices().values().stream()
+                .flatMap(httpService -> httpService.getEndpoints().stream())
+                .anyMatch(httpEndpoint -> httpEndpoint
+                        .getResponse()
+                        .map(HttpResponse::isStreaming)
+                        .orElse(false));
+    }
+
+    /**
+     * Bearer and header auth, as well as global headers, get builder methods that cache the values of a supplier.
+     */
+    private static boolean hasHeaderSuppliers(IntermediateRepresentation ir) {
+        return !ir.getHeaders().isEmpty()
+                || ir.getAuth().getSchemes().stream()
+                        .anyMatch(authScheme -> authScheme.isBearer() || authScheme.isHeader());
+    }
+
+    private static boolean hasFileDownloadEndpoints(IntermediateRepresentation ir) {
+        return ir.getServices().values().stream()
+                .flatMap(httpService -> httpService.getEndpoints().stream())
+                .anyMatch(httpEndpoint -> httpEndpoint
+                        .getResponse()
+                        .map(HttpResponse::isFileDownload)
+                        .orElse(false));
+    }
+
     @Override
     public List<AbstractGradleDependency> getBuildGradleDependencies() {
         return dependencies;
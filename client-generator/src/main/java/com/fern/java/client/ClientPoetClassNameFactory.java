@@ -43,11 +43,95 @@ public final class ClientPoetClassNameFactory extends AbstractNonModelPoetClassN
         return ClassName.get(getCorePackage(), "RetryInterceptor");
     }
 
+    public ClassName getStreamClassName() {
+        return ClassName.get(getCorePackage(), "Stream");
+    }
+
+    public ClassName getJsonRequestBodyClassName() {
+        return ClassName.get(getCorePackage(), "JsonRequestBody");
+    }
+
+    public ClassName getUploadSourceClassName() {
+        return ClassName.get(getCorePackage(), "UploadSource");
+    }
+
+    public ClassName getProgressListenerClassName() {
+        return ClassName.get(getCorePackage(), "ProgressListener");
+    }
+
+    public ClassName getFileDownloaderClassName() {
+        return ClassName.get(getCorePackage(), "FileDownloader");
+    }
+
+    public ClassName getClientMetricsClassName() {
+        return ClassName.get(getCorePackage(), "ClientMetrics");
+    }
+
+    public ClassName getMetricsEventListenerClassName() {
+        return ClassName.get(getCorePackage(), "MetricsEventListener");
+    }
+
+    public ClassName getLatencyHistogramClassName() {
+        return ClassName.get(getCorePackage(), "LatencyHistogram");
+    }
+
+    public ClassName getHistogramClientMetricsClassName() {
+        return ClassName.get(getCorePackage(), "HistogramClientMetrics");
+    }
+
+    public ClassName getCancellationTokenClassName() {
+        return ClassName.get(getCorePackage(), "CancellationToken");
+    }
+
+    public ClassName getCallsClassName() {
+        return ClassName.get(getCorePackage(), "Calls");
+    }
+
+    public ClassName getReplicaSetClassName() {
+        return ClassName.get(getCorePackage(), "ReplicaSet");
+    }
+
+    public ClassName getLoadBalancingInterceptorClassName() {
+        return ClassName.get(getCorePackage(), "LoadBalancingInterceptor");
+    }
+
+    public ClassName getBulkheadClassName() {
+        return ClassName.get(getCorePackage(), "Bulkhead");
+    }
+
+    public ClassName getResponseCacheClassName() {
+        return ClassName.get(getCorePackage(), "ResponseCache");
+    }
+
+    public ClassName getRequestCoalescerClassName() {
+        return ClassName.get(getCorePackage(), "RequestCoalescer");
+    }
+
+    public ClassName getBatchClassName() {
+        return ClassName.get(getCorePackage(), "Batch");
+    }
+
+    public ClassName getAdaptiveConcurrencyLimiterClassName() {
+        return ClassName.get(getCorePackage(), "AdaptiveConcurrencyLimiter");
+    }
+
+    public ClassName getCachingSupplierClassName() {
+        return ClassName.get(getCorePackage(), "CachingSupplier");
+    }
+
     public ClassName getClientClassName(Subpackage subpackage) {
         String packageName = getResourcesPackage(Optional.of(subpackage.getFernFilepath()), Optional.empty());
         return ClassName.get(packageName, getClientName(subpackage.getFernFilepath()));
     }
 
+    public ClassName getAsyncClientClassName(Subpackage subpackage) {
+        return getAsyncClassName(getClientClassName(subpackage));
+    }
+
+    public ClassName getAsyncClassName(ClassName clientClassName) {
+        return ClassName.get(clientClassName.packageName(), "Async" + clientClassName.simpleName());
+    }
+
     public ClassName getRequestWrapperBodyClassName(HttpService httpService, SdkRequestWrapper sdkRequestWrapper) {
         String packageName =
                 getResourcesPackage(Optional.of(httpService.getName().getFernFilepath()), Optional.of("requests"));
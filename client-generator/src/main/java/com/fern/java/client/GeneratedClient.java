@@ -25,6 +25,8 @@ import org.immutables.value.Value;
 @StagedBuilderImmutablesStyle
 public abstract class GeneratedClient extends AbstractGeneratedJavaFile {
 
+    public abstract AbstractGeneratedJavaFile asyncClient();
+
     public abstract List<GeneratedWrappedRequest> wrappedRequests();
 
     public static ImmutableGeneratedClient.ClassNameBuildStage builder() {
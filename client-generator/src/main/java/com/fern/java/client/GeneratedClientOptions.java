@@ -16,12 +16,15 @@
 
 package com.fern.java.client;
 
+import com.fern.ir.model.environment.EnvironmentBaseUrlId;
 import com.fern.ir.model.variables.VariableId;
 import com.fern.java.immutables.StagedBuilderImmutablesStyle;
 import com.fern.java.output.AbstractGeneratedJavaFile;
 import com.squareup.javapoet.ClassName;
 import com.squareup.javapoet.MethodSpec;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import org.immutables.value.Value;
 
 @Value.Immutable
@@ -32,12 +35,30 @@ public abstract class GeneratedClientOptions extends AbstractGeneratedJavaFile {
 
     public abstract MethodSpec headers();
 
+    public abstract MethodSpec httpHeaders();
+
     public abstract MethodSpec httpClient();
 
+    public abstract MethodSpec executor();
+
+    public abstract Optional<MethodSpec> responseCache();
+
+    public abstract Optional<MethodSpec> requestCoalescer();
+
+    /**
+     * Getters of the http clients that isolate the calls to each base url of a multi-url environment.
+     */
+    public abstract Map<EnvironmentBaseUrlId, MethodSpec> baseUrlHttpClients();
+
     public abstract Map<VariableId, MethodSpec> variableGetters();
 
     public abstract ClassName builderClassName();
 
+    /**
+     * Builder methods that configure the underlying http client, exposed again on the root client builder.
+     */
+    public abstract List<MethodSpec> httpClientBuilderMethods();
+
     public static ImmutableGeneratedClientOptions.ClassNameBuildStage builder() {
         return ImmutableGeneratedClientOptions.builder();
     }
@@ -32,6 +32,11 @@ public abstract class GeneratedEnvironmentsClass extends AbstractGeneratedJavaFi
 
     public abstract boolean optionsPresent();
 
+    /**
+     * Whether the environments can list replica urls, which are load balanced by the client.
+     */
+    public abstract boolean replicaSetsPresent();
+
     public abstract EnvironmentClassInfo info();
 
     public static ImmutableGeneratedEnvironmentsClass.ClassNameBuildStage builder() {
@@ -47,6 +52,8 @@ public abstract class GeneratedEnvironmentsClass extends AbstractGeneratedJavaFi
 
         public abstract MethodSpec getCustomMethod();
 
+        public abstract MethodSpec getHttpUrlMethod();
+
         public static ImmutableSingleUrlEnvironmentClass.UrlMethodBuildStage builder() {
             return ImmutableSingleUrlEnvironmentClass.builder();
         }
@@ -57,6 +64,8 @@ public abstract class GeneratedEnvironmentsClass extends AbstractGeneratedJavaFi
     public abstract static class MultiUrlEnvironmentsClass extends EnvironmentClassInfo {
         public abstract Map<EnvironmentBaseUrlId, MethodSpec> urlGetterMethods();
 
+        public abstract Map<EnvironmentBaseUrlId, MethodSpec> httpUrlGetterMethods();
+
         public static ImmutableMultiUrlEnvironmentsClass.Builder builder() {
             return ImmutableMultiUrlEnvironmentsClass.builder();
         }
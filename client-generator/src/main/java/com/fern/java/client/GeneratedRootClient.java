@@ -27,6 +27,8 @@ public abstract class GeneratedRootClient extends AbstractGeneratedJavaFile {
 
     public abstract AbstractGeneratedJavaFile builderClass();
 
+    public abstract AbstractGeneratedJavaFile asyncClient();
+
     public abstract List<GeneratedWrappedRequest> wrappedRequests();
 
     public static ImmutableGeneratedRootClient.ClassNameBuildStage builder() {
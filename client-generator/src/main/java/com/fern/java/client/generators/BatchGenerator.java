@@ -0,0 +1,44 @@
+/*
+ * (c) Copyright 2023 Birch Solutions Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fern.java.client.generators;
+
+import com.fern.java.client.ClientGeneratorContext;
+import com.fern.java.generators.AbstractFileGenerator;
+import com.fern.java.output.GeneratedResourcesJavaFile;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+public final class BatchGenerator extends AbstractFileGenerator {
+
+    public BatchGenerator(ClientGeneratorContext clientGeneratorContext) {
+        super(clientGeneratorContext.getPoetClassNameFactory().getBatchClassName(), clientGeneratorContext);
+    }
+
+    @Override
+    public GeneratedResourcesJavaFile generateFile() {
+        try (InputStream is = BatchGenerator.class.getResourceAsStream("/Batch.java")) {
+            String contents = new String(is.readAllBytes(), StandardCharsets.UTF_8);
+            return GeneratedResourcesJavaFile.builder()
+                    .className(className)
+                    .contents(contents)
+                    .build();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read Batch.java");
+        }
+    }
+}
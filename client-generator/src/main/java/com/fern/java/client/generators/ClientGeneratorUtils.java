@@ -32,6 +32,7 @@ import com.fern.java.output.GeneratedJavaFile;
 import com.fern.java.output.GeneratedJavaInterface;
 import com.fern.java.output.GeneratedObjectMapper;
 import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
 import com.squareup.javapoet.FieldSpec;
 import com.squareup.javapoet.MethodSpec;
 import com.squareup.javapoet.ParameterSpec;
@@ -49,6 +50,7 @@ public final class ClientGeneratorUtils {
 
     private final ClientGeneratorContext generatorContext;
     private final TypeSpec.Builder implBuilder;
+    private final TypeSpec.Builder asyncImplBuilder;
     private final FieldSpec clientOptionsField;
     private final IPackage fernPackage;
     private final GeneratedObjectMapper generatedObjectMapper;
@@ -57,6 +59,7 @@ public final class ClientGeneratorUtils {
     private final GeneratedJavaFile generatedSuppliersFile;
     private final GeneratedEnvironmentsClass generatedEnvironmentsClass;
     private final List<GeneratedWrappedRequest> generatedWrappedRequests = new ArrayList<>();
+    private final List<CodeBlock> clientImplConstructorStatements = new ArrayList<>();
     private final GeneratedJavaFile requestOptionsFile;
 
     public ClientGeneratorUtils(
@@ -77,6 +80,10 @@ public final class ClientGeneratorUtils {
         this.implBuilder = TypeSpec.classBuilder(clientImplName)
                 .addModifiers(Modifier.PUBLIC)
                 .addField(clientOptionsField);
+        this.asyncImplBuilder = TypeSpec.classBuilder(
+                        clientGeneratorContext.getPoetClassNameFactory().getAsyncClassName(clientImplName))
+                .addModifiers(Modifier.PUBLIC)
+                .addField(clientOptionsField);
         this.allGeneratedInterfaces = allGeneratedInterfaces;
         this.generatedSuppliersFile = generatedSuppliersFile;
         this.generatedObjectMapper = generatedObjectMapper;
@@ -85,6 +92,21 @@ public final class ClientGeneratorUtils {
         this.requestOptionsFile = requestOptionsFile;
     }
 
+    /**
+     * Adds a field to the client that lazily creates another client sharing its client options. The field is assigned
+     * in the constructor, because the client options are not yet assigned when field initializers run.
+     */
+    public void addClientSupplierField(FieldSpec clientSupplierField, ClassName clientClassName) {
+        implBuilder.addField(clientSupplierField);
+        clientImplConstructorStatements.add(CodeBlock.of(
+                "this.$N = $T.$L(() -> new $T($L))",
+                clientSupplierField,
+                generatedSuppliersFile.getClassName(),
+                SuppliersGenerator.MEMOIZE_METHOD_NAME,
+                clientClassName,
+                clientOptionsField.name));
+    }
+
     public Result buildClients() {
         Optional<HttpService> maybeHttpService = fernPackage
                 .getService()
@@ -94,6 +116,8 @@ public final class ClientGeneratorUtils {
                 .addParameter(ParameterSpec.builder(clientOptionsField.type, clientOptionsField.name)
                         .build())
                 .addStatement("this.$L = $L", clientOptionsField.name, clientOptionsField.name);
+        MethodSpec.Builder asyncClientImplConstructor = clientImplConstructor.build().toBuilder();
+        clientImplConstructorStatements.forEach(clientImplConstructor::addStatement);
         if (maybeHttpService.isPresent()) {
             HttpService httpService = maybeHttpService.get();
             for (HttpEndpoint httpEndpoint : httpService.getEndpoints()) {
@@ -108,12 +132,27 @@ public final class ClientGeneratorUtils {
                         requestOptionsFile,
                         allGeneratedInterfaces);
                 HttpEndpointMethodSpecs httpEndpointMethodSpecs = httpEndpointMethodSpecFactory.create();
+                if (httpEndpointMethodSpecs.getResponseReaderFieldSpec().isPresent()) {
+                    implBuilder.addField(
+                            httpEndpointMethodSpecs.getResponseReaderFieldSpec().get());
+                    asyncImplBuilder.addField(
+                            httpEndpointMethodSpecs.getResponseReaderFieldSpec().get());
+                }
                 implBuilder.addMethod(httpEndpointMethodSpecs.getRequestOptionsMethodSpec());
                 implBuilder.addMethod(httpEndpointMethodSpecs.getNonRequestOptionsMethodSpec());
                 if (httpEndpointMethodSpecs.getNoRequestBodyMethodSpec().isPresent()) {
                     implBuilder.addMethod(
                             httpEndpointMethodSpecs.getNoRequestBodyMethodSpec().get());
                 }
+                asyncImplBuilder.addMethod(httpEndpointMethodSpecs.getAsyncRequestOptionsMethodSpec());
+                asyncImplBuilder.addMethod(httpEndpointMethodSpecs.getAsyncNonRequestOptionsMethodSpec());
+                if (httpEndpointMethodSpecs.getAsyncNoRequestBodyMethodSpec().isPresent()) {
+                    asyncImplBuilder.addMethod(httpEndpointMethodSpecs
+                            .getAsyncNoRequestBodyMethodSpec()
+                            .get());
+                }
+                implBuilder.addMethods(httpEndpointMethodSpecs.getAdditionalMethodSpecs());
+                asyncImplBuilder.addMethods(httpEndpointMethodSpecs.getAsyncAdditionalMethodSpecs());
                 generatedWrappedRequests.addAll(httpEndpointMethodSpecFactory.getGeneratedWrappedRequests());
             }
         }
@@ -141,9 +180,29 @@ public final class ClientGeneratorUtils {
             implBuilder.addMethod(getBaseSubpackageMethod(subpackage, subpackageClientImpl)
                     .addStatement("return this.$L.get()", clientSupplierField.name)
                     .build());
+
+            ClassName asyncSubpackageClientImpl =
+                    generatorContext.getPoetClassNameFactory().getAsyncClientClassName(subpackage);
+            FieldSpec asyncClientSupplierField = FieldSpec.builder(
+                            ParameterizedTypeName.get(ClassName.get(Supplier.class), asyncSubpackageClientImpl),
+                            clientSupplierField.name)
+                    .addModifiers(Modifier.PROTECTED, Modifier.FINAL)
+                    .build();
+            asyncImplBuilder.addField(asyncClientSupplierField);
+            asyncClientImplConstructor.addStatement(
+                    "this.$L = $T.$L(() -> new $T($L))",
+                    asyncClientSupplierField.name,
+                    generatedSuppliersFile.getClassName(),
+                    SuppliersGenerator.MEMOIZE_METHOD_NAME,
+                    asyncSubpackageClientImpl,
+                    clientOptionsField.name);
+            asyncImplBuilder.addMethod(getBaseSubpackageMethod(subpackage, asyncSubpackageClientImpl)
+                    .addStatement("return this.$L.get()", asyncClientSupplierField.name)
+                    .build());
         }
         implBuilder.addMethod(clientImplConstructor.build());
-        return new Result(implBuilder, generatedWrappedRequests);
+        asyncImplBuilder.addMethod(asyncClientImplConstructor.build());
+        return new Result(implBuilder, asyncImplBuilder, generatedWrappedRequests);
     }
 
     private MethodSpec.Builder getBaseSubpackageMethod(Subpackage subpackage, ClassName subpackageClientInterface) {
@@ -154,10 +213,15 @@ public final class ClientGeneratorUtils {
 
     public static final class Result {
         private final TypeSpec.Builder clientImpl;
+        private final TypeSpec.Builder asyncClientImpl;
         private final List<GeneratedWrappedRequest> generatedWrappedRequests;
 
-        public Result(TypeSpec.Builder implBuilder, List<GeneratedWrappedRequest> generatedWrappedRequests) {
+        public Result(
+                TypeSpec.Builder implBuilder,
+                TypeSpec.Builder asyncImplBuilder,
+                List<GeneratedWrappedRequest> generatedWrappedRequests) {
             this.clientImpl = implBuilder;
+            this.asyncClientImpl = asyncImplBuilder;
             this.generatedWrappedRequests = generatedWrappedRequests;
         }
 
@@ -165,6 +229,10 @@ public final class ClientGeneratorUtils {
             return clientImpl;
         }
 
+        public Builder getAsyncClientImpl() {
+            return asyncClientImpl;
+        }
+
         public List<GeneratedWrappedRequest> getGeneratedWrappedRequests() {
             return generatedWrappedRequests;
         }
@@ -17,6 +17,7 @@
 package com.fern.java.client.generators;
 
 import com.fern.generator.exec.model.config.GeneratorConfig;
+import com.fern.ir.model.environment.EnvironmentBaseUrlId;
 import com.fern.ir.model.ir.PlatformHeaders;
 import com.fern.ir.model.variables.VariableDeclaration;
 import com.fern.ir.model.variables.VariableId;
@@ -25,6 +26,7 @@ import com.fern.java.client.GeneratedClientOptions;
 import com.fern.java.client.GeneratedEnvironmentsClass;
 import com.fern.java.generators.AbstractFileGenerator;
 import com.fern.java.output.GeneratedJavaFile;
+import com.fern.java.output.GeneratedResourcesJavaFile;
 import com.squareup.javapoet.ClassName;
 import com.squareup.javapoet.CodeBlock;
 import com.squareup.javapoet.FieldSpec;
@@ -34,14 +36,25 @@ import com.squareup.javapoet.ParameterSpec;
 import com.squareup.javapoet.ParameterizedTypeName;
 import com.squareup.javapoet.TypeName;
 import com.squareup.javapoet.TypeSpec;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import javax.lang.model.element.Modifier;
+import okhttp3.Cache;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.Headers;
 import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
 
 public final class ClientOptionsGenerator extends AbstractFileGenerator {
 
@@ -65,27 +78,134 @@ public final class ClientOptionsGenerator extends AbstractFileGenerator {
                     Modifier.PRIVATE,
                     Modifier.FINAL)
             .build();
+    private static final FieldSpec STATIC_HEADERS_FIELD = FieldSpec.builder(
+                    Headers.class, "staticHeaders", Modifier.PRIVATE, Modifier.FINAL)
+            .build();
     private static final FieldSpec OKHTTP_CLIENT_FIELD = FieldSpec.builder(
                     OkHttpClient.class, "httpClient", Modifier.PRIVATE, Modifier.FINAL)
             .build();
+    private static final FieldSpec EXECUTOR_FIELD = FieldSpec.builder(
+                    Executor.class, "executor", Modifier.PRIVATE, Modifier.FINAL)
+            .build();
+
+    private static final FieldSpec MAX_RETRIES_FIELD =
+            FieldSpec.builder(int.class, "maxRetries", Modifier.PRIVATE).build();
+    private static final FieldSpec INITIAL_RETRY_DELAY_FIELD = FieldSpec.builder(
+                    Duration.class, "initialRetryDelay", Modifier.PRIVATE)
+            .build();
+    private static final FieldSpec MAX_RETRY_DELAY_FIELD =
+            FieldSpec.builder(Duration.class, "maxRetryDelay", Modifier.PRIVATE).build();
+
+    private static final FieldSpec SHARED_HTTP_CLIENT_FIELD = FieldSpec.builder(
+                    OkHttpClient.class, "httpClient", Modifier.PRIVATE)
+            .build();
+    private static final FieldSpec CONNECTION_POOL_FIELD = FieldSpec.builder(
+                    ConnectionPool.class, "connectionPool", Modifier.PRIVATE)
+            .build();
+    private static final FieldSpec DISPATCHER_FIELD =
+            FieldSpec.builder(Dispatcher.class, "dispatcher", Modifier.PRIVATE).build();
+    private static final FieldSpec MAX_REQUESTS_FIELD =
+            FieldSpec.builder(Integer.class, "maxRequests", Modifier.PRIVATE).build();
+    private static final FieldSpec MAX_REQUESTS_PER_HOST_FIELD = FieldSpec.builder(
+                    Integer.class, "maxRequestsPerHost", Modifier.PRIVATE)
+            .build();
+    private static final FieldSpec CONNECT_TIMEOUT_FIELD = FieldSpec.builder(
+                    Duration.class, "connectTimeout", Modifier.PRIVATE)
+            .build();
+    private static final FieldSpec READ_TIMEOUT_FIELD =
+            FieldSpec.builder(Duration.class, "readTimeout", Modifier.PRIVATE).build();
+    private static final FieldSpec WRITE_TIMEOUT_FIELD =
+            FieldSpec.builder(Duration.class, "writeTimeout", Modifier.PRIVATE).build();
+    private static final FieldSpec CALL_TIMEOUT_FIELD =
+            FieldSpec.builder(Duration.class, "callTimeout", Modifier.PRIVATE).build();
+    private static final FieldSpec PROTOCOLS_FIELD = FieldSpec.builder(
+                    ParameterizedTypeName.get(List.class, Protocol.class), "protocols", Modifier.PRIVATE)
+            .build();
+    private static final FieldSpec CACHE_FIELD =
+            FieldSpec.builder(Cache.class, "cache", Modifier.PRIVATE).build();
+
+    /**
+     * Settings that are copied onto the {@link OkHttpClient.Builder} as-is when they have been set.
+     */
+    private static final List<FieldSpec> OKHTTP_BUILDER_SETTINGS = List.of(
+            CONNECTION_POOL_FIELD,
+            CONNECT_TIMEOUT_FIELD,
+            READ_TIMEOUT_FIELD,
+            WRITE_TIMEOUT_FIELD,
+            CALL_TIMEOUT_FIELD,
+            PROTOCOLS_FIELD,
+            CACHE_FIELD);
+
+    private static final List<FieldSpec> HTTP_CLIENT_BUILDER_FIELDS = List.of(
+            SHARED_HTTP_CLIENT_FIELD,
+            CONNECTION_POOL_FIELD,
+            DISPATCHER_FIELD,
+            MAX_REQUESTS_FIELD,
+            MAX_REQUESTS_PER_HOST_FIELD,
+            CONNECT_TIMEOUT_FIELD,
+            READ_TIMEOUT_FIELD,
+            WRITE_TIMEOUT_FIELD,
+            CALL_TIMEOUT_FIELD,
+            PROTOCOLS_FIELD,
+            CACHE_FIELD);
 
     private final ClassName builderClassName;
+    private final ClassName retryInterceptorClassName;
+    private final ClassName retryBudgetClassName;
+    private final FieldSpec retryBudgetField;
+    private final Optional<FieldSpec> metricsField;
+    private final Optional<FieldSpec> concurrencyLimiterField;
+    private final Optional<FieldSpec> responseCacheField;
+    private final Optional<FieldSpec> requestCoalescerField;
+    private final ClassName metricsEventListenerClassName;
+    private final Optional<ClassName> loadBalancingInterceptorClassName;
     private final FieldSpec environmentField;
+    private final ClassName bulkheadClassName;
+    private final Map<EnvironmentBaseUrlId, String> baseUrlNames;
     private final GeneratedJavaFile requestOptionsFile;
     private final ClientGeneratorContext clientGeneratorContext;
 
     public ClientOptionsGenerator(
             ClientGeneratorContext clientGeneratorContext,
             GeneratedEnvironmentsClass generatedEnvironmentsClass,
-            GeneratedJavaFile requestOptionsFile) {
+            GeneratedJavaFile requestOptionsFile,
+            Optional<GeneratedResourcesJavaFile> generatedClientMetrics,
+            Optional<GeneratedResourcesJavaFile> generatedConcurrencyLimiter,
+            Optional<GeneratedResourcesJavaFile> generatedResponseCache,
+            Optional<GeneratedResourcesJavaFile> generatedRequestCoalescer) {
         super(
                 clientGeneratorContext.getPoetClassNameFactory().getCoreClassName(CLIENT_OPTIONS_CLASS_NAME),
                 clientGeneratorContext);
         this.builderClassName = className.nestedClass("Builder");
+        this.retryInterceptorClassName =
+                clientGeneratorContext.getPoetClassNameFactory().getRetryInterceptorClassName();
+        this.retryBudgetClassName = retryInterceptorClassName.nestedClass("RetryBudget");
+        this.retryBudgetField = FieldSpec.builder(retryBudgetClassName, "retryBudget", Modifier.PRIVATE)
+                .build();
         this.environmentField = FieldSpec.builder(
                         generatedEnvironmentsClass.getClassName(), "environment", Modifier.PRIVATE, Modifier.FINAL)
                 .addModifiers()
                 .build();
+        this.metricsField = generatedClientMetrics.map(
+                clientMetrics -> FieldSpec.builder(clientMetrics.getClassName(), "metrics", Modifier.PRIVATE)
+                        .build());
+        this.concurrencyLimiterField = generatedConcurrencyLimiter.map(concurrencyLimiter -> FieldSpec.builder(
+                        concurrencyLimiter.getClassName(), "concurrencyLimiter", Modifier.PRIVATE)
+                .build());
+        this.responseCacheField = generatedResponseCache.map(responseCache -> FieldSpec.builder(
+                        responseCache.getClassName(), "responseCache", Modifier.PRIVATE, Modifier.FINAL)
+                .build());
+        this.requestCoalescerField = generatedRequestCoalescer.map(requestCoalescer -> FieldSpec.builder(
+                        requestCoalescer.getClassName(), "requestCoalescer", Modifier.PRIVATE, Modifier.FINAL)
+                .build());
+        this.metricsEventListenerClassName =
+                clientGeneratorContext.getPoetClassNameFactory().getMetricsEventListenerClassName();
+        this.loadBalancingInterceptorClassName = generatedEnvironmentsClass.replicaSetsPresent()
+                ? Optional.of(clientGeneratorContext.getPoetClassNameFactory().getLoadBalancingInterceptorClassName())
+                : Optional.empty();
+        this.bulkheadClassName =
+                clientGeneratorContext.getPoetClassNameFactory().getBulkheadClassName();
+        this.baseUrlNames = getBaseUrlNames();
         this.requestOptionsFile = requestOptionsFile;
         this.clientGeneratorContext = clientGeneratorContext;
     }
@@ -94,9 +214,18 @@ public final class ClientOptionsGenerator extends AbstractFileGenerator {
     public GeneratedClientOptions generateFile() {
         MethodSpec environmentGetter = createGetter(environmentField);
         MethodSpec headersGetter = getHeadersGetter();
+        MethodSpec httpHeadersGetter = getHttpHeadersGetter();
         MethodSpec httpClientGetter = createGetter(OKHTTP_CLIENT_FIELD);
+        MethodSpec executorGetter = createGetter(EXECUTOR_FIELD);
+        Optional<MethodSpec> responseCacheGetter = responseCacheField.map(ClientOptionsGenerator::createGetter);
+        Optional<MethodSpec> requestCoalescerGetter = requestCoalescerField.map(ClientOptionsGenerator::createGetter);
+        List<MethodSpec> httpClientBuilderMethods = getHttpClientBuilderMethods();
         Map<VariableId, FieldSpec> variableFields = getVariableFields();
         Map<VariableId, MethodSpec> variableGetters = getVariableGetters(variableFields);
+        Map<EnvironmentBaseUrlId, FieldSpec> baseUrlHttpClientFields = getBaseUrlHttpClientFields();
+        Map<EnvironmentBaseUrlId, MethodSpec> baseUrlHttpClientGetters = new LinkedHashMap<>();
+        baseUrlHttpClientFields.forEach(
+                (baseUrlId, fieldSpec) -> baseUrlHttpClientGetters.put(baseUrlId, createGetter(fieldSpec)));
         String commaDelimitedPatformHeaders = getPlatformHeadersEntries(
                         generatorContext.getIr().getSdkConfig().getPlatformHeaders(),
                         generatorContext.getGeneratorConfig())
@@ -108,7 +237,11 @@ public final class ClientOptionsGenerator extends AbstractFileGenerator {
                 .addField(environmentField)
                 .addField(HEADERS_FIELD)
                 .addField(HEADER_SUPPLIERS_FIELD)
+                .addField(STATIC_HEADERS_FIELD)
                 .addField(OKHTTP_CLIENT_FIELD)
+                .addField(EXECUTOR_FIELD)
+                .addFields(getSharedResponseFields())
+                .addFields(baseUrlHttpClientFields.values())
                 .addFields(variableFields.values())
                 .addMethod(MethodSpec.constructorBuilder()
                         .addModifiers(Modifier.PRIVATE)
@@ -120,6 +253,16 @@ public final class ClientOptionsGenerator extends AbstractFileGenerator {
                                 .build())
                         .addParameter(ParameterSpec.builder(OKHTTP_CLIENT_FIELD.type, OKHTTP_CLIENT_FIELD.name)
                                 .build())
+                        .addParameter(ParameterSpec.builder(EXECUTOR_FIELD.type, EXECUTOR_FIELD.name)
+                                .build())
+                        .addParameters(getSharedResponseFields().stream()
+                                .map(fieldSpec -> ParameterSpec.builder(fieldSpec.type, fieldSpec.name)
+                                        .build())
+                                .collect(Collectors.toList()))
+                        .addParameters(baseUrlHttpClientFields.values().stream()
+                                .map(fieldSpec -> ParameterSpec.builder(fieldSpec.type, fieldSpec.name)
+                                        .build())
+                                .collect(Collectors.toList()))
                         .addParameters(variableFields.values().stream()
                                 .map(fieldSpec -> ParameterSpec.builder(fieldSpec.type, fieldSpec.name)
                                         .build())
@@ -133,7 +276,23 @@ public final class ClientOptionsGenerator extends AbstractFileGenerator {
                                 Map.class,
                                 commaDelimitedPatformHeaders)
                         .addStatement("this.$L = $L", HEADER_SUPPLIERS_FIELD.name, HEADER_SUPPLIERS_FIELD.name)
+                        .addStatement(
+                                "this.$L = $T.of(this.$L)",
+                                STATIC_HEADERS_FIELD.name,
+                                Headers.class,
+                                HEADERS_FIELD.name)
                         .addStatement("this.$L = $L", OKHTTP_CLIENT_FIELD.name, OKHTTP_CLIENT_FIELD.name)
+                        .addStatement("this.$L = $L", EXECUTOR_FIELD.name, EXECUTOR_FIELD.name)
+                        .addCode(getSharedResponseFields().stream()
+                                .map(fieldSpec -> CodeBlock.builder()
+                                        .addStatement("this.$N = $N", fieldSpec, fieldSpec)
+                                        .build())
+                                .collect(CodeBlock.joining("")))
+                        .addCode(baseUrlHttpClientFields.values().stream()
+                                .map(fieldSpec -> CodeBlock.builder()
+                                        .addStatement("this.$N = $N", fieldSpec, fieldSpec)
+                                        .build())
+                                .collect(CodeBlock.joining("")))
                         .addStatement(CodeBlock.join(
                                 variableFields.values().stream()
                                         .map(fieldSpec -> CodeBlock.of("this.$N = $N", fieldSpec, fieldSpec))
@@ -142,14 +301,19 @@ public final class ClientOptionsGenerator extends AbstractFileGenerator {
                         .build())
                 .addMethod(environmentGetter)
                 .addMethod(headersGetter)
+                .addMethod(httpHeadersGetter)
                 .addMethod(httpClientGetter)
+                .addMethod(executorGetter)
+                .addMethods(responseCacheGetter.stream().collect(Collectors.toList()))
+                .addMethods(requestCoalescerGetter.stream().collect(Collectors.toList()))
+                .addMethods(baseUrlHttpClientGetters.values())
                 .addMethods(variableGetters.values())
                 .addMethod(MethodSpec.methodBuilder("builder")
                         .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
                         .returns(builderClassName)
                         .addStatement("return new $T()", builderClassName)
                         .build())
-                .addType(createBuilder(variableFields))
+                .addType(createBuilder(variableFields, baseUrlHttpClientFields, httpClientBuilderMethods))
                 .build();
         JavaFile environmentsFile =
                 JavaFile.builder(className.packageName(), clientOptionsTypeSpec).build();
@@ -158,9 +322,15 @@ public final class ClientOptionsGenerator extends AbstractFileGenerator {
                 .javaFile(environmentsFile)
                 .environment(environmentGetter)
                 .headers(headersGetter)
+                .httpHeaders(httpHeadersGetter)
                 .httpClient(httpClientGetter)
+                .executor(executorGetter)
+                .responseCache(responseCacheGetter)
+                .requestCoalescer(requestCoalescerGetter)
                 .builderClassName(builderClassName)
+                .putAllBaseUrlHttpClients(baseUrlHttpClientGetters)
                 .putAllVariableGetters(variableGetters)
+                .addAllHttpClientBuilderMethods(httpClientBuilderMethods)
                 .build();
     }
 
@@ -180,7 +350,36 @@ public final class ClientOptionsGenerator extends AbstractFileGenerator {
                 .build();
     }
 
-    private TypeSpec createBuilder(Map<VariableId, FieldSpec> variableFields) {
+    /**
+     * Static headers are converted to okhttp {@link Headers} once, so a call only pays for the header suppliers and
+     * request options it actually uses.
+     */
+    private MethodSpec getHttpHeadersGetter() {
+        return MethodSpec.methodBuilder("httpHeaders")
+                .addModifiers(Modifier.PUBLIC)
+                .returns(Headers.class)
+                .addParameter(requestOptionsFile.getClassName(), REQUEST_OPTIONS_PARAMETER_NAME)
+                .beginControlFlow(
+                        "if (this.$L.isEmpty() && $L == null)",
+                        HEADER_SUPPLIERS_FIELD.name,
+                        REQUEST_OPTIONS_PARAMETER_NAME)
+                .addStatement("return this.$L", STATIC_HEADERS_FIELD.name)
+                .endControlFlow()
+                .addStatement("$T.Builder values = this.$L.newBuilder()", Headers.class, STATIC_HEADERS_FIELD.name)
+                .beginControlFlow("$L.forEach((key, supplier) -> ", HEADER_SUPPLIERS_FIELD.name)
+                .addStatement("values.set(key, supplier.get())")
+                .endControlFlow(")")
+                .beginControlFlow("if ($L != null)", REQUEST_OPTIONS_PARAMETER_NAME)
+                .addStatement("$L.applyHeaders(values)", REQUEST_OPTIONS_PARAMETER_NAME)
+                .endControlFlow()
+                .addStatement("return values.build()")
+                .build();
+    }
+
+    private TypeSpec createBuilder(
+            Map<VariableId, FieldSpec> variableFields,
+            Map<EnvironmentBaseUrlId, FieldSpec> baseUrlHttpClientFields,
+            List<MethodSpec> httpClientBuilderMethods) {
         return TypeSpec.classBuilder(builderClassName)
                 .addModifiers(Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
                 .addField(FieldSpec.builder(environmentField.type, environmentField.name)
@@ -192,12 +391,52 @@ public final class ClientOptionsGenerator extends AbstractFileGenerator {
                 .addField(HEADER_SUPPLIERS_FIELD.toBuilder()
                         .initializer("new $T<>()", HashMap.class)
                         .build())
+                .addField(FieldSpec.builder(EXECUTOR_FIELD.type, EXECUTOR_FIELD.name)
+                        .addModifiers(Modifier.PRIVATE)
+                        .initializer("$T.commonPool()", ForkJoinPool.class)
+                        .build())
+                .addField(MAX_RETRIES_FIELD.toBuilder()
+                        .initializer("$T.DEFAULT_MAX_RETRIES", retryInterceptorClassName)
+                        .build())
+                .addField(INITIAL_RETRY_DELAY_FIELD.toBuilder()
+                        .initializer("$T.DEFAULT_INITIAL_DELAY", retryInterceptorClassName)
+                        .build())
+                .addField(MAX_RETRY_DELAY_FIELD.toBuilder()
+                        .initializer("$T.DEFAULT_MAX_DELAY", retryInterceptorClassName)
+                        .build())
+                .addField(retryBudgetField.toBuilder()
+                        .initializer("$T.defaultBudget()", retryBudgetClassName)
+                        .build())
+                .addFields(HTTP_CLIENT_BUILDER_FIELDS.stream()
+                        .map(fieldSpec ->
+                                fieldSpec.toBuilder().initializer("null").build())
+                        .collect(Collectors.toList()))
+                .addFields(metricsField.stream()
+                        .map(fieldSpec ->
+                                fieldSpec.toBuilder().initializer("null").build())
+                        .collect(Collectors.toList()))
+                .addFields(concurrencyLimiterField.stream()
+                        .map(fieldSpec ->
+                                fieldSpec.toBuilder().initializer("null").build())
+                        .collect(Collectors.toList()))
+                .addFields(getSharedResponseFields().stream()
+                        .map(fieldSpec -> FieldSpec.builder(fieldSpec.type, fieldSpec.name, Modifier.PRIVATE)
+                                .initializer("null")
+                                .build())
+                        .collect(Collectors.toList()))
+                .addFields(baseUrlNames.values().stream()
+                        .map(baseUrlName -> getBulkheadField(baseUrlName).toBuilder()
+                                .initializer("null")
+                                .build())
+                        .collect(Collectors.toList()))
                 .addFields(variableFields.values())
                 .addMethod(getEnvironmentBuilder())
                 .addMethod(getHeaderBuilder())
                 .addMethod(getHeaderSupplierBuilder())
+                .addMethod(getExecutorBuilder())
+                .addMethods(httpClientBuilderMethods)
                 .addMethods(getVariableBuilders(variableFields))
-                .addMethod(getBuildMethod(variableFields))
+                .addMethod(getBuildMethod(variableFields, baseUrlHttpClientFields))
                 .build();
     }
 
@@ -233,6 +472,82 @@ public final class ClientOptionsGenerator extends AbstractFileGenerator {
                 .build();
     }
 
+    private MethodSpec getExecutorBuilder() {
+        return createBuilderSetter(EXECUTOR_FIELD);
+    }
+
+    private List<MethodSpec> getHttpClientBuilderMethods() {
+        List<MethodSpec> methods = new ArrayList<>();
+        methods.add(createBuilderSetter(MAX_RETRIES_FIELD));
+        methods.add(createBuilderSetter(INITIAL_RETRY_DELAY_FIELD));
+        methods.add(createBuilderSetter(MAX_RETRY_DELAY_FIELD));
+        methods.add(createBuilderSetter(retryBudgetField));
+        methods.add(createBuilderSetter(SHARED_HTTP_CLIENT_FIELD).toBuilder()
+                .addJavadoc("Share the connection pool, dispatcher and settings of an existing client. The retry\n"
+                        + "interceptor and any other options set on this builder are applied on top of it.")
+                .build());
+        methods.add(createBuilderSetter(CONNECTION_POOL_FIELD));
+        methods.add(createBuilderSetter(DISPATCHER_FIELD));
+        methods.add(createBuilderSetter(MAX_REQUESTS_FIELD).toBuilder()
+                .addJavadoc("Applied to the configured dispatcher, or to a new dispatcher if none was set.")
+                .build());
+        methods.add(createBuilderSetter(MAX_REQUESTS_PER_HOST_FIELD).toBuilder()
+                .addJavadoc("Applied to the configured dispatcher, or to a new dispatcher if none was set.")
+                .build());
+        methods.add(createBuilderSetter(CONNECT_TIMEOUT_FIELD));
+        methods.add(createBuilderSetter(READ_TIMEOUT_FIELD));
+        methods.add(createBuilderSetter(WRITE_TIMEOUT_FIELD));
+        methods.add(createBuilderSetter(CALL_TIMEOUT_FIELD));
+        methods.add(createBuilderSetter(PROTOCOLS_FIELD).toBuilder()
+                .addJavadoc("For example, {@code List.of(Protocol.H2_PRIOR_KNOWLEDGE)} to use HTTP/2 without TLS.")
+                .build());
+        methods.add(createBuilderSetter(CACHE_FIELD).toBuilder()
+                .addJavadoc("A size-bounded disk cache for responses, e.g.\n"
+                        + "{@code new Cache(new File(\"http-cache\"), 50L * 1024 * 1024)}.")
+                .build());
+        responseCacheField.ifPresent(fieldSpec -> methods.add(createBuilderSetter(fieldSpec).toBuilder()
+                .addJavadoc(
+                        "Keeps deserialized GET responses in memory and revalidates them with the server once they\n"
+                                + "are stale.")
+                .build()));
+        requestCoalescerField.ifPresent(fieldSpec -> methods.add(createBuilderSetter(fieldSpec).toBuilder()
+                .addJavadoc("Collapses concurrent identical GET requests into a single call whose deserialized result\n"
+                        + "is shared by all callers. Only needed without a response cache, which already does this.")
+                .build()));
+        baseUrlNames
+                .values()
+                .forEach(baseUrlName -> methods.add(createBuilderSetter(getBulkheadField(baseUrlName)).toBuilder()
+                        .addJavadoc(
+                                "Sends calls to the $L base url through a separate dispatcher and\n"
+                                        + "connection pool, with its own concurrency limit and queue, so that a slow\n"
+                                        + "backend cannot starve the endpoints of the other base urls.",
+                                baseUrlName)
+                        .build()));
+        concurrencyLimiterField.ifPresent(fieldSpec -> methods.add(createBuilderSetter(fieldSpec).toBuilder()
+                .addJavadoc(
+                        "Limits the calls in flight to a limit that shrinks when the server rejects calls with 429 or\n"
+                                + "503 or slows down, and grows again while it keeps up. Calls over the limit are\n"
+                                + "queued, and rejected once the queue is full.")
+                .build()));
+        metricsField.ifPresent(fieldSpec -> methods.add(createBuilderSetter(fieldSpec).toBuilder()
+                .addJavadoc(
+                        "Receives timings, sizes and retry counts of every call. Replaces the event listener factory\n"
+                                + "of a shared http client.")
+                .build()));
+        return methods;
+    }
+
+    private MethodSpec createBuilderSetter(FieldSpec fieldSpec) {
+        TypeName parameterType = fieldSpec.type.isBoxedPrimitive() ? fieldSpec.type.unbox() : fieldSpec.type;
+        return MethodSpec.methodBuilder(fieldSpec.name)
+                .addModifiers(Modifier.PUBLIC)
+                .returns(builderClassName)
+                .addParameter(parameterType, fieldSpec.name)
+                .addStatement("this.$L = $L", fieldSpec.name, fieldSpec.name)
+                .addStatement("return this")
+                .build();
+    }
+
     private Map<VariableId, FieldSpec> getVariableFields() {
         return generatorContext.getIr().getVariables().stream()
                 .collect(Collectors.toMap(VariableDeclaration::getId, variableDeclaration -> FieldSpec.builder(
@@ -282,53 +597,154 @@ public final class ClientOptionsGenerator extends AbstractFileGenerator {
                 }));
     }
 
-    private MethodSpec getBuildMethod(Map<VariableId, FieldSpec> variableFields) {
-        if (variableFields.isEmpty()) {
-            return MethodSpec.methodBuilder("build")
-                    .addModifiers(Modifier.PUBLIC)
-                    .returns(className)
-                    .addStatement(CodeBlock.builder()
-                            .add("$T okhttpClient = new $T.Builder()", OkHttpClient.class, OkHttpClient.class)
-                            .add(
-                                    "\n    .addInterceptor(new $T(3))",
-                                    clientGeneratorContext
-                                            .getPoetClassNameFactory()
-                                            .getRetryInterceptorClassName())
-                            .add("\n    .build()")
-                            .build())
-                    .addStatement(
-                            "return new $T($L, $L, $L, $L)",
-                            className,
-                            environmentField.name,
-                            HEADERS_FIELD.name,
-                            HEADER_SUPPLIERS_FIELD.name,
-                            "okhttpClient")
-                    .build();
-        } else {
-            String variableArgs = variableFields.values().stream()
-                    .map(variableField -> "this." + variableField.name)
-                    .collect(Collectors.joining(","));
-            return MethodSpec.methodBuilder("build")
-                    .addModifiers(Modifier.PUBLIC)
-                    .returns(className)
-                    .addStatement(CodeBlock.builder()
-                            .add("$T okhttpClient = new $T.Builder()", OkHttpClient.class, OkHttpClient.class)
-                            .add(
-                                    "\n    .addInterceptor(new $T(3))",
-                                    clientGeneratorContext
-                                            .getPoetClassNameFactory()
-                                            .getRetryInterceptorClassName())
-                            .add("\n    .build()")
-                            .build())
-                    .addStatement(
-                            "return new $T($L, $L, $L, $L," + variableArgs + ")",
-                            className,
-                            environmentField.name,
-                            HEADERS_FIELD.name,
-                            HEADER_SUPPLIERS_FIELD.name,
-                            "okhttpClient")
-                    .build();
+    private MethodSpec getBuildMethod(
+            Map<VariableId, FieldSpec> variableFields, Map<EnvironmentBaseUrlId, FieldSpec> baseUrlHttpClientFields) {
+        CodeBlock.Builder baseUrlHttpClients = CodeBlock.builder();
+        baseUrlHttpClientFields.forEach((baseUrlId, fieldSpec) -> {
+            FieldSpec bulkheadField = getBulkheadField(baseUrlNames.get(baseUrlId));
+            baseUrlHttpClients.addStatement(
+                    "$T $N = this.$N != null ? this.$N.isolate(okhttpClient) : okhttpClient",
+                    OkHttpClient.class,
+                    fieldSpec,
+                    bulkheadField,
+                    bulkheadField);
+        });
+        String additionalArgs = Stream.of(
+                        getSharedResponseFields().stream().map(fieldSpec -> fieldSpec.name),
+                        baseUrlHttpClientFields.values().stream().map(fieldSpec -> fieldSpec.name),
+                        variableFields.values().stream().map(variableField -> "this." + variableField.name))
+                .flatMap(args -> args)
+                .map(arg -> ", " + arg)
+                .collect(Collectors.joining());
+        return MethodSpec.methodBuilder("build")
+                .addModifiers(Modifier.PUBLIC)
+                .returns(className)
+                .addCode(getOkhttpClientInitializer())
+                .addCode(baseUrlHttpClients.build())
+                .addStatement(
+                        "return new $T($L, $L, $L, $L, $L" + additionalArgs + ")",
+                        className,
+                        environmentField.name,
+                        HEADERS_FIELD.name,
+                        HEADER_SUPPLIERS_FIELD.name,
+                        "okhttpClient",
+                        EXECUTOR_FIELD.name)
+                .build();
+    }
+
+    private CodeBlock getOkhttpClientInitializer() {
+        // Interceptors added by a client that is shared through the builder are replaced by this client's own.
+        List<TypeName> interceptorTypes = new ArrayList<>();
+        interceptorTypes.add(retryInterceptorClassName);
+        concurrencyLimiterField.ifPresent(fieldSpec -> interceptorTypes.add(fieldSpec.type));
+        loadBalancingInterceptorClassName.ifPresent(interceptorTypes::add);
+        CodeBlock.Builder builder = CodeBlock.builder()
+                .addStatement(
+                        "$T.Builder httpClientBuilder = this.$N != null ? this.$N.newBuilder() : new $T.Builder()",
+                        OkHttpClient.class,
+                        SHARED_HTTP_CLIENT_FIELD,
+                        SHARED_HTTP_CLIENT_FIELD,
+                        OkHttpClient.class)
+                .addStatement(
+                        "httpClientBuilder.interceptors().removeIf(interceptor -> $L)",
+                        interceptorTypes.stream()
+                                .map(interceptorType -> CodeBlock.of("interceptor instanceof $T", interceptorType))
+                                .collect(CodeBlock.joining(" || ")));
+        for (FieldSpec setting : OKHTTP_BUILDER_SETTINGS) {
+            builder.beginControlFlow("if (this.$N != null)", setting)
+                    .addStatement("httpClientBuilder.$N(this.$N)", setting.name, setting)
+                    .endControlFlow();
         }
+        builder.addStatement("$T dispatcher = this.$N", Dispatcher.class, DISPATCHER_FIELD)
+                .beginControlFlow(
+                        "if (dispatcher == null && (this.$N != null || this.$N != null))",
+                        MAX_REQUESTS_FIELD,
+                        MAX_REQUESTS_PER_HOST_FIELD)
+                .addStatement("dispatcher = new $T()", Dispatcher.class)
+                .endControlFlow()
+                .beginControlFlow("if (dispatcher != null)")
+                .beginControlFlow("if (this.$N != null)", MAX_REQUESTS_FIELD)
+                .addStatement("dispatcher.setMaxRequests(this.$N)", MAX_REQUESTS_FIELD)
+                .endControlFlow()
+                .beginControlFlow("if (this.$N != null)", MAX_REQUESTS_PER_HOST_FIELD)
+                .addStatement("dispatcher.setMaxRequestsPerHost(this.$N)", MAX_REQUESTS_PER_HOST_FIELD)
+                .endControlFlow()
+                .addStatement("httpClientBuilder.dispatcher(dispatcher)")
+                .endControlFlow();
+        metricsField.ifPresent(fieldSpec -> builder.beginControlFlow("if (this.$N != null)", fieldSpec)
+                .addStatement(
+                        "httpClientBuilder.eventListenerFactory($T.factory(this.$N))",
+                        metricsEventListenerClassName,
+                        fieldSpec)
+                .endControlFlow());
+        builder.addStatement(
+                "httpClientBuilder.addInterceptor(new $T($N, $N, $N, $N))",
+                retryInterceptorClassName,
+                MAX_RETRIES_FIELD,
+                INITIAL_RETRY_DELAY_FIELD,
+                MAX_RETRY_DELAY_FIELD,
+                retryBudgetField);
+        // Added after the retry interceptor so that every attempt acquires a slot, and before the load balancer so
+        // that calls waiting for a slot do not count as outstanding on a replica.
+        concurrencyLimiterField.ifPresent(fieldSpec -> builder.beginControlFlow("if (this.$N != null)", fieldSpec)
+                .addStatement("httpClientBuilder.addInterceptor(this.$N)", fieldSpec)
+                .endControlFlow());
+        // Added after the retry interceptor so that every attempt picks a replica.
+        loadBalancingInterceptorClassName.ifPresent(interceptorClassName -> builder.beginControlFlow(
+                        "if (this.$N != null && !this.$N.$N().isEmpty())",
+                        environmentField,
+                        environmentField,
+                        EnvironmentGenerator.GET_REPLICA_SETS)
+                .addStatement(
+                        "httpClientBuilder.addInterceptor(new $T(this.$N.$N()))",
+                        interceptorClassName,
+                        environmentField,
+                        EnvironmentGenerator.GET_REPLICA_SETS)
+                .endControlFlow());
+        return builder.addStatement("$T okhttpClient = httpClientBuilder.build()", OkHttpClient.class)
+                .build();
+    }
+
+    /**
+     * The names of the base urls of a multi-url environment, each of which gets its own bulkhead.
+     */
+    private Map<EnvironmentBaseUrlId, String> getBaseUrlNames() {
+        Map<EnvironmentBaseUrlId, String> names = new LinkedHashMap<>();
+        generatorContext
+                .getIr()
+                .getEnvironments()
+                .flatMap(environmentsConfig ->
+                        environmentsConfig.getEnvironments().getMultipleBaseUrls())
+                .ifPresent(multipleBaseUrls -> multipleBaseUrls
+                        .getBaseUrls()
+                        .forEach(baseUrl -> names.put(
+                                baseUrl.getId(),
+                                baseUrl.getName().getCamelCase().getSafeName())));
+        return names;
+    }
+
+    /**
+     * The response cache and request coalescer, which share the responses of GET endpoints between callers.
+     */
+    private List<FieldSpec> getSharedResponseFields() {
+        List<FieldSpec> fields = new ArrayList<>();
+        responseCacheField.ifPresent(fields::add);
+        requestCoalescerField.ifPresent(fields::add);
+        return fields;
+    }
+
+    private Map<EnvironmentBaseUrlId, FieldSpec> getBaseUrlHttpClientFields() {
+        Map<EnvironmentBaseUrlId, FieldSpec> fields = new LinkedHashMap<>();
+        baseUrlNames.forEach((baseUrlId, baseUrlName) -> fields.put(
+                baseUrlId,
+                FieldSpec.builder(OkHttpClient.class, baseUrlName + "HttpClient", Modifier.PRIVATE, Modifier.FINAL)
+                        .build()));
+        return fields;
+    }
+
+    private FieldSpec getBulkheadField(String baseUrlName) {
+        return FieldSpec.builder(bulkheadClassName, baseUrlName + "Bulkhead", Modifier.PRIVATE)
+                .build();
     }
 
     private static MethodSpec createGetter(FieldSpec fieldSpec) {
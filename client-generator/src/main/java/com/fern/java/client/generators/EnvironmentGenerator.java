@@ -31,23 +31,43 @@ import com.fern.java.client.GeneratedEnvironmentsClass.EnvironmentClassInfo;
 import com.fern.java.client.GeneratedEnvironmentsClass.MultiUrlEnvironmentsClass;
 import com.fern.java.client.GeneratedEnvironmentsClass.SingleUrlEnvironmentClass;
 import com.fern.java.generators.AbstractFileGenerator;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
 import com.squareup.javapoet.FieldSpec;
 import com.squareup.javapoet.JavaFile;
 import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
 import com.squareup.javapoet.TypeSpec;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import javax.lang.model.element.Modifier;
+import okhttp3.HttpUrl;
 
 public final class EnvironmentGenerator extends AbstractFileGenerator {
 
     public static final String GET_URL = "getUrl";
 
+    public static final String GET_REPLICA_SETS = "getReplicaSets";
+
     private static final String URL_FIELD_NAME = "url";
 
+    private static final String HTTP_URL_FIELD_NAME = "httpUrl";
+
+    private static final String REPLICA_SETS_FIELD_NAME = "replicaSets";
+
+    private static final String REPLICA_URLS_PARAMETER_NAME = "replicaUrls";
+
+    private static final String STRATEGY_PARAMETER_NAME = "strategy";
+
     private final Optional<EnvironmentsConfig> maybeEnvironmentsConfig;
+    private final ClassName replicaSetClassName;
+    private final TypeName replicaSetsTypeName;
 
     private String defaultEnvironmentConstant;
     private boolean optionsPresent = false;
@@ -55,6 +75,8 @@ public final class EnvironmentGenerator extends AbstractFileGenerator {
     public EnvironmentGenerator(AbstractGeneratorContext<?, ?> generatorContext) {
         super(generatorContext.getPoetClassNameFactory().getCoreClassName("Environment"), generatorContext);
         this.maybeEnvironmentsConfig = generatorContext.getIr().getEnvironments();
+        this.replicaSetClassName = generatorContext.getPoetClassNameFactory().getCoreClassName("ReplicaSet");
+        this.replicaSetsTypeName = ParameterizedTypeName.get(ClassName.get(List.class), replicaSetClassName);
     }
 
     @Override
@@ -72,14 +94,18 @@ public final class EnvironmentGenerator extends AbstractFileGenerator {
         } else {
             MethodSpec urlGetMethod = urlGetMethod();
             MethodSpec customUrlFactoryMethod = customUrlFactoryMethod();
+            MethodSpec httpUrlGetMethod = httpUrlGetMethod();
             environmentsBuilder
                     .addField(urlField())
+                    .addField(httpUrlField())
                     .addMethod(urlConstructorMethod())
                     .addMethod(urlGetMethod)
+                    .addMethod(httpUrlGetMethod)
                     .addMethod(customUrlFactoryMethod);
             environmentClassInfo = SingleUrlEnvironmentClass.builder()
                     .urlMethod(urlGetMethod)
                     .customMethod(customUrlFactoryMethod)
+                    .httpUrlMethod(httpUrlGetMethod)
                     .build();
         }
 
@@ -90,6 +116,7 @@ public final class EnvironmentGenerator extends AbstractFileGenerator {
                 .className(className)
                 .javaFile(environmentsFile)
                 .optionsPresent(optionsPresent)
+                .replicaSetsPresent(maybeEnvironmentsConfig.isPresent())
                 .info(environmentClassInfo)
                 .defaultEnvironmentConstant(Optional.ofNullable(defaultEnvironmentConstant))
                 .build();
@@ -108,7 +135,12 @@ public final class EnvironmentGenerator extends AbstractFileGenerator {
 
         @Override
         public EnvironmentClassInfo visitSingleBaseUrl(SingleBaseUrlEnvironments singleBaseUrl) {
-            environmentsBuilder.addField(urlField()).addMethod(urlConstructorMethod());
+            environmentsBuilder
+                    .addField(urlField())
+                    .addField(httpUrlField())
+                    .addField(replicaSetsField())
+                    .addMethod(urlWithoutReplicaSetsConstructorMethod())
+                    .addMethod(urlWithReplicaSetsConstructorMethod());
             for (SingleBaseUrlEnvironment environment : singleBaseUrl.getEnvironments()) {
                 optionsPresent = true;
                 String constant = environment.getName().getScreamingSnakeCase().getSafeName();
@@ -123,10 +155,17 @@ public final class EnvironmentGenerator extends AbstractFileGenerator {
             }
             MethodSpec urlGetMethod = urlGetMethod();
             MethodSpec customUrlFactoryMethod = customUrlFactoryMethod();
-            environmentsBuilder.addMethod(urlGetMethod).addMethod(customUrlFactoryMethod);
+            MethodSpec httpUrlGetMethod = httpUrlGetMethod();
+            environmentsBuilder
+                    .addMethod(urlGetMethod)
+                    .addMethod(httpUrlGetMethod)
+                    .addMethod(customUrlFactoryMethod)
+                    .addMethods(singleUrlWithReplicasMethods())
+                    .addMethod(replicaSetsGetMethod());
             return SingleUrlEnvironmentClass.builder()
                     .urlMethod(urlGetMethod)
                     .customMethod(customUrlFactoryMethod)
+                    .httpUrlMethod(httpUrlGetMethod)
                     .build();
         }
 
@@ -134,8 +173,16 @@ public final class EnvironmentGenerator extends AbstractFileGenerator {
         public EnvironmentClassInfo visitMultipleBaseUrls(MultipleBaseUrlsEnvironments multipleBaseUrls) {
 
             Map<EnvironmentBaseUrlId, MethodSpec> urlGetterMethods = new HashMap<>();
+            Map<EnvironmentBaseUrlId, MethodSpec> httpUrlGetterMethods = new HashMap<>();
 
             MethodSpec.Builder constructorBuilder = MethodSpec.constructorBuilder();
+            MethodSpec.Builder replicaSetsConstructorBuilder =
+                    MethodSpec.constructorBuilder().addModifiers(Modifier.PRIVATE);
+            List<String> urlFieldNames = multipleBaseUrls.getBaseUrls().stream()
+                    .map(environmentBaseUrlWithId ->
+                            environmentBaseUrlWithId.getName().getCamelCase().getSafeName())
+                    .collect(Collectors.toList());
+            environmentsBuilder.addField(replicaSetsField());
 
             multipleBaseUrls.getBaseUrls().forEach(environmentBaseUrlWithId -> {
                 String urlCamelCase =
@@ -145,9 +192,15 @@ public final class EnvironmentGenerator extends AbstractFileGenerator {
                 environmentsBuilder.addField(FieldSpec.builder(String.class, urlCamelCase)
                         .addModifiers(Modifier.PRIVATE, Modifier.FINAL)
                         .build());
-                constructorBuilder
+                String httpUrlCamelCase = urlCamelCase + "HttpUrl";
+                environmentsBuilder.addField(FieldSpec.builder(HttpUrl.class, httpUrlCamelCase)
+                        .addModifiers(Modifier.PRIVATE, Modifier.FINAL)
+                        .build());
+                constructorBuilder.addParameter(String.class, urlCamelCase);
+                replicaSetsConstructorBuilder
                         .addParameter(String.class, urlCamelCase)
-                        .addStatement("this.$L = $L", urlCamelCase, urlCamelCase);
+                        .addStatement("this.$L = $L", urlCamelCase, urlCamelCase)
+                        .addStatement("this.$L = $T.parse($L)", httpUrlCamelCase, HttpUrl.class, urlCamelCase);
 
                 MethodSpec urlGetterMethod = MethodSpec.methodBuilder("get" + urlPascalCase + "URL")
                         .addModifiers(Modifier.PUBLIC)
@@ -156,9 +209,55 @@ public final class EnvironmentGenerator extends AbstractFileGenerator {
                         .build();
                 urlGetterMethods.put(environmentBaseUrlWithId.getId(), urlGetterMethod);
                 environmentsBuilder.addMethod(urlGetterMethod);
+
+                MethodSpec httpUrlGetterMethod = MethodSpec.methodBuilder("get" + urlPascalCase + "HttpUrl")
+                        .addModifiers(Modifier.PUBLIC)
+                        .returns(HttpUrl.class)
+                        .addStatement("return this.$L", httpUrlCamelCase)
+                        .build();
+                httpUrlGetterMethods.put(environmentBaseUrlWithId.getId(), httpUrlGetterMethod);
+                environmentsBuilder.addMethod(httpUrlGetterMethod);
+
+                // Replica sets of the other base urls are kept, and one that already exists for this base url is
+                // replaced.
+                String replicaSetName = urlCamelCase + "ReplicaSet";
+                CodeBlock withReplicasCode = CodeBlock.builder()
+                        .addStatement("$T $L = $L", replicaSetClassName, replicaSetName, replicaSetOf(urlCamelCase))
+                        .addStatement(
+                                "$T $L = new $T<>()", replicaSetsTypeName, REPLICA_SETS_FIELD_NAME, ArrayList.class)
+                        .beginControlFlow("for ($T replicaSet : this.$L)", replicaSetClassName, REPLICA_SETS_FIELD_NAME)
+                        .beginControlFlow("if (!replicaSet.getBaseUrl().equals($L.getBaseUrl()))", replicaSetName)
+                        .addStatement("$L.add(replicaSet)", REPLICA_SETS_FIELD_NAME)
+                        .endControlFlow()
+                        .endControlFlow()
+                        .addStatement("$L.add($L)", REPLICA_SETS_FIELD_NAME, replicaSetName)
+                        .addStatement(
+                                "return new $T($L, $L)",
+                                className,
+                                urlFieldNames.stream()
+                                        .map(urlFieldName -> "this." + urlFieldName)
+                                        .collect(Collectors.joining(", ")),
+                                REPLICA_SETS_FIELD_NAME)
+                        .build();
+                environmentsBuilder.addMethods(withReplicasMethods(
+                        "with"
+                                + environmentBaseUrlWithId
+                                        .getName()
+                                        .getPascalCase()
+                                        .getSafeName() + "Replicas",
+                        withReplicasCode));
             });
 
-            environmentsBuilder.addMethod(constructorBuilder.build());
+            environmentsBuilder
+                    .addMethod(constructorBuilder
+                            .addStatement(
+                                    "this($L, $T.emptyList())", String.join(", ", urlFieldNames), Collections.class)
+                            .build())
+                    .addMethod(replicaSetsConstructorBuilder
+                            .addParameter(replicaSetsTypeName, REPLICA_SETS_FIELD_NAME)
+                            .addStatement("this.$L = $L", REPLICA_SETS_FIELD_NAME, REPLICA_SETS_FIELD_NAME)
+                            .build())
+                    .addMethod(replicaSetsGetMethod());
 
             for (MultipleBaseUrlsEnvironment environment : multipleBaseUrls.getEnvironments()) {
                 optionsPresent = true;
@@ -180,6 +279,7 @@ public final class EnvironmentGenerator extends AbstractFileGenerator {
 
             return MultiUrlEnvironmentsClass.builder()
                     .putAllUrlGetterMethods(urlGetterMethods)
+                    .putAllHttpUrlGetterMethods(httpUrlGetterMethods)
                     .build();
         }
 
@@ -199,6 +299,109 @@ public final class EnvironmentGenerator extends AbstractFileGenerator {
                 .addModifiers(Modifier.PRIVATE)
                 .addParameter(String.class, URL_FIELD_NAME)
                 .addStatement("this.$L = $L", URL_FIELD_NAME, URL_FIELD_NAME)
+                .addStatement("this.$L = $T.parse($L)", HTTP_URL_FIELD_NAME, HttpUrl.class, URL_FIELD_NAME)
+                .build();
+    }
+
+    private MethodSpec urlWithoutReplicaSetsConstructorMethod() {
+        return MethodSpec.constructorBuilder()
+                .addModifiers(Modifier.PRIVATE)
+                .addParameter(String.class, URL_FIELD_NAME)
+                .addStatement("this($L, $T.emptyList())", URL_FIELD_NAME, Collections.class)
+                .build();
+    }
+
+    private MethodSpec urlWithReplicaSetsConstructorMethod() {
+        return MethodSpec.constructorBuilder()
+                .addModifiers(Modifier.PRIVATE)
+                .addParameter(String.class, URL_FIELD_NAME)
+                .addParameter(replicaSetsTypeName, REPLICA_SETS_FIELD_NAME)
+                .addStatement("this.$L = $L", URL_FIELD_NAME, URL_FIELD_NAME)
+                .addStatement("this.$L = $T.parse($L)", HTTP_URL_FIELD_NAME, HttpUrl.class, URL_FIELD_NAME)
+                .addStatement("this.$L = $L", REPLICA_SETS_FIELD_NAME, REPLICA_SETS_FIELD_NAME)
+                .build();
+    }
+
+    private FieldSpec replicaSetsField() {
+        return FieldSpec.builder(replicaSetsTypeName, REPLICA_SETS_FIELD_NAME, Modifier.PRIVATE, Modifier.FINAL)
+                .build();
+    }
+
+    private MethodSpec replicaSetsGetMethod() {
+        return MethodSpec.methodBuilder(GET_REPLICA_SETS)
+                .addModifiers(Modifier.PUBLIC)
+                .returns(replicaSetsTypeName)
+                .addStatement("return this.$L", REPLICA_SETS_FIELD_NAME)
+                .build();
+    }
+
+    private List<MethodSpec> singleUrlWithReplicasMethods() {
+        return withReplicasMethods(
+                "withReplicas",
+                CodeBlock.builder()
+                        .addStatement(
+                                "return new $T(this.$L, $T.singletonList($L))",
+                                className,
+                                URL_FIELD_NAME,
+                                Collections.class,
+                                replicaSetOf(URL_FIELD_NAME))
+                        .build());
+    }
+
+    private CodeBlock replicaSetOf(String urlFieldName) {
+        return CodeBlock.of(
+                "$T.of($L, this.$L, $L)",
+                replicaSetClassName,
+                STRATEGY_PARAMETER_NAME,
+                urlFieldName,
+                REPLICA_URLS_PARAMETER_NAME);
+    }
+
+    /**
+     * Returns a method that spreads calls to a base url across replicas with the given body, and an overload of it
+     * that uses power of two choices.
+     */
+    private List<MethodSpec> withReplicasMethods(String methodName, CodeBlock body) {
+        ClassName strategyClassName = replicaSetClassName.nestedClass("Strategy");
+        MethodSpec withStrategy = MethodSpec.methodBuilder(methodName)
+                .addJavadoc("Returns a copy of this environment that spreads calls across the base url and the given\n"
+                        + "replicas, and ejects replicas that keep failing.")
+                .addModifiers(Modifier.PUBLIC)
+                .returns(className)
+                .addParameter(strategyClassName, STRATEGY_PARAMETER_NAME)
+                .addParameter(String[].class, REPLICA_URLS_PARAMETER_NAME)
+                .varargs()
+                .addCode(body)
+                .build();
+        MethodSpec withDefaultStrategy = MethodSpec.methodBuilder(methodName)
+                .addModifiers(Modifier.PUBLIC)
+                .returns(className)
+                .addParameter(String[].class, REPLICA_URLS_PARAMETER_NAME)
+                .varargs()
+                .addStatement(
+                        "return $L($T.$L, $L)",
+                        methodName,
+                        strategyClassName,
+                        "POWER_OF_TWO_CHOICES",
+                        REPLICA_URLS_PARAMETER_NAME)
+                .build();
+        return List.of(withStrategy, withDefaultStrategy);
+    }
+
+    private FieldSpec httpUrlField() {
+        return FieldSpec.builder(HttpUrl.class, HTTP_URL_FIELD_NAME, Modifier.PRIVATE, Modifier.FINAL)
+                .build();
+    }
+
+    /**
+     * The base url is parsed once per environment so that endpoints only append path segments and query
+     * parameters at call time.
+     */
+    private MethodSpec httpUrlGetMethod() {
+        return MethodSpec.methodBuilder("getHttpUrl")
+                .addModifiers(Modifier.PUBLIC)
+                .returns(HttpUrl.class)
+                .addStatement("return this.$L", HTTP_URL_FIELD_NAME)
                 .build();
     }
 
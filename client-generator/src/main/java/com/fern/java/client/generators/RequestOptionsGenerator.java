@@ -31,18 +31,25 @@ import com.squareup.javapoet.JavaFile;
 import com.squareup.javapoet.MethodSpec;
 import com.squareup.javapoet.ParameterSpec;
 import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
 import com.squareup.javapoet.TypeSpec;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 import javax.lang.model.element.Modifier;
+import okhttp3.Headers;
 
 public final class RequestOptionsGenerator extends AbstractFileGenerator {
 
     private static final String REQUEST_OPTIONS_CLASS_NAME = "RequestOptions";
 
+    private static final String CANCELLATION_TOKEN_CLASS_NAME = "CancellationToken";
+
     private static final FieldSpec HEADERS_FIELD = FieldSpec.builder(
                     ParameterizedTypeName.get(Map.class, String.class, String.class),
                     "headers",
@@ -50,6 +57,20 @@ public final class RequestOptionsGenerator extends AbstractFileGenerator {
                     Modifier.FINAL)
             .build();
 
+    private static final FieldSpec MAX_RETRIES_FIELD = FieldSpec.builder(
+                    Integer.class, "maxRetries", Modifier.PRIVATE, Modifier.FINAL)
+            .build();
+
+    private static final FieldSpec TIMEOUT_FIELD = FieldSpec.builder(
+                    Duration.class, "timeout", Modifier.PRIVATE, Modifier.FINAL)
+            .build();
+
+    private static final FieldSpec DEADLINE_FIELD = FieldSpec.builder(
+                    Instant.class, "deadline", Modifier.PRIVATE, Modifier.FINAL)
+            .build();
+
+    private static final String HEADERS_BUILDER_PARAMETER_NAME = "headersBuilder";
+
     private final ClassName builderClassName;
 
     public RequestOptionsGenerator(AbstractGeneratorContext<?, ?> generatorContext) {
@@ -72,8 +93,10 @@ public final class RequestOptionsGenerator extends AbstractFileGenerator {
                         ParameterizedTypeName.get(Map.class, String.class, String.class),
                         HashMap.class);
 
-        AuthSchemeHandler authSchemeHandler =
-                new AuthSchemeHandler(requestOptionsTypeSpec, builderTypeSpec, getHeadersCodeBlock);
+        CodeBlock.Builder applyHeadersCodeBlock = CodeBlock.builder();
+
+        AuthSchemeHandler authSchemeHandler = new AuthSchemeHandler(
+                requestOptionsTypeSpec, builderTypeSpec, getHeadersCodeBlock, applyHeadersCodeBlock);
         List<AuthSchemeFieldAndMethods> fields = new ArrayList<>();
         for (AuthScheme authScheme : generatorContext.getIr().getAuth().getSchemes()) {
             AuthSchemeFieldAndMethods fieldAndMethods = authScheme.visit(authSchemeHandler);
@@ -90,8 +113,47 @@ public final class RequestOptionsGenerator extends AbstractFileGenerator {
             fields.add(authScheme.visit(authSchemeHandler));
         }
 
-        String constructorArgs =
-                fields.stream().map(field -> field.builderField.name).collect(Collectors.joining(", "));
+        FieldSpec cancellationTokenField = FieldSpec.builder(
+                        generatorContext.getPoetClassNameFactory().getCoreClassName(CANCELLATION_TOKEN_CLASS_NAME),
+                        "cancellationToken",
+                        Modifier.PRIVATE,
+                        Modifier.FINAL)
+                .build();
+        List<OptionField> optionFields = List.of(
+                new OptionField(MAX_RETRIES_FIELD, TypeName.INT, "Overrides the client's maximum number of retries."),
+                new OptionField(
+                        TIMEOUT_FIELD,
+                        TIMEOUT_FIELD.type,
+                        "Limits how long each call may take, including retries and reading the response body."),
+                new OptionField(
+                        DEADLINE_FIELD,
+                        DEADLINE_FIELD.type,
+                        "Sets an absolute time by which each call must complete, e.g. to propagate the remaining\n"
+                            + "latency budget of an incoming request. Retries are not attempted past the deadline."),
+                new OptionField(
+                        cancellationTokenField,
+                        cancellationTokenField.type,
+                        "Registers each call with a token that can cancel it from another thread."));
+        for (OptionField optionField : optionFields) {
+            FieldSpec field = optionField.field;
+            builderTypeSpec.addField(FieldSpec.builder(field.type, field.name, Modifier.PRIVATE)
+                    .initializer("null")
+                    .build());
+            builderTypeSpec.addMethod(MethodSpec.methodBuilder(field.name)
+                    .addJavadoc(optionField.javadoc)
+                    .addModifiers(Modifier.PUBLIC)
+                    .addParameter(optionField.parameterType, field.name)
+                    .addStatement("this.$L = $L", field.name, field.name)
+                    .addStatement("return this")
+                    .returns(builderClassName)
+                    .build());
+            requestOptionsTypeSpec.addField(field);
+        }
+
+        List<String> constructorArgNames =
+                fields.stream().map(field -> field.builderField.name).collect(Collectors.toList());
+        optionFields.forEach(optionField -> constructorArgNames.add(optionField.field.name));
+        String constructorArgs = String.join(", ", constructorArgNames);
         builderTypeSpec.addMethod(MethodSpec.methodBuilder("build")
                 .addModifiers(Modifier.PUBLIC)
                 .addStatement("return new $T(" + constructorArgs + ")", className)
@@ -105,9 +167,15 @@ public final class RequestOptionsGenerator extends AbstractFileGenerator {
                                         authSchemeFields.builderField.type, authSchemeFields.builderField.name)
                                 .build())
                         .collect(Collectors.toList()));
+        for (OptionField optionField : optionFields) {
+            constructorBuilder.addParameter(optionField.field.type, optionField.field.name);
+        }
         for (AuthSchemeFieldAndMethods authScheme : fields) {
             constructorBuilder.addStatement("this.$L = $L", authScheme.builderField.name, authScheme.builderField.name);
         }
+        for (OptionField optionField : optionFields) {
+            constructorBuilder.addStatement("this.$L = $L", optionField.field.name, optionField.field.name);
+        }
         requestOptionsTypeSpec.addMethod(constructorBuilder.build());
         requestOptionsTypeSpec.addMethod(MethodSpec.methodBuilder("getHeaders")
                 .addModifiers(Modifier.PUBLIC)
@@ -115,6 +183,22 @@ public final class RequestOptionsGenerator extends AbstractFileGenerator {
                 .addStatement("return $N", HEADERS_FIELD.name)
                 .returns(HEADERS_FIELD.type)
                 .build());
+        requestOptionsTypeSpec.addMethod(MethodSpec.methodBuilder("applyHeaders")
+                .addJavadoc("Sets these request options' headers on an okhttp headers builder without allocating an\n"
+                        + "intermediate map.")
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(Headers.Builder.class, HEADERS_BUILDER_PARAMETER_NAME)
+                .addCode(applyHeadersCodeBlock.build())
+                .build());
+        for (OptionField optionField : optionFields) {
+            FieldSpec field = optionField.field;
+            requestOptionsTypeSpec.addMethod(MethodSpec.methodBuilder(
+                            "get" + Character.toUpperCase(field.name.charAt(0)) + field.name.substring(1))
+                    .addModifiers(Modifier.PUBLIC)
+                    .addStatement("return $T.ofNullable($N)", Optional.class, field)
+                    .returns(ParameterizedTypeName.get(ClassName.get(Optional.class), field.type))
+                    .build());
+        }
         requestOptionsTypeSpec.addMethod(MethodSpec.methodBuilder("builder")
                 .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
                 .addStatement("return new $T()", builderClassName)
@@ -130,6 +214,18 @@ public final class RequestOptionsGenerator extends AbstractFileGenerator {
                 .build();
     }
 
+    private static final class OptionField {
+        private final FieldSpec field;
+        private final TypeName parameterType;
+        private final String javadoc;
+
+        OptionField(FieldSpec field, TypeName parameterType, String javadoc) {
+            this.field = field;
+            this.parameterType = parameterType;
+            this.javadoc = javadoc;
+        }
+    }
+
     private class AuthSchemeFieldAndMethods {
         private final FieldSpec builderField;
         private final FieldSpec requestOptionsField;
@@ -145,14 +241,17 @@ public final class RequestOptionsGenerator extends AbstractFileGenerator {
         private final TypeSpec.Builder requestOptionsTypeSpec;
         private final TypeSpec.Builder builderTypeSpec;
         private final CodeBlock.Builder getHeadersCodeBlock;
+        private final CodeBlock.Builder applyHeadersCodeBlock;
 
         private AuthSchemeHandler(
                 TypeSpec.Builder requestOptionsTypeSpec,
                 TypeSpec.Builder builderTypeSpec,
-                CodeBlock.Builder getHeadersCodeBlock) {
+                CodeBlock.Builder getHeadersCodeBlock,
+                CodeBlock.Builder applyHeadersCodeBlock) {
             this.requestOptionsTypeSpec = requestOptionsTypeSpec;
             this.builderTypeSpec = builderTypeSpec;
             this.getHeadersCodeBlock = getHeadersCodeBlock;
+            this.applyHeadersCodeBlock = applyHeadersCodeBlock;
         }
 
         @Override
@@ -190,6 +289,15 @@ public final class RequestOptionsGenerator extends AbstractFileGenerator {
                             "Bearer ",
                             requestOptionsField.name)
                     .endControlFlow();
+            applyHeadersCodeBlock
+                    .beginControlFlow("if (this.$N != null)", requestOptionsField)
+                    .addStatement(
+                            "$L.set($S, $S + this.$L)",
+                            HEADERS_BUILDER_PARAMETER_NAME,
+                            "Authorization",
+                            "Bearer ",
+                            requestOptionsField.name)
+                    .endControlFlow();
 
             return new AuthSchemeFieldAndMethods(builderField, requestOptionsField);
         }
@@ -227,23 +335,23 @@ public final class RequestOptionsGenerator extends AbstractFileGenerator {
                     .build();
             requestOptionsTypeSpec.addField(requestOptionsField);
 
+            String headerValue = header.getPrefix()
+                    .map(prefix -> "\"" + prefix + " \" + this."
+                            + header.getName().getName().getCamelCase().getSafeName())
+                    .orElseGet(() ->
+                            "this." + header.getName().getName().getCamelCase().getSafeName());
             getHeadersCodeBlock
                     .beginControlFlow("if (this.$N != null)", requestOptionsField)
                     .addStatement(
-                            "$N.put($S, $L)",
-                            HEADERS_FIELD,
+                            "$N.put($S, $L)", HEADERS_FIELD, header.getName().getWireValue(), headerValue)
+                    .endControlFlow();
+            applyHeadersCodeBlock
+                    .beginControlFlow("if (this.$N != null)", requestOptionsField)
+                    .addStatement(
+                            "$L.set($S, $L)",
+                            HEADERS_BUILDER_PARAMETER_NAME,
                             header.getName().getWireValue(),
-                            header.getPrefix()
-                                    .map(prefix -> "\"" + prefix + " \"" + "this."
-                                            + header.getName()
-                                                    .getName()
-                                                    .getCamelCase()
-                                                    .getSafeName())
-                                    .orElseGet(() -> "this."
-                                            + header.getName()
-                                                    .getName()
-                                                    .getCamelCase()
-                                                    .getSafeName()))
+                            headerValue)
                     .endControlFlow();
 
             return new AuthSchemeFieldAndMethods(builderField, requestOptionsField);
@@ -32,14 +32,26 @@ import com.fern.java.generators.AbstractFileGenerator;
 import com.fern.java.output.GeneratedJavaFile;
 import com.fern.java.output.GeneratedJavaInterface;
 import com.fern.java.output.GeneratedObjectMapper;
+import com.fern.java.output.GeneratedResourcesJavaFile;
 import com.fern.java.utils.CasingUtils;
 import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
 import com.squareup.javapoet.FieldSpec;
 import com.squareup.javapoet.JavaFile;
 import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
 import com.squareup.javapoet.TypeSpec;
+import com.squareup.javapoet.TypeVariableName;
+import java.time.Duration;
 import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
 import javax.lang.model.element.Modifier;
 
 public final class RootClientGenerator extends AbstractFileGenerator {
@@ -54,6 +66,7 @@ public final class RootClientGenerator extends AbstractFileGenerator {
     private final GeneratedEnvironmentsClass generatedEnvironmentsClass;
     private final ClassName builderName;
     private final GeneratedJavaFile requestOptionsFile;
+    private final Optional<GeneratedResourcesJavaFile> generatedBatch;
 
     public RootClientGenerator(
             AbstractGeneratorContext<?, ?> generatorContext,
@@ -63,7 +76,8 @@ public final class RootClientGenerator extends AbstractFileGenerator {
             GeneratedJavaFile generatedSuppliersFile,
             GeneratedEnvironmentsClass generatedEnvironmentsClass,
             GeneratedJavaFile requestOptionsFile,
-            Map<TypeId, GeneratedJavaInterface> allGeneratedInterfaces) {
+            Map<TypeId, GeneratedJavaInterface> allGeneratedInterfaces,
+            Optional<GeneratedResourcesJavaFile> generatedBatch) {
         super(
                 generatorContext
                         .getPoetClassNameFactory()
@@ -80,6 +94,7 @@ public final class RootClientGenerator extends AbstractFileGenerator {
         this.allGeneratedInterfaces = allGeneratedInterfaces;
         this.builderName = ClassName.get(className.packageName(), className.simpleName() + "Builder");
         this.requestOptionsFile = requestOptionsFile;
+        this.generatedBatch = generatedBatch;
     }
 
     @Override
@@ -94,10 +109,25 @@ public final class RootClientGenerator extends AbstractFileGenerator {
                 generatedSuppliersFile,
                 requestOptionsFile,
                 generatorContext.getIr().getRootPackage());
+        ClassName asyncClassName =
+                clientGeneratorContext.getPoetClassNameFactory().getAsyncClassName(className);
+        FieldSpec asyncClientSupplierField = FieldSpec.builder(
+                        ParameterizedTypeName.get(ClassName.get(Supplier.class), asyncClassName), "asyncClient")
+                .addModifiers(Modifier.PROTECTED, Modifier.FINAL)
+                .build();
+        clientGeneratorUtils.addClientSupplierField(asyncClientSupplierField, asyncClassName);
         Result result = clientGeneratorUtils.buildClients();
 
         TypeSpec builderTypeSpec = getClientBuilder();
 
+        result.getClientImpl()
+                .addMethod(MethodSpec.methodBuilder("async")
+                        .addModifiers(Modifier.PUBLIC)
+                        .returns(asyncClassName)
+                        .addStatement("return this.$N.get()", asyncClientSupplierField)
+                        .build());
+        generatedBatch.ifPresent(
+                batch -> result.getClientImpl().addMethods(getBatchMethods(asyncClassName, batch.getClassName())));
         result.getClientImpl()
                 .addMethod(MethodSpec.methodBuilder("builder")
                         .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
@@ -115,10 +145,80 @@ public final class RootClientGenerator extends AbstractFileGenerator {
                         .javaFile(JavaFile.builder(builderName.packageName(), builderTypeSpec)
                                 .build())
                         .build())
+                .asyncClient(GeneratedJavaFile.builder()
+                        .className(asyncClassName)
+                        .javaFile(JavaFile.builder(
+                                        asyncClassName.packageName(),
+                                        result.getAsyncClientImpl().build())
+                                .build())
+                        .build())
                 .addAllWrappedRequests(result.getGeneratedWrappedRequests())
                 .build();
     }
 
+    private List<MethodSpec> getBatchMethods(ClassName asyncClassName, ClassName batchClassName) {
+        TypeVariableName inputType = TypeVariableName.get("I");
+        TypeVariableName resultType = TypeVariableName.get("T");
+        ParameterSpec inputsParameter = ParameterSpec.builder(
+                        ParameterizedTypeName.get(ClassName.get(Collection.class), inputType), "inputs")
+                .build();
+        ParameterSpec callParameter = ParameterSpec.builder(
+                        ParameterizedTypeName.get(
+                                ClassName.get(BiFunction.class),
+                                asyncClassName,
+                                inputType,
+                                ParameterizedTypeName.get(ClassName.get(CompletableFuture.class), resultType)),
+                        "call")
+                .build();
+        ParameterSpec maxConcurrencyParameter =
+                ParameterSpec.builder(int.class, "maxConcurrency").build();
+        ParameterSpec listenerParameter = ParameterSpec.builder(
+                        ParameterizedTypeName.get(batchClassName.nestedClass("Listener"), resultType), "listener")
+                .build();
+        MethodSpec batchWithListener = MethodSpec.methodBuilder("batch")
+                .addModifiers(Modifier.PUBLIC)
+                .addJavadoc("Calls the async client once for each input, with at most {@code maxConcurrency}\n"
+                        + "calls in flight, and waits for all of them to complete. Results are returned in the\n"
+                        + "order of the inputs, and {@code listener} is notified as each call completes.\n")
+                .addTypeVariable(inputType)
+                .addTypeVariable(resultType)
+                .addParameter(inputsParameter)
+                .addParameter(callParameter)
+                .addParameter(maxConcurrencyParameter)
+                .addParameter(listenerParameter)
+                .returns(ParameterizedTypeName.get(
+                        ClassName.get(List.class),
+                        ParameterizedTypeName.get(batchClassName.nestedClass("Result"), resultType)))
+                .addStatement("$T asyncClient = async()", asyncClassName)
+                .addStatement(
+                        "return $T.execute($N, input -> $N.apply(asyncClient, input), $N, $N)",
+                        batchClassName,
+                        inputsParameter,
+                        callParameter,
+                        maxConcurrencyParameter,
+                        listenerParameter)
+                .build();
+        MethodSpec batch = MethodSpec.methodBuilder("batch")
+                .addModifiers(Modifier.PUBLIC)
+                .addJavadoc("Calls the async client once for each input, with at most {@code maxConcurrency}\n"
+                        + "calls in flight, and waits for all of them to complete. Results are returned in the\n"
+                        + "order of the inputs.\n")
+                .addTypeVariable(inputType)
+                .addTypeVariable(resultType)
+                .addParameter(inputsParameter)
+                .addParameter(callParameter)
+                .addParameter(maxConcurrencyParameter)
+                .returns(batchWithListener.returnType)
+                .addStatement(
+                        "return $N($N, $N, $N, null)",
+                        batchWithListener,
+                        inputsParameter,
+                        callParameter,
+                        maxConcurrencyParameter)
+                .build();
+        return List.of(batch, batchWithListener);
+    }
+
     private TypeSpec getClientBuilder() {
         TypeSpec.Builder typeSpecBuilder =
                 TypeSpec.classBuilder(builderName).addModifiers(Modifier.PUBLIC, Modifier.FINAL);
@@ -205,6 +305,18 @@ public final class RootClientGenerator extends AbstractFileGenerator {
                 })
                 .forEach(typeSpecBuilder::addMethod);
 
+        for (MethodSpec clientOptionsBuilderMethod : generatedClientOptions.httpClientBuilderMethods()) {
+            ParameterSpec parameter = clientOptionsBuilderMethod.parameters.get(0);
+            typeSpecBuilder.addMethod(MethodSpec.methodBuilder(clientOptionsBuilderMethod.name)
+                    .addModifiers(Modifier.PUBLIC)
+                    .addJavadoc(clientOptionsBuilderMethod.javadoc)
+                    .addParameter(parameter)
+                    .returns(builderName)
+                    .addStatement("this.$L.$N($N)", CLIENT_OPTIONS_BUILDER_NAME, clientOptionsBuilderMethod, parameter)
+                    .addStatement("return this")
+                    .build());
+        }
+
         MethodSpec buildMethod = MethodSpec.methodBuilder("build")
                 .addModifiers(Modifier.PUBLIC)
                 .returns(className)
@@ -257,6 +369,8 @@ public final class RootClientGenerator extends AbstractFileGenerator {
                             bearer.getToken().getCamelCase().getSafeName())
                     .addStatement("return this")
                     .build());
+            builder.addMethod(createCachingSupplierMethod(
+                    bearer.getToken().getCamelCase().getSafeName(), "Authorization", "Bearer "));
             return null;
         }
 
@@ -317,6 +431,10 @@ public final class RootClientGenerator extends AbstractFileGenerator {
                         .addStatement("return this")
                         .build());
             }
+            builder.addMethod(createCachingSupplierMethod(
+                    headerCamelCase,
+                    header.getName().getWireValue(),
+                    header.getPrefix().orElse("")));
             return null;
         }
 
@@ -324,5 +442,31 @@ public final class RootClientGenerator extends AbstractFileGenerator {
         public Void _visitUnknown(Object unknownType) {
             throw new RuntimeException("Encountered unknown auth scheme");
         }
+
+        private MethodSpec createCachingSupplierMethod(String name, String headerName, String prefix) {
+            ParameterSpec supplierParameter = ParameterSpec.builder(
+                            ParameterizedTypeName.get(Supplier.class, String.class), name)
+                    .build();
+            CodeBlock value = prefix.isEmpty()
+                    ? CodeBlock.of("$N", supplierParameter)
+                    : CodeBlock.of("() -> $S + $N.get()", prefix, supplierParameter);
+            return MethodSpec.methodBuilder(name)
+                    .addModifiers(Modifier.PUBLIC)
+                    .addJavadoc(
+                            "Values returned by the supplier are reused for {@code ttl} and refreshed in the background"
+                                    + " shortly before they expire, so the supplier is not called on every request.\n")
+                    .addParameter(supplierParameter)
+                    .addParameter(Duration.class, "ttl")
+                    .returns(builderName)
+                    .addStatement(
+                            "this.$L.addHeader($S, $T.$L($L, ttl))",
+                            CLIENT_OPTIONS_BUILDER_NAME,
+                            headerName,
+                            generatedSuppliersFile.getClassName(),
+                            SuppliersGenerator.MEMOIZE_WITH_EXPIRATION_METHOD_NAME,
+                            value)
+                    .addStatement("return this")
+                    .build();
+        }
     }
 }
@@ -28,6 +28,7 @@ import com.fern.java.generators.AbstractFileGenerator;
 import com.fern.java.output.GeneratedJavaFile;
 import com.fern.java.output.GeneratedJavaInterface;
 import com.fern.java.output.GeneratedObjectMapper;
+import com.squareup.javapoet.ClassName;
 import com.squareup.javapoet.JavaFile;
 import java.util.Map;
 
@@ -75,11 +76,20 @@ public final class SubpackageClientGenerator extends AbstractFileGenerator {
                 requestOptionsFile,
                 subpackage);
         Result result = clientGeneratorUtils.buildClients();
+        ClassName asyncClassName =
+                clientGeneratorContext.getPoetClassNameFactory().getAsyncClientClassName(subpackage);
         return GeneratedClient.builder()
                 .className(className)
                 .javaFile(JavaFile.builder(
                                 className.packageName(), result.getClientImpl().build())
                         .build())
+                .asyncClient(GeneratedJavaFile.builder()
+                        .className(asyncClassName)
+                        .javaFile(JavaFile.builder(
+                                        asyncClassName.packageName(),
+                                        result.getAsyncClientImpl().build())
+                                .build())
+                        .build())
                 .addAllWrappedRequests(result.getGeneratedWrappedRequests())
                 .build();
     }
@@ -19,6 +19,7 @@ package com.fern.java.client.generators;
 import com.fern.java.AbstractGeneratorContext;
 import com.fern.java.generators.AbstractFileGenerator;
 import com.fern.java.output.GeneratedJavaFile;
+import com.fern.java.output.GeneratedResourcesJavaFile;
 import com.squareup.javapoet.ClassName;
 import com.squareup.javapoet.JavaFile;
 import com.squareup.javapoet.MethodSpec;
@@ -26,7 +27,9 @@ import com.squareup.javapoet.ParameterizedTypeName;
 import com.squareup.javapoet.TypeName;
 import com.squareup.javapoet.TypeSpec;
 import com.squareup.javapoet.TypeVariableName;
+import java.time.Duration;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
 import javax.lang.model.element.Modifier;
@@ -34,20 +37,28 @@ import javax.lang.model.element.Modifier;
 public final class SuppliersGenerator extends AbstractFileGenerator {
 
     public static final String MEMOIZE_METHOD_NAME = "memoize";
+    public static final String MEMOIZE_WITH_EXPIRATION_METHOD_NAME = "memoizeWithExpiration";
 
-    public SuppliersGenerator(AbstractGeneratorContext<?, ?> generatorContext) {
+    private final Optional<GeneratedResourcesJavaFile> generatedCachingSupplier;
+
+    public SuppliersGenerator(
+            AbstractGeneratorContext<?, ?> generatorContext,
+            Optional<GeneratedResourcesJavaFile> generatedCachingSupplier) {
         super(generatorContext.getPoetClassNameFactory().getCoreClassName("Suppliers"), generatorContext);
+        this.generatedCachingSupplier = generatedCachingSupplier;
     }
 
     @Override
     public GeneratedJavaFile generateFile() {
-        TypeSpec suppliersTypeSpec = TypeSpec.classBuilder(className)
+        TypeSpec.Builder suppliersTypeSpecBuilder = TypeSpec.classBuilder(className)
                 .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
                 .addMethod(MethodSpec.constructorBuilder()
                         .addModifiers(Modifier.PRIVATE)
                         .build())
-                .addMethod(createMemoizeMethod())
-                .build();
+                .addMethod(createMemoizeMethod());
+        generatedCachingSupplier.ifPresent(cachingSupplier ->
+                suppliersTypeSpecBuilder.addMethod(createMemoizeWithExpirationMethod(cachingSupplier.getClassName())));
+        TypeSpec suppliersTypeSpec = suppliersTypeSpecBuilder.build();
         JavaFile environmentsFile =
                 JavaFile.builder(className.packageName(), suppliersTypeSpec).build();
         return GeneratedJavaFile.builder()
@@ -77,4 +88,17 @@ public final class SuppliersGenerator extends AbstractFileGenerator {
                 .endControlFlow("")
                 .build();
     }
+
+    private MethodSpec createMemoizeWithExpirationMethod(ClassName cachingSupplierClassName) {
+        TypeVariableName genericType = TypeVariableName.get("T");
+        TypeName genericSupplier = ParameterizedTypeName.get(ClassName.get(Supplier.class), genericType);
+        return MethodSpec.methodBuilder(MEMOIZE_WITH_EXPIRATION_METHOD_NAME)
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .addTypeVariable(genericType)
+                .returns(genericSupplier)
+                .addParameter(genericSupplier, "delegate")
+                .addParameter(Duration.class, "ttl")
+                .addStatement("return new $T<>(delegate, ttl)", cachingSupplierClassName)
+                .build();
+    }
 }
@@ -17,6 +17,7 @@
 package com.fern.java.client.generators.endpoint;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fern.ir.model.commons.TypeId;
 import com.fern.ir.model.environment.EnvironmentBaseUrlId;
 import com.fern.ir.model.http.BytesRequest;
@@ -25,6 +26,7 @@ import com.fern.ir.model.http.FileProperty;
 import com.fern.ir.model.http.FileUploadRequest;
 import com.fern.ir.model.http.FileUploadRequestProperty;
 import com.fern.ir.model.http.HttpEndpoint;
+import com.fern.ir.model.http.HttpMethod;
 import com.fern.ir.model.http.HttpRequestBody;
 import com.fern.ir.model.http.HttpRequestBodyReference;
 import com.fern.ir.model.http.HttpResponse;
@@ -38,6 +40,7 @@ import com.fern.ir.model.http.SdkRequestBodyType;
 import com.fern.ir.model.http.SdkRequestShape;
 import com.fern.ir.model.http.SdkRequestWrapper;
 import com.fern.ir.model.http.StreamingResponse;
+import com.fern.ir.model.http.StreamingResponseChunkType;
 import com.fern.ir.model.http.TextResponse;
 import com.fern.ir.model.types.AliasTypeDeclaration;
 import com.fern.ir.model.types.ContainerType;
@@ -65,18 +68,26 @@ import com.squareup.javapoet.MethodSpec;
 import com.squareup.javapoet.ParameterSpec;
 import com.squareup.javapoet.ParameterizedTypeName;
 import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.lang.model.element.Modifier;
+import okhttp3.Call;
+import okhttp3.Callback;
 import okhttp3.Response;
+import okhttp3.ResponseBody;
 
 public abstract class AbstractEndpointWriter {
 
@@ -90,11 +101,12 @@ public abstract class AbstractEndpointWriter {
     private final GeneratedClientOptions generatedClientOptions;
     private final FieldSpec clientOptionsField;
     private final ClientGeneratorContext clientGeneratorContext;
-    private final MethodSpec.Builder endpointMethodBuilder;
+    private MethodSpec.Builder endpointMethodBuilder;
     private final GeneratedObjectMapper generatedObjectMapper;
     private final GeneratedEnvironmentsClass generatedEnvironmentsClass;
     private final GeneratedJavaFile requestOptionsFile;
     private final Set<String> endpointParameterNames = new HashSet<>();
+    private FieldSpec responseReaderField = null;
 
     public AbstractEndpointWriter(
             HttpService httpService,
@@ -112,9 +124,6 @@ public abstract class AbstractEndpointWriter {
         this.clientGeneratorContext = clientGeneratorContext;
         this.generatedObjectMapper = generatedObjectMapper;
         this.generatedEnvironmentsClass = generatedEnvironmentsClass;
-        this.endpointMethodBuilder = MethodSpec.methodBuilder(
-                        httpEndpoint.getName().get().getCamelCase().getSafeName())
-                .addModifiers(Modifier.PUBLIC);
         this.requestOptionsFile = requestOptionsFile;
     }
 
@@ -127,6 +136,8 @@ public abstract class AbstractEndpointWriter {
                 .map(parameterSpec -> parameterSpec.name)
                 .collect(Collectors.toList()));
         this.endpointParameterNames.add(REQUEST_OPTIONS_PARAMETER_NAME);
+        this.endpointMethodBuilder =
+                MethodSpec.methodBuilder(getEndpointMethodName()).addModifiers(Modifier.PUBLIC);
 
         // Step 0: Populate JavaDoc
         if (httpEndpoint.getDocs().isPresent()) {
@@ -161,7 +172,7 @@ public abstract class AbstractEndpointWriter {
                         "this.$L.$N().$L()",
                         clientOptionsField.name,
                         generatedClientOptions.environment(),
-                        getEnvironmentToUrlMethod().name),
+                        getEnvironmentToHttpUrlMethod().name),
                 httpEndpoint,
                 httpService,
                 convertPathParametersToSpecMap(httpService.getPathParameters()),
@@ -182,16 +193,149 @@ public abstract class AbstractEndpointWriter {
         endpointMethodBuilder.addCode(requestInitializer);
 
         // Step 6: Make http request and handle responses
+        MethodSpec.Builder asyncEndpointMethodBuilder = endpointMethodBuilder.build().toBuilder();
         CodeBlock responseParser = getResponseParserCodeBlock();
         endpointMethodBuilder.addCode(responseParser);
+        CodeBlock asyncResponseParser = getAsyncResponseParserCodeBlock(asyncEndpointMethodBuilder);
+        asyncEndpointMethodBuilder.addCode(asyncResponseParser);
 
         MethodSpec endpointWithRequestOptions = endpointMethodBuilder.build();
+        MethodSpec asyncEndpointWithRequestOptions = asyncEndpointMethodBuilder.build();
+
+        // Step 7: Add overloads that delegate to the endpoint
+        List<MethodSpec> additionalMethods = new ArrayList<>();
+        List<MethodSpec> asyncAdditionalMethods = new ArrayList<>();
+        for (ParameterOverload parameterOverload : getParameterOverloads()) {
+            if (parameterOverload.takesRequestOptions()) {
+                additionalMethods.add(getOverload(endpointWithRequestOptions, pathParameters, parameterOverload, true));
+                asyncAdditionalMethods.add(
+                        getOverload(asyncEndpointWithRequestOptions, pathParameters, parameterOverload, true));
+            }
+            additionalMethods.add(getOverload(endpointWithRequestOptions, pathParameters, parameterOverload, false));
+            asyncAdditionalMethods.add(
+                    getOverload(asyncEndpointWithRequestOptions, pathParameters, parameterOverload, false));
+        }
+
+        // Step 8: Add methods that download straight to a file
+        if (httpEndpoint.getResponse().map(HttpResponse::isFileDownload).orElse(false)) {
+            MethodSpec downloadToWithOptions = getDownloadToMethod(
+                    pathParameters,
+                    additionalParameters,
+                    endpointWithRequestOptions.parameters.get(endpointWithRequestOptions.parameters.size() - 1),
+                    CodeBlock.builder()
+                            .add(generatedHttpUrl.initialization())
+                            .add(requestInitializer)
+                            .build());
+            additionalMethods.add(downloadToWithOptions);
+            additionalMethods.add(getDownloadToWithoutOptionsMethod(downloadToWithOptions));
+        }
+
+        return new HttpEndpointMethodSpecs(
+                endpointWithRequestOptions,
+                getEndpointWithoutRequestOptions(endpointWithRequestOptions, pathParameters, additionalParameters),
+                getEndpointWithoutRequest(endpointWithRequestOptions, pathParameters, additionalParameters),
+                asyncEndpointWithRequestOptions,
+                getEndpointWithoutRequestOptions(asyncEndpointWithRequestOptions, pathParameters, additionalParameters),
+                getEndpointWithoutRequest(asyncEndpointWithRequestOptions, pathParameters, additionalParameters),
+                responseReaderField,
+                additionalMethods,
+                asyncAdditionalMethods);
+    }
+
+    private MethodSpec getDownloadToMethod(
+            List<ParameterSpec> pathParameters,
+            List<ParameterSpec> additionalParameters,
+            ParameterSpec requestOptionsParameter,
+            CodeBlock requestInitializer) {
+        ParameterSpec targetParameter =
+                ParameterSpec.builder(Path.class, getDownloadTargetName()).build();
+        ParameterSpec progressListenerParameter = ParameterSpec.builder(
+                        clientGeneratorContext.getPoetClassNameFactory().getProgressListenerClassName(),
+                        getProgressListenerName())
+                .build();
+        return MethodSpec.methodBuilder(getEndpointName() + "To")
+                .addModifiers(Modifier.PUBLIC)
+                .addJavadoc(
+                        "Downloads the response body to {@code $N}, resuming from its current size if it exists.\n"
+                                + "@return the size of the downloaded file\n",
+                        targetParameter)
+                .addParameters(pathParameters)
+                .addParameters(additionalParameters)
+                .addParameter(targetParameter)
+                .addParameter(progressListenerParameter)
+                .addParameter(requestOptionsParameter)
+                .returns(long.class)
+                .addCode(requestInitializer)
+                .beginControlFlow("try")
+                .addStatement(
+                        "return $T.download($N.$N(), $L, $N, $N)",
+                        clientGeneratorContext.getPoetClassNameFactory().getFileDownloaderClassName(),
+                        clientOptionsField,
+                        getHttpClientMethod(),
+                        getOkhttpRequestName(),
+                        targetParameter,
+                        progressListenerParameter)
+                .nextControlFlow("catch ($T e)", IOException.class)
+                .addStatement("throw new $T(e)", RuntimeException.class)
+                .endControlFlow()
+                .build();
+    }
 
+    private static MethodSpec getDownloadToWithoutOptionsMethod(MethodSpec downloadToWithOptions) {
+        List<ParameterSpec> parameters =
+                downloadToWithOptions.parameters.subList(0, downloadToWithOptions.parameters.size() - 2);
+        List<CodeBlock> arguments = new ArrayList<>();
+        parameters.forEach(parameterSpec -> arguments.add(CodeBlock.of("$N", parameterSpec)));
+        arguments.add(CodeBlock.of("null"));
+        arguments.add(CodeBlock.of("null"));
+        return MethodSpec.methodBuilder(downloadToWithOptions.name)
+                .addModifiers(Modifier.PUBLIC)
+                .addParameters(parameters)
+                .returns(downloadToWithOptions.returnType)
+                .addStatement("return $N($L)", downloadToWithOptions, CodeBlock.join(arguments, ", "))
+                .build();
+    }
+
+    private MethodSpec getOverload(
+            MethodSpec endpointWithRequestOptions,
+            List<ParameterSpec> pathParameters,
+            ParameterOverload parameterOverload,
+            boolean withRequestOptions) {
+        List<CodeBlock> arguments = new ArrayList<>();
+        pathParameters.forEach(parameterSpec -> arguments.add(CodeBlock.of("$N", parameterSpec)));
+        arguments.addAll(parameterOverload.getArguments());
+        MethodSpec.Builder overloadBuilder = MethodSpec.methodBuilder(getEndpointName())
+                .addModifiers(Modifier.PUBLIC)
+                .addParameters(pathParameters)
+                .addParameters(parameterOverload.getParameters())
+                .returns(endpointWithRequestOptions.returnType);
+        if (withRequestOptions) {
+            ParameterSpec requestOptionsParameter =
+                    endpointWithRequestOptions.parameters.get(endpointWithRequestOptions.parameters.size() - 1);
+            overloadBuilder.addParameter(requestOptionsParameter);
+            arguments.add(CodeBlock.of("$N", requestOptionsParameter));
+        } else {
+            arguments.add(CodeBlock.of("null"));
+        }
+        CodeBlock delegateCall =
+                CodeBlock.of("$L($L)", endpointWithRequestOptions.name, CodeBlock.join(arguments, ", "));
+        if (endpointWithRequestOptions.returnType.equals(TypeName.VOID)) {
+            overloadBuilder.addStatement("$L", delegateCall);
+        } else {
+            overloadBuilder.addStatement("return $L", delegateCall);
+        }
+        return overloadBuilder.build();
+    }
+
+    private MethodSpec getEndpointWithoutRequestOptions(
+            MethodSpec endpointWithRequestOptions,
+            List<ParameterSpec> pathParameters,
+            List<ParameterSpec> additionalParameters) {
         List<String> paramNames = Stream.concat(pathParameters.stream(), additionalParameters.stream())
                 .map(parameterSpec -> parameterSpec.name)
                 .collect(Collectors.toList());
         paramNames.add("null");
-        MethodSpec endpointWithoutRequestOptions = MethodSpec.methodBuilder(endpointWithRequestOptions.name)
+        return MethodSpec.methodBuilder(endpointWithRequestOptions.name)
                 .addModifiers(Modifier.PUBLIC)
                 .addParameters(pathParameters)
                 .addParameters(additionalParameters)
@@ -203,49 +347,67 @@ public abstract class AbstractEndpointWriter {
                         endpointWithRequestOptions.name)
                 .returns(endpointWithRequestOptions.returnType)
                 .build();
+    }
 
-        MethodSpec endpointWithoutRequest = null;
-        if (sdkRequest().isPresent() && sdkRequest().get().getShape().visit(new SdkRequestIsOptional())) {
-            MethodSpec.Builder endpointWithoutRequestBldr = MethodSpec.methodBuilder(endpointWithRequestOptions.name)
-                    .addModifiers(Modifier.PUBLIC)
-                    .addParameters(pathParameters)
-                    .returns(endpointWithoutRequestOptions.returnType);
-            List<ParameterSpec> additionalParamsWithoutBody = additionalParameters.stream()
-                    .filter(parameterSpec -> !parameterSpec.name.equals(sdkRequest()
-                            .get()
-                            .getRequestParameterName()
-                            .getCamelCase()
-                            .getUnsafeName()))
-                    .collect(Collectors.toList());
-            endpointWithoutRequestBldr.addParameters(additionalParamsWithoutBody);
-            List<String> paramNamesWoBody = Stream.concat(pathParameters.stream(), additionalParamsWithoutBody.stream())
-                    .map(parameterSpec -> parameterSpec.name)
-                    .collect(Collectors.toList());
-            ParameterSpec bodyParameterSpec = additionalParameters.stream()
-                    .filter(parameterSpec -> parameterSpec.name.equals(sdkRequest()
-                            .get()
-                            .getRequestParameterName()
-                            .getCamelCase()
-                            .getUnsafeName()))
-                    .collect(Collectors.toList())
-                    .get(0);
-            if (typeNameIsOptional(bodyParameterSpec.type)) {
-                paramNamesWoBody.add("Optional.empty()");
-            } else {
-                paramNamesWoBody.add("$T.builder().build()");
-            }
-            endpointWithoutRequest = endpointWithoutRequestBldr
-                    .addStatement(
-                            endpointWithRequestOptions.returnType.equals(TypeName.VOID)
-                                    ? endpointWithRequestOptions.name + "(" + String.join(",", paramNamesWoBody) + ")"
-                                    : "return " + endpointWithRequestOptions.name + "("
-                                            + String.join(",", paramNamesWoBody) + ")",
-                            bodyParameterSpec.type)
-                    .build();
+    private MethodSpec getEndpointWithoutRequest(
+            MethodSpec endpointWithRequestOptions,
+            List<ParameterSpec> pathParameters,
+            List<ParameterSpec> additionalParameters) {
+        if (!isSdkRequestOptional()) {
+            return null;
+        }
+        MethodSpec.Builder endpointWithoutRequestBldr = MethodSpec.methodBuilder(endpointWithRequestOptions.name)
+                .addModifiers(Modifier.PUBLIC)
+                .addParameters(pathParameters)
+                .returns(endpointWithRequestOptions.returnType);
+        List<ParameterSpec> additionalParamsWithoutBody = additionalParameters.stream()
+                .filter(parameterSpec -> !parameterSpec.name.equals(sdkRequest()
+                        .get()
+                        .getRequestParameterName()
+                        .getCamelCase()
+                        .getUnsafeName()))
+                .collect(Collectors.toList());
+        endpointWithoutRequestBldr.addParameters(additionalParamsWithoutBody);
+        List<String> paramNamesWoBody = Stream.concat(pathParameters.stream(), additionalParamsWithoutBody.stream())
+                .map(parameterSpec -> parameterSpec.name)
+                .collect(Collectors.toList());
+        ParameterSpec bodyParameterSpec = additionalParameters.stream()
+                .filter(parameterSpec -> parameterSpec.name.equals(sdkRequest()
+                        .get()
+                        .getRequestParameterName()
+                        .getCamelCase()
+                        .getUnsafeName()))
+                .collect(Collectors.toList())
+                .get(0);
+        if (typeNameIsOptional(bodyParameterSpec.type)) {
+            paramNamesWoBody.add("Optional.empty()");
+        } else {
+            paramNamesWoBody.add("$T.builder().build()");
         }
+        return endpointWithoutRequestBldr
+                .addStatement(
+                        endpointWithRequestOptions.returnType.equals(TypeName.VOID)
+                                ? endpointWithRequestOptions.name + "(" + String.join(",", paramNamesWoBody) + ")"
+                                : "return " + endpointWithRequestOptions.name + "(" + String.join(",", paramNamesWoBody)
+                                        + ")",
+                        bodyParameterSpec.type)
+                .build();
+    }
 
-        return new HttpEndpointMethodSpecs(
-                endpointWithRequestOptions, endpointWithoutRequestOptions, endpointWithoutRequest);
+    /**
+     * The name of the endpoint method, which defaults to the name of the endpoint. Overloads always take the name of
+     * the endpoint.
+     */
+    protected String getEndpointMethodName() {
+        return getEndpointName();
+    }
+
+    protected final String getEndpointName() {
+        return httpEndpoint.getName().get().getCamelCase().getSafeName();
+    }
+
+    protected final boolean isSdkRequestOptional() {
+        return sdkRequest().isPresent() && sdkRequest().get().getShape().visit(new SdkRequestIsOptional());
     }
 
     public abstract Optional<SdkRequest> sdkRequest();
@@ -254,6 +416,13 @@ public abstract class AbstractEndpointWriter {
 
     public abstract List<ParameterSpec> additionalParameters();
 
+    /**
+     * Alternative additional parameters for which overloads delegating to this endpoint are generated.
+     */
+    public List<ParameterOverload> getParameterOverloads() {
+        return Collections.emptyList();
+    }
+
     public abstract CodeBlock getInitializeRequestCodeBlock(
             FieldSpec clientOptionsMember,
             GeneratedClientOptions clientOptions,
@@ -263,34 +432,53 @@ public abstract class AbstractEndpointWriter {
             boolean sendContentType);
 
     public final CodeBlock getResponseParserCodeBlock() {
-        CodeBlock.Builder httpResponseBuilder = CodeBlock.builder()
-                .beginControlFlow("try")
-                .addStatement(
-                        "$T $L = $N.$N().newCall($L).execute()",
-                        Response.class,
-                        getResponseName(),
-                        clientOptionsField,
-                        generatedClientOptions.httpClient(),
-                        getOkhttpRequestName())
-                .beginControlFlow("if ($L.isSuccessful())", getResponseName());
+        CodeBlock.Builder successResponseBuilder = CodeBlock.builder();
         if (httpEndpoint.getResponse().isPresent()) {
             httpEndpoint
                     .getResponse()
                     .get()
                     .visit(new SuccessResponseWriter(
-                            httpResponseBuilder, endpointMethodBuilder, clientGeneratorContext, generatedObjectMapper));
+                            successResponseBuilder,
+                            endpointMethodBuilder,
+                            clientGeneratorContext,
+                            generatedObjectMapper,
+                            false));
         } else {
-            httpResponseBuilder.addStatement("return");
+            // The body is closed so that interceptors holding a permit until then, such as bulkheads, release it.
+            successResponseBuilder
+                    .beginControlFlow("try ($T _responseBody = $L.body())", ResponseBody.class, getResponseName())
+                    .addStatement("return")
+                    .endControlFlow();
+        }
+        CodeBlock.Builder httpResponseBuilder = CodeBlock.builder().beginControlFlow("try");
+        if (isResponseCacheable()) {
+            for (MethodSpec sharedResponses : getSharedResponseGetters()) {
+                httpResponseBuilder
+                        .beginControlFlow("if ($N.$N() != null)", clientOptionsField, sharedResponses)
+                        .addStatement(
+                                "return $N.$N().execute($N.$N(), $L, $N)",
+                                clientOptionsField,
+                                sharedResponses,
+                                clientOptionsField,
+                                getHttpClientMethod(),
+                                getOkhttpRequestName(),
+                                responseReaderField)
+                        .endControlFlow();
+            }
         }
-        httpResponseBuilder.endControlFlow();
-        httpResponseBuilder.addStatement(
-                "throw new $T($L.code(), $T.$L.readValue($L.body().string(), $T.class))",
-                clientGeneratorContext.getPoetClassNameFactory().getApiErrorClassName(),
-                getResponseName(),
-                generatedObjectMapper.getClassName(),
-                generatedObjectMapper.jsonMapperStaticField().name,
-                getResponseName(),
-                Object.class);
+        httpResponseBuilder
+                .addStatement(
+                        "$T $L = $T.newCall($N.$N(), $L).execute()",
+                        Response.class,
+                        getResponseName(),
+                        clientGeneratorContext.getPoetClassNameFactory().getCallsClassName(),
+                        clientOptionsField,
+                        getHttpClientMethod(),
+                        getOkhttpRequestName())
+                .beginControlFlow("if ($L.isSuccessful())", getResponseName())
+                .add(successResponseBuilder.build())
+                .endControlFlow();
+        httpResponseBuilder.addStatement("throw $L", getApiErrorCodeBlock());
         httpResponseBuilder
                 .endControlFlow()
                 .beginControlFlow("catch ($T e)", IOException.class)
@@ -300,14 +488,168 @@ public abstract class AbstractEndpointWriter {
         return httpResponseBuilder.build();
     }
 
-    protected final MethodSpec getEnvironmentToUrlMethod() {
+    public final CodeBlock getAsyncResponseParserCodeBlock(MethodSpec.Builder asyncEndpointMethodBuilder) {
+        CodeBlock.Builder successResponseBuilder = CodeBlock.builder();
+        TypeName futureValueType;
+        if (httpEndpoint.getResponse().isPresent()) {
+            SuccessResponseWriter successResponseWriter = new SuccessResponseWriter(
+                    successResponseBuilder,
+                    asyncEndpointMethodBuilder,
+                    clientGeneratorContext,
+                    generatedObjectMapper,
+                    true);
+            httpEndpoint.getResponse().get().visit(successResponseWriter);
+            futureValueType = successResponseWriter.returnType.box();
+        } else {
+            successResponseBuilder
+                    .beginControlFlow("try ($T _responseBody = $L.body())", ResponseBody.class, getResponseName())
+                    .addStatement("$L.complete(null)", getFutureName())
+                    .addStatement("return")
+                    .endControlFlow();
+            futureValueType = ClassName.get(Void.class);
+        }
+        TypeName futureType = ParameterizedTypeName.get(ClassName.get(CompletableFuture.class), futureValueType);
+        asyncEndpointMethodBuilder.returns(futureType);
+
+        CodeBlock handleResponse = CodeBlock.builder()
+                .beginControlFlow("try")
+                .beginControlFlow("$N.$N().execute(() -> ", clientOptionsField, generatedClientOptions.executor())
+                .beginControlFlow("try")
+                .beginControlFlow("if ($L.isSuccessful())", getResponseName())
+                .add(successResponseBuilder.build())
+                .endControlFlow()
+                .addStatement("$L.completeExceptionally($L)", getFutureName(), getApiErrorCodeBlock())
+                .nextControlFlow("catch ($T e)", IOException.class)
+                .addStatement("$L.completeExceptionally(new $T(e))", getFutureName(), RuntimeException.class)
+                .nextControlFlow("catch ($T e)", RuntimeException.class)
+                .addStatement("$L.completeExceptionally(e)", getFutureName())
+                .endControlFlow()
+                .endControlFlow(")")
+                .nextControlFlow("catch ($T e)", RejectedExecutionException.class)
+                .addStatement("$L.close()", getResponseName())
+                .addStatement("$L.completeExceptionally(e)", getFutureName())
+                .endControlFlow()
+                .build();
+        TypeSpec callback = TypeSpec.anonymousClassBuilder("")
+                .addSuperinterface(Callback.class)
+                .addMethod(MethodSpec.methodBuilder("onFailure")
+                        .addAnnotation(Override.class)
+                        .addModifiers(Modifier.PUBLIC)
+                        .addParameter(Call.class, "call")
+                        .addParameter(IOException.class, "e")
+                        .addStatement("$L.completeExceptionally(new $T(e))", getFutureName(), RuntimeException.class)
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("onResponse")
+                        .addAnnotation(Override.class)
+                        .addModifiers(Modifier.PUBLIC)
+                        .addParameter(Call.class, "call")
+                        .addParameter(Response.class, getResponseName())
+                        .addCode(handleResponse)
+                        .build())
+                .build();
+        CodeBlock.Builder asyncCallBuilder = CodeBlock.builder();
+        if (isResponseCacheable()) {
+            for (MethodSpec sharedResponses : getSharedResponseGetters()) {
+                asyncCallBuilder
+                        .beginControlFlow("if ($N.$N() != null)", clientOptionsField, sharedResponses)
+                        .addStatement(
+                                "return $N.$N().executeAsync($N.$N(), $L, $N, $N.$N())",
+                                clientOptionsField,
+                                sharedResponses,
+                                clientOptionsField,
+                                getHttpClientMethod(),
+                                getOkhttpRequestName(),
+                                responseReaderField,
+                                clientOptionsField,
+                                generatedClientOptions.executor())
+                        .endControlFlow();
+            }
+        }
+        return asyncCallBuilder
+                .addStatement("$T $L = new $T<>()", futureType, getFutureName(), CompletableFuture.class)
+                .addStatement(
+                        "$T.newCall($N.$N(), $L).enqueue($L)",
+                        clientGeneratorContext.getPoetClassNameFactory().getCallsClassName(),
+                        clientOptionsField,
+                        getHttpClientMethod(),
+                        getOkhttpRequestName(),
+                        callback)
+                .addStatement("return $L", getFutureName())
+                .build();
+    }
+
+    /**
+     * Attaches the request options and the endpoint to the okhttp request, so that interceptors can apply per-request
+     * overrides and event listeners can attribute metrics.
+     */
+    protected final CodeBlock getRequestTagsCodeBlock() {
+        ClassName endpointClassName = clientGeneratorContext
+                .getPoetClassNameFactory()
+                .getClientMetricsClassName()
+                .nestedClass("Endpoint");
+        String serviceName = httpService.getName().getFernFilepath().getAllParts().stream()
+                .map(name -> name.getCamelCase().getUnsafeName())
+                .collect(Collectors.joining("."));
+        return CodeBlock.builder()
+                .add(".tag($T.class, $L)\n", requestOptionsFile.getClassName(), REQUEST_OPTIONS_PARAMETER_NAME)
+                .add(
+                        ".tag($T.class, new $T($S, $S))\n",
+                        endpointClassName,
+                        endpointClassName,
+                        serviceName,
+                        httpEndpoint.getName().get().getOriginalName())
+                .build();
+    }
+
+    /**
+     * Successful GET responses with a JSON body can be served from the client's {@code ResponseCache} or shared by its
+     * {@code RequestCoalescer}.
+     */
+    private boolean isResponseCacheable() {
+        return httpEndpoint.getMethod().equals(HttpMethod.GET)
+                && httpEndpoint.getResponse().map(HttpResponse::isJson).orElse(false)
+                && responseReaderField != null;
+    }
+
+    /**
+     * The response cache takes precedence over the request coalescer, since it also coalesces its misses.
+     */
+    private List<MethodSpec> getSharedResponseGetters() {
+        List<MethodSpec> sharedResponseGetters = new ArrayList<>();
+        generatedClientOptions.responseCache().ifPresent(sharedResponseGetters::add);
+        generatedClientOptions.requestCoalescer().ifPresent(sharedResponseGetters::add);
+        return sharedResponseGetters;
+    }
+
+    /**
+     * Endpoints of a base url that has its own bulkhead use that base url's http client.
+     */
+    private MethodSpec getHttpClientMethod() {
+        return httpEndpoint
+                .getBaseUrl()
+                .map(baseUrlId -> generatedClientOptions.baseUrlHttpClients().get(baseUrlId))
+                .orElseGet(generatedClientOptions::httpClient);
+    }
+
+    private CodeBlock getApiErrorCodeBlock() {
+        return CodeBlock.of(
+                "new $T($L.code(), $T.$L.readValue($L.body().byteStream(), $T.class))",
+                clientGeneratorContext.getPoetClassNameFactory().getApiErrorClassName(),
+                getResponseName(),
+                generatedObjectMapper.getClassName(),
+                generatedObjectMapper.jsonMapperStaticField().name,
+                getResponseName(),
+                Object.class);
+    }
+
+    protected final MethodSpec getEnvironmentToHttpUrlMethod() {
         if (generatedEnvironmentsClass.info() instanceof SingleUrlEnvironmentClass) {
-            return ((SingleUrlEnvironmentClass) generatedEnvironmentsClass.info()).getUrlMethod();
+            return ((SingleUrlEnvironmentClass) generatedEnvironmentsClass.info()).getHttpUrlMethod();
         } else if (generatedEnvironmentsClass.info() instanceof MultiUrlEnvironmentsClass) {
             EnvironmentBaseUrlId environmentBaseUrlId =
                     httpEndpoint.getBaseUrl().get();
             return ((MultiUrlEnvironmentsClass) generatedEnvironmentsClass.info())
-                    .urlGetterMethods()
+                    .httpUrlGetterMethods()
                     .get(environmentBaseUrlId);
         } else {
             throw new RuntimeException("Generated Environments class was unknown : " + generatedEnvironmentsClass);
@@ -321,6 +663,27 @@ public abstract class AbstractEndpointWriter {
         return "httpUrl";
     }
 
+    private String getFutureName() {
+        if (this.endpointParameterNames.contains("future")) {
+            return "_future";
+        }
+        return "future";
+    }
+
+    private String getDownloadTargetName() {
+        if (this.endpointParameterNames.contains("target")) {
+            return "_target";
+        }
+        return "target";
+    }
+
+    private String getProgressListenerName() {
+        if (this.endpointParameterNames.contains("progressListener")) {
+            return "_progressListener";
+        }
+        return "progressListener";
+    }
+
     private String getResponseName() {
         if (this.endpointParameterNames.contains("response")) {
             return "_response";
@@ -410,58 +773,88 @@ public abstract class AbstractEndpointWriter {
         private final MethodSpec.Builder endpointMethodBuilder;
         private final GeneratedObjectMapper generatedObjectMapper;
         private final ClientGeneratorContext clientGeneratorContext;
+        private final boolean async;
+        private TypeName returnType;
 
         SuccessResponseWriter(
                 CodeBlock.Builder httpResponseBuilder,
                 MethodSpec.Builder endpointMethodBuilder,
                 ClientGeneratorContext clientGeneratorContext,
-                GeneratedObjectMapper generatedObjectMapper) {
+                GeneratedObjectMapper generatedObjectMapper,
+                boolean async) {
             this.httpResponseBuilder = httpResponseBuilder;
             this.endpointMethodBuilder = endpointMethodBuilder;
             this.clientGeneratorContext = clientGeneratorContext;
             this.generatedObjectMapper = generatedObjectMapper;
+            this.async = async;
         }
 
         @Override
         public Void visitJson(JsonResponse json) {
-            TypeName returnType =
+            TypeName jsonReturnType =
                     clientGeneratorContext.getPoetTypeNameMapper().convertToTypeName(true, json.getResponseBodyType());
-            endpointMethodBuilder.returns(returnType);
-            if (json.getResponseBodyType().isContainer() || isAliasContainer(json.getResponseBodyType())) {
-                httpResponseBuilder.addStatement(
-                        "return $T.$L.readValue($L.body().string(), new $T() {})",
-                        generatedObjectMapper.getClassName(),
-                        generatedObjectMapper.jsonMapperStaticField().name,
-                        getResponseName(),
-                        ParameterizedTypeName.get(ClassName.get(TypeReference.class), returnType));
-            } else {
-                httpResponseBuilder.addStatement(
-                        "return $T.$L.readValue($L.body().string(), $T.class)",
-                        generatedObjectMapper.getClassName(),
-                        generatedObjectMapper.jsonMapperStaticField().name,
-                        getResponseName(),
-                        returnType);
-            }
+            FieldSpec reader = getResponseReaderField(json.getResponseBodyType(), jsonReturnType);
+            addReturn(jsonReturnType, CodeBlock.of("$N.readValue($L.body().byteStream())", reader, getResponseName()));
             return null;
         }
 
         @Override
         public Void visitFileDownload(FileDownloadResponse fileDownload) {
-            endpointMethodBuilder.returns(InputStream.class);
-            httpResponseBuilder.addStatement("return $L.body().byteStream()", getResponseName());
+            addReturn(ClassName.get(InputStream.class), CodeBlock.of("$L.body().byteStream()", getResponseName()));
             return null;
         }
 
         @Override
         public Void visitText(TextResponse text) {
-            endpointMethodBuilder.returns(String.class);
-            httpResponseBuilder.addStatement("return $L.body().string()", getResponseName());
+            addReturn(ClassName.get(String.class), CodeBlock.of("$L.body().string()", getResponseName()));
             return null;
         }
 
         @Override
         public Void visitStreaming(StreamingResponse streaming) {
-            throw new RuntimeException("Streaming endpoint responses are not supported in java");
+            ClassName streamClassName =
+                    clientGeneratorContext.getPoetClassNameFactory().getStreamClassName();
+            CodeBlock terminator = streaming
+                    .getTerminator()
+                    .map(value -> CodeBlock.of("$S", value))
+                    .orElseGet(() -> CodeBlock.of("null"));
+            Optional<com.fern.ir.model.types.TypeReference> jsonDataEventType = streaming
+                    .getDataEventType()
+                    .visit(new StreamingResponseChunkType.Visitor<Optional<com.fern.ir.model.types.TypeReference>>() {
+                        @Override
+                        public Optional<com.fern.ir.model.types.TypeReference> visitJson(
+                                com.fern.ir.model.types.TypeReference json) {
+                            return Optional.of(json);
+                        }
+
+                        @Override
+                        public Optional<com.fern.ir.model.types.TypeReference> visitText() {
+                            return Optional.empty();
+                        }
+
+                        @Override
+                        public Optional<com.fern.ir.model.types.TypeReference> _visitUnknown(Object unknownType) {
+                            throw new RuntimeException("Encountered unknown streaming data event type " + unknownType);
+                        }
+                    });
+            if (jsonDataEventType.isPresent()) {
+                TypeName eventType =
+                        clientGeneratorContext.getPoetTypeNameMapper().convertToTypeName(true, jsonDataEventType.get());
+                FieldSpec reader = getResponseReaderField(jsonDataEventType.get(), eventType);
+                addReturn(
+                        ParameterizedTypeName.get(streamClassName, eventType),
+                        CodeBlock.of(
+                                "$T.fromJson($N, $L.body(), $L)",
+                                streamClassName,
+                                reader,
+                                getResponseName(),
+                                terminator));
+            } else {
+                addReturn(
+                        ParameterizedTypeName.get(streamClassName, ClassName.get(String.class)),
+                        CodeBlock.of("$T.fromText($L.body(), $L)", streamClassName, getResponseName(), terminator));
+            }
+            return null;
         }
 
         @Override
@@ -469,6 +862,51 @@ public abstract class AbstractEndpointWriter {
             return null;
         }
 
+        private void addReturn(TypeName valueType, CodeBlock value) {
+            this.returnType = valueType;
+            if (async) {
+                httpResponseBuilder.addStatement("$L.complete($L)", getFutureName(), value);
+                httpResponseBuilder.addStatement("return");
+            } else {
+                endpointMethodBuilder.returns(valueType);
+                httpResponseBuilder.addStatement("return $L", value);
+            }
+        }
+
+        /**
+         * Returns a static {@link ObjectReader} for the response type so that the deserializer lookup happens once
+         * per client class instead of once per call.
+         */
+        private FieldSpec getResponseReaderField(
+                com.fern.ir.model.types.TypeReference responseBodyType, TypeName valueType) {
+            if (responseReaderField != null) {
+                return responseReaderField;
+            }
+            CodeBlock initializer;
+            if (responseBodyType.isContainer() || isAliasContainer(responseBodyType)) {
+                initializer = CodeBlock.of(
+                        "$T.$L.readerFor(new $T() {})",
+                        generatedObjectMapper.getClassName(),
+                        generatedObjectMapper.jsonMapperStaticField().name,
+                        ParameterizedTypeName.get(ClassName.get(TypeReference.class), valueType));
+            } else {
+                initializer = CodeBlock.of(
+                        "$T.$L.readerFor($T.class)",
+                        generatedObjectMapper.getClassName(),
+                        generatedObjectMapper.jsonMapperStaticField().name,
+                        valueType);
+            }
+            responseReaderField = FieldSpec.builder(
+                            ObjectReader.class,
+                            httpEndpoint.getName().get().getScreamingSnakeCase().getSafeName() + "_RESPONSE_READER",
+                            Modifier.PRIVATE,
+                            Modifier.STATIC,
+                            Modifier.FINAL)
+                    .initializer(initializer)
+                    .build();
+            return responseReaderField;
+        }
+
         private boolean isAliasContainer(com.fern.ir.model.types.TypeReference responseBodyType) {
             if (responseBodyType.getNamed().isPresent()) {
                 TypeId typeId = responseBodyType.getNamed().get().getTypeId();
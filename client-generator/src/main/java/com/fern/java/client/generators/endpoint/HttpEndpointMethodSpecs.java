@@ -16,7 +16,9 @@
 
 package com.fern.java.client.generators.endpoint;
 
+import com.squareup.javapoet.FieldSpec;
 import com.squareup.javapoet.MethodSpec;
+import java.util.List;
 import java.util.Optional;
 
 public final class HttpEndpointMethodSpecs {
@@ -24,14 +26,32 @@ public final class HttpEndpointMethodSpecs {
     private final MethodSpec nonRequestOptionsMethodSpec;
     private final MethodSpec requestOptionsMethodSpec;
     private final MethodSpec noRequestBodyMethodSpec;
+    private final MethodSpec asyncNonRequestOptionsMethodSpec;
+    private final MethodSpec asyncRequestOptionsMethodSpec;
+    private final MethodSpec asyncNoRequestBodyMethodSpec;
+    private final FieldSpec responseReaderFieldSpec;
+    private final List<MethodSpec> additionalMethodSpecs;
+    private final List<MethodSpec> asyncAdditionalMethodSpecs;
 
     public HttpEndpointMethodSpecs(
             MethodSpec nonRequestOptionsMethodSpec,
             MethodSpec requestOptionsMethodSpec,
-            MethodSpec noRequestBodyMethodSpec) {
+            MethodSpec noRequestBodyMethodSpec,
+            MethodSpec asyncNonRequestOptionsMethodSpec,
+            MethodSpec asyncRequestOptionsMethodSpec,
+            MethodSpec asyncNoRequestBodyMethodSpec,
+            FieldSpec responseReaderFieldSpec,
+            List<MethodSpec> additionalMethodSpecs,
+            List<MethodSpec> asyncAdditionalMethodSpecs) {
         this.nonRequestOptionsMethodSpec = nonRequestOptionsMethodSpec;
         this.requestOptionsMethodSpec = requestOptionsMethodSpec;
         this.noRequestBodyMethodSpec = noRequestBodyMethodSpec;
+        this.asyncNonRequestOptionsMethodSpec = asyncNonRequestOptionsMethodSpec;
+        this.asyncRequestOptionsMethodSpec = asyncRequestOptionsMethodSpec;
+        this.asyncNoRequestBodyMethodSpec = asyncNoRequestBodyMethodSpec;
+        this.responseReaderFieldSpec = responseReaderFieldSpec;
+        this.additionalMethodSpecs = additionalMethodSpecs;
+        this.asyncAdditionalMethodSpecs = asyncAdditionalMethodSpecs;
     }
 
     public MethodSpec getNonRequestOptionsMethodSpec() {
@@ -45,4 +65,28 @@ public final class HttpEndpointMethodSpecs {
     public Optional<MethodSpec> getNoRequestBodyMethodSpec() {
         return Optional.ofNullable(noRequestBodyMethodSpec);
     }
+
+    public MethodSpec getAsyncNonRequestOptionsMethodSpec() {
+        return asyncNonRequestOptionsMethodSpec;
+    }
+
+    public MethodSpec getAsyncRequestOptionsMethodSpec() {
+        return asyncRequestOptionsMethodSpec;
+    }
+
+    public Optional<MethodSpec> getAsyncNoRequestBodyMethodSpec() {
+        return Optional.ofNullable(asyncNoRequestBodyMethodSpec);
+    }
+
+    public Optional<FieldSpec> getResponseReaderFieldSpec() {
+        return Optional.ofNullable(responseReaderFieldSpec);
+    }
+
+    public List<MethodSpec> getAdditionalMethodSpecs() {
+        return additionalMethodSpecs;
+    }
+
+    public List<MethodSpec> getAsyncAdditionalMethodSpecs() {
+        return asyncAdditionalMethodSpecs;
+    }
 }
@@ -94,9 +94,9 @@ public final class HttpUrlBuilder {
 
     private GeneratedHttpUrl generateInlineableCodeBlock() {
         CodeBlock.Builder codeBlock = CodeBlock.builder()
-                .add("$T $L = $T.parse(", HttpUrl.class, httpUrlname, HttpUrl.class)
+                .add("$T $L = ", HttpUrl.class, httpUrlname)
                 .add(baseUrlReference)
-                .add(").newBuilder()\n")
+                .add(".newBuilder()\n")
                 .indent();
         addHttpPathToCodeBlock(codeBlock, httpService.getBasePath(), servicePathParameters, true);
         addHttpPathToCodeBlock(codeBlock, httpEndpoint.getPath(), endpointPathParameters, true);
@@ -109,9 +109,9 @@ public final class HttpUrlBuilder {
 
     private GeneratedHttpUrl generateUnInlineableCodeBlock(List<EnrichedObjectProperty> queryParamProperties) {
         CodeBlock.Builder codeBlock = CodeBlock.builder()
-                .add("$T $L = $T.parse(", HttpUrl.Builder.class, httpUrlname, HttpUrl.class)
+                .add("$T $L = ", HttpUrl.Builder.class, httpUrlname)
                 .add(baseUrlReference)
-                .add(").newBuilder()\n")
+                .add(".newBuilder()\n")
                 .indent();
         addHttpPathToCodeBlock(codeBlock, httpService.getBasePath(), servicePathParameters, true);
         boolean endedWithStatement =
@@ -154,7 +154,7 @@ public final class HttpUrlBuilder {
         boolean endedWithStatement = false;
         String strippedHead = stripLeadingAndTrailingSlash(httpPath.getHead());
         if (!strippedHead.isEmpty()) {
-            codeBlock.add(".addPathSegments($S)", strippedHead);
+            addEncodedPathSegments(codeBlock, strippedHead, false);
         }
         for (HttpPathPart httpPathPart : httpPath.getParts()) {
             PathParamInfo poetPathParameter = pathParameters.get(httpPathPart.getPathParameter());
@@ -188,7 +188,7 @@ public final class HttpUrlBuilder {
             }
             String pathTail = stripLeadingAndTrailingSlash(httpPathPart.getTail());
             if (!pathTail.isEmpty()) {
-                codeBlock.add("\n.addPathSegments($S)", pathTail);
+                addEncodedPathSegments(codeBlock, pathTail, true);
             }
         }
         if (addNewLine) {
@@ -197,6 +197,24 @@ public final class HttpUrlBuilder {
         return endedWithStatement;
     }
 
+    /**
+     * Constant path segments are split and percent-encoded at generation time so that the generated code does not
+     * re-split and re-encode them on every call.
+     */
+    private static void addEncodedPathSegments(CodeBlock.Builder codeBlock, String pathSegments, boolean newLine) {
+        List<String> encodedSegments = new HttpUrl.Builder()
+                .scheme("https")
+                .host("localhost")
+                .addPathSegments(pathSegments)
+                .build()
+                .encodedPathSegments();
+        for (int i = 0; i < encodedSegments.size(); i++) {
+            codeBlock.add(
+                    newLine || i > 0 ? "\n.addEncodedPathSegment($S)" : ".addEncodedPathSegment($S)",
+                    encodedSegments.get(i));
+        }
+    }
+
     private static boolean typeNameIsOptional(TypeName typeName) {
         return typeName instanceof ParameterizedTypeName
                 && ((ParameterizedTypeName) typeName).rawType.equals(ClassName.get(Optional.class));
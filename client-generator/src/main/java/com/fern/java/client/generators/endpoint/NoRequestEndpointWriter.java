@@ -32,7 +32,6 @@ import com.squareup.javapoet.ParameterSpec;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
-import okhttp3.Headers;
 import okhttp3.Request;
 import okhttp3.RequestBody;
 
@@ -86,7 +85,8 @@ public final class NoRequestEndpointWriter extends AbstractEndpointWriter {
                 .indent()
                 .add(".url(")
                 .add(inlineableHttpUrl)
-                .add(")\n");
+                .add(")\n")
+                .add(getRequestTagsCodeBlock());
         if (httpEndpoint.getMethod().equals(HttpMethod.POST)) {
             builder.add(
                     ".method($S, $T.create($S, null))\n",
@@ -97,10 +97,9 @@ public final class NoRequestEndpointWriter extends AbstractEndpointWriter {
             builder.add(".method($S, null)\n", httpEndpoint.getMethod().toString());
         }
         builder.add(
-                ".headers($T.of($L.$N($L)))\n",
-                Headers.class,
+                ".headers($L.$N($L))\n",
                 clientOptionsMember.name,
-                clientOptions.headers(),
+                clientOptions.httpHeaders(),
                 REQUEST_OPTIONS_PARAMETER_NAME);
         if (sendContentType) {
             builder.add(
@@ -37,10 +37,13 @@ import com.squareup.javapoet.FieldSpec;
 import com.squareup.javapoet.ParameterSpec;
 import com.squareup.javapoet.ParameterizedTypeName;
 import com.squareup.javapoet.TypeName;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
-import okhttp3.Headers;
 import okhttp3.Request;
 import okhttp3.RequestBody;
 
@@ -140,7 +143,8 @@ public final class OnlyRequestEndpointWriter extends AbstractEndpointWriter {
 
                 @Override
                 public ParameterSpec visitBytes(BytesRequest bytes) {
-                    TypeName typeName = ArrayTypeName.of(byte.class);
+                    TypeName typeName =
+                            clientGeneratorContext.getPoetClassNameFactory().getUploadSourceClassName();
                     if (bytes.getIsOptional()) {
                         typeName = ParameterizedTypeName.get(ClassName.get(Optional.class), typeName);
                     }
@@ -164,6 +168,37 @@ public final class OnlyRequestEndpointWriter extends AbstractEndpointWriter {
         }
     }
 
+    /**
+     * Bytes endpoints take an {@code UploadSource}, so overloads are generated for the common sources of binary content.
+     */
+    @Override
+    public List<ParameterOverload> getParameterOverloads() {
+        if (sdkRequestBodyType == null || !sdkRequestBodyType.isBytes()) {
+            return Collections.emptyList();
+        }
+        BytesRequest bytes = sdkRequestBodyType.getBytes().get();
+        ClassName uploadSourceClassName =
+                clientGeneratorContext.getPoetClassNameFactory().getUploadSourceClassName();
+        String requestParameterName =
+                sdkRequest.getRequestParameterName().getCamelCase().getSafeName();
+        List<ParameterOverload> parameterOverloads = new ArrayList<>();
+        for (TypeName sourceType : List.of(
+                ArrayTypeName.of(byte.class),
+                ClassName.get(InputStream.class),
+                ClassName.get(ByteBuffer.class),
+                ClassName.get(Path.class))) {
+            CodeBlock uploadSource = CodeBlock.of("$T.of($L)", uploadSourceClassName, requestParameterName);
+            parameterOverloads.add(new ParameterOverload(
+                    List.of(ParameterSpec.builder(sourceType, requestParameterName)
+                            .build()),
+                    List.of(
+                            bytes.getIsOptional()
+                                    ? CodeBlock.of("$T.of($L)", Optional.class, uploadSource)
+                                    : uploadSource)));
+        }
+        return parameterOverloads;
+    }
+
     @Override
     public CodeBlock getInitializeRequestCodeBlock(
             FieldSpec clientOptionsMember,
@@ -175,19 +210,19 @@ public final class OnlyRequestEndpointWriter extends AbstractEndpointWriter {
         CodeBlock.Builder builder = CodeBlock.builder();
 
         if (sdkRequestBodyType != null) {
-            sdkRequestBodyType.visit(new RequestBodyInitializer(builder, generatedObjectMapper));
+            sdkRequestBodyType.visit(new RequestBodyInitializer(builder));
 
             builder.add("$T $L = new $T.Builder()\n", Request.class, getOkhttpRequestName(), Request.class)
                     .indent()
                     .add(".url(")
                     .add(inlineableHttpUrl)
                     .add(")\n")
+                    .add(getRequestTagsCodeBlock())
                     .add(".method($S, $L)\n", httpEndpoint.getMethod().toString(), getOkhttpRequestBodyName())
                     .add(
-                            ".headers($T.of($L.$N($L)))\n",
-                            Headers.class,
+                            ".headers($L.$N($L))\n",
                             clientOptionsMember.name,
-                            clientOptions.headers(),
+                            clientOptions.httpHeaders(),
                             REQUEST_OPTIONS_PARAMETER_NAME);
             if (sendContentType) {
                 sdkRequestBodyType.visit(new SdkRequestBodyType.Visitor<Void>() {
@@ -221,18 +256,18 @@ public final class OnlyRequestEndpointWriter extends AbstractEndpointWriter {
             SdkRequestBodyType.typeReference(HttpRequestBodyReference.builder()
                             .requestBodyType(TypeReference.unknown())
                             .build())
-                    .visit(new RequestBodyInitializer(builder, generatedObjectMapper));
+                    .visit(new RequestBodyInitializer(builder));
             builder.add("$T $L = new $T.Builder()\n", Request.class, getOkhttpRequestName(), Request.class)
                     .indent()
                     .add(".url(")
                     .add(inlineableHttpUrl)
                     .add(")\n")
+                    .add(getRequestTagsCodeBlock())
                     .add(".method($S, $L)\n", httpEndpoint.getMethod().toString(), getOkhttpRequestBodyName())
                     .add(
-                            ".headers($T.of($L.$N($L)))\n",
-                            Headers.class,
+                            ".headers($L.$N($L))\n",
                             clientOptionsMember.name,
-                            clientOptions.headers(),
+                            clientOptions.httpHeaders(),
                             REQUEST_OPTIONS_PARAMETER_NAME);
             builder.add(
                     ".addHeader($S, $S)\n",
@@ -245,42 +280,41 @@ public final class OnlyRequestEndpointWriter extends AbstractEndpointWriter {
     private final class RequestBodyInitializer implements SdkRequestBodyType.Visitor<Void> {
 
         private final CodeBlock.Builder codeBlock;
-        private final GeneratedObjectMapper generatedObjectMapper;
 
-        private RequestBodyInitializer(CodeBlock.Builder codeBlock, GeneratedObjectMapper generatedObjectMapper) {
+        private RequestBodyInitializer(CodeBlock.Builder codeBlock) {
             this.codeBlock = codeBlock;
-            this.generatedObjectMapper = generatedObjectMapper;
         }
 
         @Override
         public Void visitTypeReference(HttpRequestBodyReference _typeReference) {
-            codeBlock
-                    .addStatement("$T $L", RequestBody.class, getOkhttpRequestBodyName())
-                    .beginControlFlow("try")
-                    .addStatement(
-                            "$L = $T.create($T.$L.writeValueAsBytes($L), $T.parse($S))",
-                            getOkhttpRequestBodyName(),
-                            RequestBody.class,
-                            generatedObjectMapper.getClassName(),
-                            generatedObjectMapper.jsonMapperStaticField().name,
-                            "request",
-                            okhttp3.MediaType.class,
-                            "application/json")
-                    .endControlFlow()
-                    .beginControlFlow("catch($T e)", Exception.class)
-                    .addStatement("throw new $T(e)", RuntimeException.class)
-                    .endControlFlow();
+            codeBlock.addStatement(
+                    "$T $L = new $T($L)",
+                    RequestBody.class,
+                    getOkhttpRequestBodyName(),
+                    clientGeneratorContext.getPoetClassNameFactory().getJsonRequestBodyClassName(),
+                    "request");
             return null;
         }
 
         @Override
         public Void visitBytes(BytesRequest bytes) {
-            codeBlock.addStatement(
-                    "$T $L = $T.create($L)",
-                    RequestBody.class,
-                    getOkhttpRequestBodyName(),
-                    RequestBody.class,
-                    sdkRequest.getRequestParameterName().getCamelCase().getSafeName());
+            String requestParameterName =
+                    sdkRequest.getRequestParameterName().getCamelCase().getSafeName();
+            if (bytes.getIsOptional()) {
+                codeBlock.addStatement(
+                        "$T $L = $L.map($T::toRequestBody).orElseGet(() -> $T.create(new byte[0]))",
+                        RequestBody.class,
+                        getOkhttpRequestBodyName(),
+                        requestParameterName,
+                        clientGeneratorContext.getPoetClassNameFactory().getUploadSourceClassName(),
+                        RequestBody.class);
+            } else {
+                codeBlock.addStatement(
+                        "$T $L = $L.toRequestBody()",
+                        RequestBody.class,
+                        getOkhttpRequestBodyName(),
+                        requestParameterName);
+            }
             return null;
         }
 
@@ -0,0 +1,57 @@
+/*
+ * (c) Copyright 2023 Birch Solutions Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fern.java.client.generators.endpoint;
+
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.ParameterSpec;
+import java.util.List;
+
+/**
+ * An alternative to an endpoint's additional parameters, along with the expressions that convert them back to the
+ * endpoint's own parameters.
+ */
+public final class ParameterOverload {
+
+    private final List<ParameterSpec> parameters;
+    private final List<CodeBlock> arguments;
+    private final boolean takesRequestOptions;
+
+    public ParameterOverload(List<ParameterSpec> parameters, List<CodeBlock> arguments) {
+        this(parameters, arguments, true);
+    }
+
+    /**
+     * @param takesRequestOptions whether a variant of the overload that also takes request options is generated
+     */
+    public ParameterOverload(List<ParameterSpec> parameters, List<CodeBlock> arguments, boolean takesRequestOptions) {
+        this.parameters = parameters;
+        this.arguments = arguments;
+        this.takesRequestOptions = takesRequestOptions;
+    }
+
+    public List<ParameterSpec> getParameters() {
+        return parameters;
+    }
+
+    public List<CodeBlock> getArguments() {
+        return arguments;
+    }
+
+    public boolean takesRequestOptions() {
+        return takesRequestOptions;
+    }
+}
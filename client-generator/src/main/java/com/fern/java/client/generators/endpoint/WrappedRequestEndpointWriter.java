@@ -42,11 +42,11 @@ import com.squareup.javapoet.ParameterizedTypeName;
 import com.squareup.javapoet.TypeName;
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import okhttp3.Headers;
 import okhttp3.MultipartBody;
 import okhttp3.Request;
 import okhttp3.RequestBody;
@@ -101,25 +101,86 @@ public final class WrappedRequestEndpointWriter extends AbstractEndpointWriter {
     @Override
     public List<ParameterSpec> additionalParameters() {
         List<ParameterSpec> parameterSpecs = new ArrayList<>();
-        if (generatedWrappedRequest.requestBodyGetter().isPresent()
-                && generatedWrappedRequest.requestBodyGetter().get() instanceof FileUploadRequestBodyGetters) {
-            FileUploadRequestBodyGetters fileUploadRequest = (FileUploadRequestBodyGetters)
-                    (generatedWrappedRequest.requestBodyGetter().get());
-            fileUploadRequest.fileProperties().forEach(fileProperty -> {
-                ParameterSpec fileParameter = ParameterSpec.builder(
-                                fileProperty.getIsOptional()
-                                        ? ParameterizedTypeName.get(Optional.class, File.class)
-                                        : ClassName.get(File.class),
-                                getFilePropertyParameterName(fileProperty))
-                        .build();
-                parameterSpecs.add(fileParameter);
-            });
+        if (getFileUploadRequest().isPresent()) {
+            FileUploadRequestBodyGetters fileUploadRequest =
+                    getFileUploadRequest().get();
+            ClassName uploadSourceClassName =
+                    clientGeneratorContext.getPoetClassNameFactory().getUploadSourceClassName();
+            fileUploadRequest
+                    .fileProperties()
+                    .forEach(fileProperty -> parameterSpecs.add(getFileParameter(fileProperty, uploadSourceClassName)));
         }
         parameterSpecs.add(ParameterSpec.builder(generatedWrappedRequest.getClassName(), requestParameterName)
                 .build());
         return parameterSpecs;
     }
 
+    /**
+     * {@code Optional<File>} and {@code Optional<UploadSource>} have the same erasure, so when every file is optional
+     * the endpoint taking upload sources gets its own name, and the endpoint's name keeps its original signature.
+     */
+    @Override
+    protected String getEndpointMethodName() {
+        return getFileUploadRequest()
+                        .filter(fileUploadRequest ->
+                                fileUploadRequest.fileProperties().stream().allMatch(FileProperty::getIsOptional))
+                        .isPresent()
+                ? getEndpointName() + "WithUploadSources"
+                : getEndpointName();
+    }
+
+    /**
+     * File upload endpoints take {@code UploadSource} parameters, so overloads that accept {@link File} are generated
+     * to keep the original signature.
+     */
+    @Override
+    public List<ParameterOverload> getParameterOverloads() {
+        if (getFileUploadRequest().isEmpty()) {
+            return Collections.emptyList();
+        }
+        ClassName uploadSourceClassName =
+                clientGeneratorContext.getPoetClassNameFactory().getUploadSourceClassName();
+        List<ParameterSpec> parameterSpecs = new ArrayList<>();
+        List<CodeBlock> arguments = new ArrayList<>();
+        for (FileProperty fileProperty : getFileUploadRequest().get().fileProperties()) {
+            ParameterSpec fileParameter = getFileParameter(fileProperty, ClassName.get(File.class));
+            parameterSpecs.add(fileParameter);
+            arguments.add(
+                    fileProperty.getIsOptional()
+                            ? CodeBlock.of("$N.map($T::of)", fileParameter, uploadSourceClassName)
+                            : CodeBlock.of("$T.of($N)", uploadSourceClassName, fileParameter));
+        }
+        List<ParameterOverload> parameterOverloads = new ArrayList<>();
+        if (isSdkRequestOptional()) {
+            // Mirrors the endpoint method without a request, which never takes request options.
+            List<CodeBlock> argumentsWithoutRequest = new ArrayList<>(arguments);
+            argumentsWithoutRequest.add(CodeBlock.of("$T.builder().build()", generatedWrappedRequest.getClassName()));
+            parameterOverloads.add(
+                    new ParameterOverload(new ArrayList<>(parameterSpecs), argumentsWithoutRequest, false));
+        }
+        parameterSpecs.add(ParameterSpec.builder(generatedWrappedRequest.getClassName(), requestParameterName)
+                .build());
+        arguments.add(CodeBlock.of("$L", requestParameterName));
+        parameterOverloads.add(new ParameterOverload(parameterSpecs, arguments));
+        return parameterOverloads;
+    }
+
+    private Optional<FileUploadRequestBodyGetters> getFileUploadRequest() {
+        return generatedWrappedRequest
+                .requestBodyGetter()
+                .filter(requestBodyGetter -> requestBodyGetter instanceof FileUploadRequestBodyGetters)
+                .map(requestBodyGetter -> (FileUploadRequestBodyGetters) requestBodyGetter);
+    }
+
+    private static ParameterSpec getFileParameter(FileProperty fileProperty, ClassName fileClassName) {
+        return ParameterSpec.builder(
+                        fileProperty.getIsOptional()
+                                ? ParameterizedTypeName.get(ClassName.get(Optional.class), fileClassName)
+                                : fileClassName,
+                        getFilePropertyParameterName(fileProperty))
+                .build();
+    }
+
     @SuppressWarnings("checkstyle:CyclomaticComplexity")
     @Override
     public CodeBlock getInitializeRequestCodeBlock(
@@ -142,17 +203,17 @@ public final class WrappedRequestEndpointWriter extends AbstractEndpointWriter {
                                 .requestBodyGetter()
                                 .name
                         + "()";
-                initializeRequestBody(generatedObjectMapper, jsonRequestBodyArgument, requestBodyCodeBlock);
+                initializeRequestBody(jsonRequestBodyArgument, requestBodyCodeBlock);
             } else if (generatedWrappedRequest.requestBodyGetter().get() instanceof InlinedRequestBodyGetters) {
                 InlinedRequestBodyGetters inlinedRequestBodyGetter = ((InlinedRequestBodyGetters)
                         generatedWrappedRequest.requestBodyGetter().get());
                 initializeRequestBodyProperties(inlinedRequestBodyGetter, requestBodyCodeBlock);
-                initializeRequestBody(generatedObjectMapper, getRequestBodyPropertiesName(), requestBodyCodeBlock);
+                initializeRequestBody(getRequestBodyPropertiesName(), requestBodyCodeBlock);
             } else if (generatedWrappedRequest.requestBodyGetter().get() instanceof FileUploadRequestBodyGetters) {
                 FileUploadRequestBodyGetters fileUploadRequestBodyGetter = ((FileUploadRequestBodyGetters)
                         generatedWrappedRequest.requestBodyGetter().get());
                 initializeMultipartBody(fileUploadRequestBodyGetter, requestBodyCodeBlock, generatedObjectMapper);
-                inlinedRequestBodyBuilder = Optional.of(CodeBlock.of("$L.build()", getOkhttpRequestBodyName()));
+                inlinedRequestBodyBuilder = Optional.of(CodeBlock.of("$L.build()", MULTIPART_BODY_PROPERTIES_NAME));
             }
         } else {
             if (httpEndpoint.getMethod().equals(HttpMethod.POST)) {
@@ -170,7 +231,8 @@ public final class WrappedRequestEndpointWriter extends AbstractEndpointWriter {
                 .indent()
                 .add(".url(")
                 .add(inlineableHttpUrl)
-                .add(")\n");
+                .add(")\n")
+                .add(getRequestTagsCodeBlock());
         if (inlinedRequestBodyBuilder.isPresent()) {
             requestBodyCodeBlock
                     .add(".method($S, ", httpEndpoint.getMethod().toString())
@@ -183,10 +245,9 @@ public final class WrappedRequestEndpointWriter extends AbstractEndpointWriter {
         if (sendContentType && !isFileUpload) {
             requestBodyCodeBlock
                     .add(
-                            ".headers($T.of($L.$N($L)))\n",
-                            Headers.class,
+                            ".headers($L.$N($L))\n",
                             clientOptionsMember.name,
-                            clientOptions.headers(),
+                            clientOptions.httpHeaders(),
                             AbstractEndpointWriter.REQUEST_OPTIONS_PARAMETER_NAME)
                     .add(
                             ".addHeader($S, $S);\n",
@@ -194,10 +255,9 @@ public final class WrappedRequestEndpointWriter extends AbstractEndpointWriter {
                             AbstractEndpointWriter.APPLICATION_JSON_HEADER);
         } else {
             requestBodyCodeBlock.add(
-                    ".headers($T.of($L.$N($L)));\n",
-                    Headers.class,
+                    ".headers($L.$N($L));\n",
                     clientOptionsMember.name,
-                    clientOptions.headers(),
+                    clientOptions.httpHeaders(),
                     AbstractEndpointWriter.REQUEST_OPTIONS_PARAMETER_NAME);
         }
         requestBodyCodeBlock.unindent();
@@ -258,26 +318,13 @@ public final class WrappedRequestEndpointWriter extends AbstractEndpointWriter {
         }
     }
 
-    private void initializeRequestBody(
-            GeneratedObjectMapper generatedObjectMapper,
-            String variableToJsonify,
-            CodeBlock.Builder requestBodyCodeBlock) {
-        requestBodyCodeBlock
-                .addStatement("$T $L", RequestBody.class, getOkhttpRequestBodyName())
-                .beginControlFlow("try")
-                .addStatement(
-                        "$L = $T.create($T.$L.writeValueAsBytes($L), $T.parse($S))",
-                        getOkhttpRequestBodyName(),
-                        RequestBody.class,
-                        generatedObjectMapper.getClassName(),
-                        generatedObjectMapper.jsonMapperStaticField().name,
-                        variableToJsonify,
-                        okhttp3.MediaType.class,
-                        "application/json")
-                .endControlFlow()
-                .beginControlFlow("catch($T e)", Exception.class)
-                .addStatement("throw new $T(e)", RuntimeException.class)
-                .endControlFlow();
+    private void initializeRequestBody(String variableToJsonify, CodeBlock.Builder requestBodyCodeBlock) {
+        requestBodyCodeBlock.addStatement(
+                "$T $L = new $T($L)",
+                RequestBody.class,
+                getOkhttpRequestBodyName(),
+                clientGeneratorContext.getPoetClassNameFactory().getJsonRequestBodyClassName(),
+                variableToJsonify);
     }
 
     private void initializeMultipartBody(
@@ -321,18 +368,16 @@ public final class WrappedRequestEndpointWriter extends AbstractEndpointWriter {
                     requestBodyCodeBlock
                             .beginControlFlow("if ($N.isPresent())", getFilePropertyParameterName(fileProperty))
                             .addStatement(
-                                    "$L.addFormDataPart($S, null, $T.create(null, $L.get()))",
+                                    "$L.addFormDataPart($S, null, $L.get().toRequestBody())",
                                     MULTIPART_BODY_PROPERTIES_NAME,
                                     fileProperty.getKey().getWireValue(),
-                                    RequestBody.class,
                                     getFilePropertyParameterName(fileProperty))
                             .endControlFlow();
                 } else {
                     requestBodyCodeBlock.addStatement(
-                            "$L.addFormDataPart($S, null, $T.create(null, $L))",
+                            "$L.addFormDataPart($S, null, $L.toRequestBody())",
                             MULTIPART_BODY_PROPERTIES_NAME,
                             fileProperty.getKey().getWireValue(),
-                            RequestBody.class,
                             getFilePropertyParameterName(fileProperty));
                 }
             }
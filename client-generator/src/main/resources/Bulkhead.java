@@ -0,0 +1,143 @@
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import okhttp3.Call;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.ForwardingSource;
+import okio.Okio;
+
+/**
+ * Isolates a group of calls from the other calls of a client. The calls get their own dispatcher and connection pool,
+ * at most {@code maxConcurrentRequests} of them are in flight at once, and at most {@code maxQueuedRequests} more wait
+ * for a slot. Further calls fail right away with a {@link BulkheadFullException}.
+ *
+ * <p>A call holds its slot until its response body is closed, so slow downloads count against the limit. Waiting
+ * calls give up when their deadline passes or they are cancelled. Every retry attempt acquires a slot anew, so a call
+ * does not hold a slot while it backs off.
+ */
+public final class Bulkhead implements Interceptor {
+
+    private static final long CANCELLATION_CHECK_INTERVAL_MILLIS = 100;
+
+    private final int maxConcurrentRequests;
+    private final int maxQueuedRequests;
+    private final Semaphore permits;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Dispatcher dispatcher = new Dispatcher();
+    private final ConnectionPool connectionPool = new ConnectionPool();
+
+    public Bulkhead(int maxConcurrentRequests, int maxQueuedRequests) {
+        if (maxConcurrentRequests < 1) {
+            throw new IllegalArgumentException("maxConcurrentRequests must be at least 1");
+        }
+        if (maxQueuedRequests < 0) {
+            throw new IllegalArgumentException("maxQueuedRequests must not be negative");
+        }
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        this.maxQueuedRequests = maxQueuedRequests;
+        this.permits = new Semaphore(maxConcurrentRequests, true);
+        // The bulkhead bounds the calls itself. Asynchronous calls must reach it rather than wait in the dispatcher's
+        // unbounded queue.
+        this.dispatcher.setMaxRequests(Integer.MAX_VALUE);
+        this.dispatcher.setMaxRequestsPerHost(Integer.MAX_VALUE);
+    }
+
+    public int getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+
+    public int getMaxQueuedRequests() {
+        return maxQueuedRequests;
+    }
+
+    /**
+     * Returns a client that shares the settings and interceptors of the given client, but sends its calls through
+     * this bulkhead.
+     */
+    public OkHttpClient isolate(OkHttpClient client) {
+        return client.newBuilder()
+                .dispatcher(dispatcher)
+                .connectionPool(connectionPool)
+                .addInterceptor(this)
+                .build();
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        acquire(chain.call());
+        Response response;
+        try {
+            response = chain.proceed(chain.request());
+        } catch (IOException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+        ResponseBody body = response.body();
+        if (body == null) {
+            permits.release();
+            return response;
+        }
+        AtomicBoolean released = new AtomicBoolean();
+        ForwardingSource source = new ForwardingSource(body.source()) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    if (released.compareAndSet(false, true)) {
+                        permits.release();
+                    }
+                }
+            }
+        };
+        return response.newBuilder()
+                .body(ResponseBody.create(Okio.buffer(source), body.contentType(), body.contentLength()))
+                .build();
+    }
+
+    private void acquire(Call call) throws IOException {
+        if (permits.tryAcquire()) {
+            return;
+        }
+        if (queued.incrementAndGet() > maxQueuedRequests) {
+            queued.decrementAndGet();
+            throw new BulkheadFullException(maxConcurrentRequests, maxQueuedRequests);
+        }
+        try {
+            while (!permits.tryAcquire(CANCELLATION_CHECK_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (call.isCanceled()) {
+                    throw new IOException("Canceled");
+                }
+                if (call.timeout().hasDeadline() && call.timeout().deadlineNanoTime() - System.nanoTime() <= 0) {
+                    throw new BulkheadFullException(maxConcurrentRequests, maxQueuedRequests);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a bulkhead slot");
+        } finally {
+            queued.decrementAndGet();
+        }
+    }
+
+    /**
+     * Thrown when a call could not get a slot in a bulkhead, either because the queue was full or because its deadline
+     * passed while it waited.
+     */
+    public static final class BulkheadFullException extends RetryInterceptor.RejectedException {
+        private static final long serialVersionUID = 1L;
+
+        private BulkheadFullException(int maxConcurrentRequests, int maxQueuedRequests) {
+            super("Bulkhead is full: " + maxConcurrentRequests + " concurrent requests and " + maxQueuedRequests
+                    + " queued requests");
+        }
+    }
+}
@@ -0,0 +1,76 @@
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free histogram of non-negative values with a bounded relative error, in the style of HdrHistogram. Values are
+ * grouped into buckets by their highest set bit, and each bucket is split into {@code 2^SUB_BUCKET_BITS} linear
+ * sub-buckets, so a recorded value is reported with an error of at most {@code 1 / 2^(SUB_BUCKET_BITS - 1)} (about
+ * 3%). Recording is a single atomic increment and never allocates.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    // Values of 2^48 and above (more than three days in nanoseconds) share the last bucket.
+    private static final int MAX_VALUE_BITS = 48;
+    private static final int BUCKET_COUNT = MAX_VALUE_BITS - SUB_BUCKET_BITS + 1;
+    private static final long MAX_TRACKABLE_VALUE = (1L << MAX_VALUE_BITS) - 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT * SUB_BUCKET_COUNT);
+    private final AtomicLong totalCount = new AtomicLong();
+    private final AtomicLong maxValue = new AtomicLong();
+
+    /**
+     * Records a value. Negative values are recorded as zero.
+     */
+    public void record(long value) {
+        long nonNegative = Math.max(0, value);
+        counts.incrementAndGet(indexOf(Math.min(nonNegative, MAX_TRACKABLE_VALUE)));
+        totalCount.incrementAndGet();
+        long currentMax;
+        while (nonNegative > (currentMax = maxValue.get())) {
+            if (maxValue.compareAndSet(currentMax, nonNegative)) {
+                break;
+            }
+        }
+    }
+
+    public long getCount() {
+        return totalCount.get();
+    }
+
+    public long getMax() {
+        return maxValue.get();
+    }
+
+    /**
+     * Returns the value at the given percentile (between 0 and 100), or 0 if nothing was recorded. Values recorded
+     * concurrently with this call may or may not be taken into account.
+     */
+    public long getValueAtPercentile(double percentile) {
+        long total = totalCount.get();
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(Math.min(100, Math.max(0, percentile)) / 100 * total));
+        long seen = 0;
+        for (int index = 0; index < counts.length(); index++) {
+            seen += counts.get(index);
+            if (seen >= rank) {
+                return Math.min(highestValueAt(index), maxValue.get());
+            }
+        }
+        return maxValue.get();
+    }
+
+    private static int indexOf(long value) {
+        int shift = Math.max(0, Long.SIZE - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS);
+        return (shift << SUB_BUCKET_BITS) + (int) (value >>> shift);
+    }
+
+    private static long highestValueAt(int index) {
+        int shift = index >>> SUB_BUCKET_BITS;
+        long subBucket = index & (SUB_BUCKET_COUNT - 1);
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
@@ -1,59 +1,261 @@
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.UnknownHostException;
 import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashSet;
 import java.util.Optional;
-import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import okhttp3.Call;
 import okhttp3.Interceptor;
+import okhttp3.MultipartBody;
+import okhttp3.Request;
+import okhttp3.RequestBody;
 import okhttp3.Response;
 
+/**
+ * Retries requests that failed with a connection error or a retryable status code (408, 429 and 5xx).
+ *
+ * <p>A request that failed after it may have reached the server is only retried if its method is idempotent, since
+ * the server may already have acted on it. Calls rejected locally with a {@link RejectedException}, for example by a
+ * concurrency limit, are never retried.
+ *
+ * <p>All retry state is kept per call, so a single interceptor can be shared by every call made through an
+ * {@link okhttp3.OkHttpClient}. Delays use exponential backoff with full jitter, bounded by a maximum delay, and a
+ * {@code Retry-After} response header takes precedence over the computed delay. A {@link RetryBudget} shared by all
+ * calls stops retrying altogether while most requests are failing, so that retries do not amplify an outage.
+ *
+ * <p>A retry is not attempted if its delay would end after the call's deadline (see {@link Calls}), and a cancelled
+ * call stops waiting for its next retry.
+ */
 public class RetryInterceptor implements Interceptor {
 
-    private final ExponentialBackoff backoff;
+    public static final int DEFAULT_MAX_RETRIES = 2;
+    public static final Duration DEFAULT_INITIAL_DELAY = Duration.ofSeconds(1);
+    public static final Duration DEFAULT_MAX_DELAY = Duration.ofSeconds(30);
+
+    private static final String RETRY_AFTER_HEADER = "Retry-After";
+    private static final long CANCELLATION_CHECK_INTERVAL_MILLIS = 100;
+    private static final Set<String> IDEMPOTENT_METHODS =
+            new HashSet<>(Arrays.asList("GET", "HEAD", "OPTIONS", "PUT", "DELETE", "TRACE"));
+
+    private final int maxRetries;
+    private final Duration initialDelay;
+    private final Duration maxDelay;
+    private final RetryBudget budget;
 
     public RetryInterceptor(int maxRetries) {
-        this.backoff = new ExponentialBackoff(maxRetries);
+        this(maxRetries, DEFAULT_INITIAL_DELAY, DEFAULT_MAX_DELAY, RetryBudget.defaultBudget());
+    }
+
+    public RetryInterceptor(int maxRetries, Duration initialDelay, Duration maxDelay, RetryBudget budget) {
+        this.maxRetries = maxRetries;
+        this.initialDelay = initialDelay;
+        this.maxDelay = maxDelay;
+        this.budget = budget;
     }
 
     @Override
     public Response intercept(Chain chain) throws IOException {
-        Optional<Duration> nextBackoff = this.backoff.nextBackoff();
-
-        while (nextBackoff.isPresent()) {
+        Request request = chain.request();
+        int callMaxRetries = isOneShot(request) ? 0 : getMaxRetries(request);
+        int retryNumber = 0;
+        while (true) {
+            Response response;
             try {
-                Thread.sleep(nextBackoff.get().toMillis());
-            } catch (InterruptedException e) {
-                throw new IOException("Interrupted while trying request", e);
+                response = chain.proceed(request);
+            } catch (IOException e) {
+                if (e instanceof RejectedException) {
+                    throw e;
+                }
+                boolean withinBudget = budget.onFailure();
+                if (!isRetryable(request, e)
+                        || chain.call().isCanceled()
+                        || retryNumber >= callMaxRetries
+                        || !withinBudget) {
+                    throw e;
+                }
+                Duration delay = backoff(retryNumber);
+                if (exceedsDeadline(chain.call(), delay)) {
+                    throw e;
+                }
+                sleep(chain.call(), delay);
+                retryNumber += 1;
+                continue;
+            }
+
+            if (!isRetryable(response.code())) {
+                budget.onSuccess();
+                return response;
+            }
+            boolean withinBudget = budget.onFailure();
+            if (retryNumber >= callMaxRetries || !withinBudget) {
+                return response;
+            }
+            Optional<Duration> retryAfter = getRetryAfter(response);
+            if (retryAfter.isPresent() && retryAfter.get().compareTo(maxDelay) > 0) {
+                // The server asked us to back off for longer than we are willing to wait.
+                return response;
             }
-            Response response = chain.proceed(chain.request());
-            if (response.isSuccessful()) {
+            Duration delay = retryAfter.isPresent() ? retryAfter.get() : backoff(retryNumber);
+            if (exceedsDeadline(chain.call(), delay)) {
                 return response;
             }
-            nextBackoff = this.backoff.nextBackoff();
+            response.close();
+            sleep(chain.call(), delay);
+            retryNumber += 1;
         }
+    }
 
-        throw new IOException("Max retries reached");
+    private int getMaxRetries(Request request) {
+        RequestOptions requestOptions = request.tag(RequestOptions.class);
+        if (requestOptions != null && requestOptions.getMaxRetries().isPresent()) {
+            return requestOptions.getMaxRetries().get();
+        }
+        return maxRetries;
     }
 
-    private static final class ExponentialBackoff {
+    private static boolean isOneShot(Request request) {
+        RequestBody body = request.body();
+        if (body instanceof MultipartBody) {
+            // okhttp does not propagate the one-shot flag of individual parts.
+            return ((MultipartBody) body)
+                    .parts().stream().anyMatch(part -> part.body().isOneShot());
+        }
+        return body != null && body.isOneShot();
+    }
 
-        private static final Duration ONE_SECOND = Duration.ofSeconds(1);
+    private Duration backoff(int retryNumber) {
+        long ceilingMillis = initialDelay.toMillis() << Math.min(retryNumber, 30);
+        if (ceilingMillis <= 0 || ceilingMillis > maxDelay.toMillis()) {
+            ceilingMillis = maxDelay.toMillis();
+        }
+        return Duration.ofMillis(ThreadLocalRandom.current().nextLong(ceilingMillis + 1));
+    }
 
-        private final int maxNumRetries;
-        private final Random random = new Random();
+    private static boolean isRetryable(int code) {
+        return code == 408 || code == 429 || code >= 500;
+    }
 
-        private int retryNumber = 0;
+    /**
+     * Returns whether a request that failed with the given exception can be sent again: either the connection was
+     * never established, so the server has not seen the request, or repeating the request has no further effect.
+     */
+    private static boolean isRetryable(Request request, IOException e) {
+        return e instanceof ConnectException
+                || e instanceof NoRouteToHostException
+                || e instanceof UnknownHostException
+                || IDEMPOTENT_METHODS.contains(request.method());
+    }
 
-        ExponentialBackoff(int maxNumRetries) {
-            this.maxNumRetries = maxNumRetries;
+    private static Optional<Duration> getRetryAfter(Response response) {
+        String retryAfter = response.header(RETRY_AFTER_HEADER);
+        if (retryAfter == null) {
+            return Optional.empty();
         }
-
-        public Optional<Duration> nextBackoff() {
-            retryNumber += 1;
-            if (retryNumber > maxNumRetries) {
+        try {
+            return Optional.of(Duration.ofSeconds(Math.max(0, Long.parseLong(retryAfter.trim()))));
+        } catch (NumberFormatException e) {
+            Date date = response.headers().getDate(RETRY_AFTER_HEADER);
+            if (date == null) {
                 return Optional.empty();
             }
+            Duration untilDate = Duration.between(Instant.now(), date.toInstant());
+            return Optional.of(untilDate.isNegative() ? Duration.ZERO : untilDate);
+        }
+    }
+
+    private static boolean exceedsDeadline(Call call, Duration delay) {
+        return call.timeout().hasDeadline()
+                && call.timeout().deadlineNanoTime() - System.nanoTime() - delay.toNanos() <= 0;
+    }
+
+    private static void sleep(Call call, Duration delay) throws IOException {
+        long remainingMillis = delay.toMillis();
+        try {
+            // Sleep in slices so that a call cancelled from another thread does not wait out the whole delay.
+            while (remainingMillis > 0) {
+                if (call.isCanceled()) {
+                    throw new IOException("Canceled");
+                }
+                long sliceMillis = Math.min(remainingMillis, CANCELLATION_CHECK_INTERVAL_MILLIS);
+                TimeUnit.MILLISECONDS.sleep(sliceMillis);
+                remainingMillis -= sliceMillis;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting to retry request");
+        }
+    }
+
+    /**
+     * Thrown by interceptors that reject a call locally before sending it. Such calls are not retried, because
+     * retrying would only add to the load that caused the rejection.
+     */
+    public static class RejectedException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        public RejectedException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * A token bucket shared by all calls of a client. Every retryable failure withdraws a token and every success
+     * deposits {@code tokenRatio} tokens. Retries are only attempted while more than half of the tokens are
+     * available.
+     */
+    public static final class RetryBudget {
 
-            int upperBound = (int) Math.pow(2, retryNumber);
-            return Optional.of(ONE_SECOND.multipliedBy(random.nextInt(upperBound)));
+        public static final int DEFAULT_MAX_TOKENS = 10;
+        public static final double DEFAULT_TOKEN_RATIO = 0.1;
+
+        private static final int SCALE = 1000;
+
+        private final int maxTokens;
+        private final int threshold;
+        private final int tokenRatio;
+        private final AtomicInteger tokens;
+
+        public RetryBudget(int maxTokens, double tokenRatio) {
+            this.maxTokens = maxTokens * SCALE;
+            this.threshold = this.maxTokens / 2;
+            this.tokenRatio = (int) (tokenRatio * SCALE);
+            this.tokens = new AtomicInteger(this.maxTokens);
+        }
+
+        public static RetryBudget defaultBudget() {
+            return new RetryBudget(DEFAULT_MAX_TOKENS, DEFAULT_TOKEN_RATIO);
+        }
+
+        boolean onFailure() {
+            while (true) {
+                int current = tokens.get();
+                int next = Math.max(0, current - SCALE);
+                if (tokens.compareAndSet(current, next)) {
+                    return next > threshold;
+                }
+            }
+        }
+
+        void onSuccess() {
+            while (true) {
+                int current = tokens.get();
+                if (current == maxTokens) {
+                    return;
+                }
+                int next = Math.min(maxTokens, current + tokenRatio);
+                if (tokens.compareAndSet(current, next)) {
+                    return;
+                }
+            }
         }
     }
 }
@@ -0,0 +1,172 @@
+import com.fasterxml.jackson.databind.ObjectReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.StreamSupport;
+import okhttp3.ResponseBody;
+import okio.BufferedSource;
+
+/**
+ * A lazily-parsed stream of events read from a streaming response body. Both newline-delimited payloads and
+ * server-sent events ({@code data:} lines separated by blank lines) are supported. Events are only read from the
+ * underlying connection as the stream is iterated, and the response body is released once the stream is exhausted,
+ * the terminator is received, or {@link #close()} is called.
+ */
+public final class Stream<T> implements Iterable<T>, Closeable {
+
+    private static final String DATA_PREFIX = "data:";
+
+    private final ResponseBody body;
+    private final BufferedSource source;
+    private final String terminator;
+    private final ChunkParser<T> parser;
+
+    private boolean iterated = false;
+    private boolean closed = false;
+
+    private Stream(ResponseBody body, String terminator, ChunkParser<T> parser) {
+        this.body = body;
+        this.source = body.source();
+        this.terminator = terminator;
+        this.parser = parser;
+    }
+
+    /**
+     * Creates a stream whose events are JSON values deserialized with the given reader.
+     */
+    public static <T> Stream<T> fromJson(ObjectReader reader, ResponseBody body, String terminator) {
+        return new Stream<>(body, terminator, reader::readValue);
+    }
+
+    /**
+     * Creates a stream whose events are returned as raw strings.
+     */
+    public static Stream<String> fromText(ResponseBody body, String terminator) {
+        return new Stream<>(body, terminator, chunk -> chunk);
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        if (iterated) {
+            throw new IllegalStateException("A streaming response can only be iterated once");
+        }
+        iterated = true;
+        return new EventIterator();
+    }
+
+    /**
+     * Returns a sequential {@link java.util.stream.Stream} over the events. Closing the returned stream closes the
+     * underlying response.
+     */
+    public java.util.stream.Stream<T> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator(), Spliterator.ORDERED), false)
+                .onClose(this::close);
+    }
+
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            body.close();
+        }
+    }
+
+    private final class EventIterator implements Iterator<T> {
+
+        private final StringBuilder data = new StringBuilder();
+        private T next = null;
+        private boolean done = false;
+
+        @Override
+        public boolean hasNext() {
+            if (next != null) {
+                return true;
+            }
+            if (done) {
+                return false;
+            }
+            try {
+                return readNext();
+            } catch (IOException e) {
+                close();
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            T result = next;
+            next = null;
+            return result;
+        }
+
+        private boolean readNext() throws IOException {
+            while (!closed) {
+                String line = source.readUtf8Line();
+                if (line == null) {
+                    if (data.length() > 0 && emit(takeData())) {
+                        return true;
+                    }
+                    return finish();
+                }
+                if (line.startsWith(DATA_PREFIX)) {
+                    if (data.length() > 0) {
+                        data.append('\n');
+                    }
+                    data.append(stripLeadingSpace(line.substring(DATA_PREFIX.length())));
+                } else if (line.isEmpty()) {
+                    if (data.length() > 0 && emit(takeData())) {
+                        return true;
+                    }
+                } else if (!isServerSentEventField(line) && emit(line)) {
+                    return true;
+                }
+                if (done) {
+                    return false;
+                }
+            }
+            return finish();
+        }
+
+        private boolean emit(String chunk) throws IOException {
+            if (terminator != null && terminator.equals(chunk)) {
+                finish();
+                return false;
+            }
+            next = parser.parse(chunk);
+            return true;
+        }
+
+        private boolean finish() {
+            done = true;
+            close();
+            return false;
+        }
+
+        private String takeData() {
+            String result = data.toString();
+            data.setLength(0);
+            return result;
+        }
+    }
+
+    private static boolean isServerSentEventField(String line) {
+        return line.startsWith(":") || line.startsWith("event:") || line.startsWith("id:") || line.startsWith("retry:");
+    }
+
+    private static String stripLeadingSpace(String value) {
+        return value.startsWith(" ") ? value.substring(1) : value;
+    }
+
+    @FunctionalInterface
+    private interface ChunkParser<T> {
+        T parse(String chunk) throws IOException;
+    }
+}
@@ -0,0 +1,155 @@
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.ForwardingSink;
+import okio.Okio;
+import okio.Source;
+
+/**
+ * The content of a file or binary request. The content is streamed to the connection when the request is sent, so
+ * sources backed by a path, stream or buffer are never copied onto the heap in full.
+ *
+ * <p>Sources backed by an {@link InputStream} can only be read once, so requests using them are not retried. The
+ * caller remains responsible for closing the stream.
+ */
+public final class UploadSource {
+
+    private final Content content;
+    private final long contentLength;
+    private final boolean oneShot;
+    private final ProgressListener progressListener;
+
+    private UploadSource(Content content, long contentLength, boolean oneShot, ProgressListener progressListener) {
+        this.content = content;
+        this.contentLength = contentLength;
+        this.oneShot = oneShot;
+        this.progressListener = progressListener;
+    }
+
+    public static UploadSource of(File file) {
+        return of(file.toPath());
+    }
+
+    public static UploadSource of(Path path) {
+        long length;
+        try {
+            length = Files.size(path);
+        } catch (IOException e) {
+            length = -1;
+        }
+        return new UploadSource(
+                sink -> {
+                    try (Source source = Okio.source(path)) {
+                        sink.writeAll(source);
+                    }
+                },
+                length,
+                false,
+                null);
+    }
+
+    /**
+     * Creates a source that reads the stream until it is exhausted. The request is sent with chunked encoding.
+     */
+    public static UploadSource of(InputStream stream) {
+        return new UploadSource(sink -> sink.writeAll(Okio.source(stream)), -1, true, null);
+    }
+
+    /**
+     * Creates a source that reads exactly {@code contentLength} bytes from the stream.
+     */
+    public static UploadSource of(InputStream stream, long contentLength) {
+        return new UploadSource(sink -> sink.write(Okio.source(stream), contentLength), contentLength, true, null);
+    }
+
+    /**
+     * Creates a source over the remaining bytes of the buffer. The buffer's position is not modified, and direct or
+     * memory-mapped buffers are written without being copied onto the heap first.
+     */
+    public static UploadSource of(ByteBuffer buffer) {
+        ByteBuffer snapshot = buffer.slice();
+        return new UploadSource(
+                sink -> {
+                    ByteBuffer remaining = snapshot.duplicate();
+                    while (remaining.hasRemaining()) {
+                        sink.write(remaining);
+                    }
+                },
+                snapshot.remaining(),
+                false,
+                null);
+    }
+
+    public static UploadSource of(byte[] bytes) {
+        return new UploadSource(sink -> sink.write(bytes), bytes.length, false, null);
+    }
+
+    /**
+     * Returns a copy of this source that reports upload progress to the given listener.
+     */
+    public UploadSource withProgressListener(ProgressListener listener) {
+        return new UploadSource(content, contentLength, oneShot, listener);
+    }
+
+    public RequestBody toRequestBody() {
+        return toRequestBody(null);
+    }
+
+    public RequestBody toRequestBody(MediaType contentType) {
+        return new RequestBody() {
+            @Override
+            public MediaType contentType() {
+                return contentType;
+            }
+
+            @Override
+            public long contentLength() {
+                return contentLength;
+            }
+
+            @Override
+            public boolean isOneShot() {
+                return oneShot;
+            }
+
+            @Override
+            public void writeTo(BufferedSink sink) throws IOException {
+                if (progressListener == null) {
+                    content.writeTo(sink);
+                    return;
+                }
+                BufferedSink progressSink = Okio.buffer(new ProgressSink(sink));
+                content.writeTo(progressSink);
+                progressSink.emit();
+            }
+        };
+    }
+
+    private final class ProgressSink extends ForwardingSink {
+
+        private long bytesWritten = 0;
+
+        private ProgressSink(BufferedSink delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public void write(Buffer source, long byteCount) throws IOException {
+            super.write(source, byteCount);
+            bytesWritten += byteCount;
+            progressListener.onProgress(bytesWritten, contentLength);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Content {
+        void writeTo(BufferedSink sink) throws IOException;
+    }
+}
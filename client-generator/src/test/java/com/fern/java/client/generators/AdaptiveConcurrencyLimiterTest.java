@@ -0,0 +1,121 @@
+/*
+ * (c) Copyright 2023 Birch Solutions Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fern.java.client.generators;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class AdaptiveConcurrencyLimiterTest {
+
+    private static final int LIMIT = 2;
+    private static final int CALLS = LIMIT * 3;
+
+    private static ClassLoader classLoader;
+
+    @BeforeAll
+    public static void compileAdaptiveConcurrencyLimiter(@TempDir Path tempDir) throws Exception {
+        classLoader = RuntimeTemplates.compile(tempDir, "AdaptiveConcurrencyLimiter", "RetryInterceptor", "Stream");
+    }
+
+    @Test
+    public void test_voidCallsReleaseTheirSlot() throws Exception {
+        Interceptor limiter = limiter();
+        EndpointCalls calls = new EndpointCalls(client(limiter, EndpointCalls.respond(200, "{}")), classLoader);
+        for (int i = 0; i < CALLS; i++) {
+            calls.callVoid(get());
+        }
+        assertThat(getInFlight(limiter)).isZero();
+    }
+
+    @Test
+    public void test_jsonCallsReleaseTheirSlot() throws Exception {
+        Interceptor limiter = limiter();
+        EndpointCalls calls =
+                new EndpointCalls(client(limiter, EndpointCalls.respond(200, "{\"value\":1}")), classLoader);
+        for (int i = 0; i < CALLS; i++) {
+            calls.callJson(get());
+        }
+        assertThat(getInFlight(limiter)).isZero();
+    }
+
+    @Test
+    public void test_failedCallsReleaseTheirSlot() throws Exception {
+        Interceptor limiter = limiter();
+        EndpointCalls calls = new EndpointCalls(client(limiter, EndpointCalls.respond(500, "{}")), classLoader);
+        for (int i = 0; i < CALLS; i++) {
+            assertThatThrownBy(() -> calls.callJson(get())).isInstanceOf(IllegalStateException.class);
+        }
+        assertThat(getInFlight(limiter)).isZero();
+    }
+
+    @Test
+    public void test_streamedCallsReleaseTheirSlot() throws Exception {
+        Interceptor limiter = limiter();
+        EndpointCalls calls = new EndpointCalls(client(limiter, EndpointCalls.respond(200, "a\nb\n")), classLoader);
+        for (int i = 0; i < CALLS; i++) {
+            assertThat(calls.callStream(get())).containsExactly("a", "b");
+        }
+        assertThat(getInFlight(limiter)).isZero();
+    }
+
+    @Test
+    public void test_openResponsesHoldTheirSlot() throws Exception {
+        Interceptor limiter = limiter();
+        OkHttpClient client = client(limiter, EndpointCalls.respond(200, "{}"));
+        Response first = client.newCall(get()).execute();
+        Response second = client.newCall(get()).execute();
+        assertThat(getInFlight(limiter)).isEqualTo(2);
+        assertThatThrownBy(() -> client.newCall(get()).execute())
+                .isInstanceOf(classLoader.loadClass("AdaptiveConcurrencyLimiter$LimitExceededException"));
+        first.close();
+        second.close();
+        assertThat(getInFlight(limiter)).isZero();
+    }
+
+    /** Returns a limiter that rejects calls beyond its limit instead of queueing them. */
+    private static Interceptor limiter() throws Exception {
+        return (Interceptor) classLoader
+                .loadClass("AdaptiveConcurrencyLimiter")
+                .getConstructor(int.class, int.class, int.class, int.class, Duration.class)
+                .newInstance(LIMIT, 1, LIMIT, 0, Duration.ofSeconds(5));
+    }
+
+    private static int getInFlight(Interceptor limiter) throws Exception {
+        return (int) limiter.getClass().getMethod("getInFlight").invoke(limiter);
+    }
+
+    private static OkHttpClient client(Interceptor limiter, Interceptor server) {
+        return new OkHttpClient.Builder()
+                .addInterceptor(limiter)
+                .addInterceptor(server)
+                .build();
+    }
+
+    private static Request get() {
+        return new Request.Builder().url("http://localhost/resource").build();
+    }
+}
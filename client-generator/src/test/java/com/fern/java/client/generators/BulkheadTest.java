@@ -0,0 +1,101 @@
+/*
+ * (c) Copyright 2023 Birch Solutions Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fern.java.client.generators;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.file.Path;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class BulkheadTest {
+
+    private static final int MAX_CONCURRENT_REQUESTS = 2;
+    private static final int CALLS = MAX_CONCURRENT_REQUESTS * 3;
+
+    private static ClassLoader classLoader;
+
+    @BeforeAll
+    public static void compileBulkhead(@TempDir Path tempDir) throws Exception {
+        classLoader = RuntimeTemplates.compile(tempDir, "Bulkhead", "RetryInterceptor", "Stream");
+    }
+
+    @Test
+    public void test_voidCallsReleaseTheirSlot() throws Exception {
+        EndpointCalls calls = new EndpointCalls(isolate(EndpointCalls.respond(200, "{}")), classLoader);
+        for (int i = 0; i < CALLS; i++) {
+            calls.callVoid(get());
+        }
+    }
+
+    @Test
+    public void test_jsonCallsReleaseTheirSlot() throws Exception {
+        EndpointCalls calls = new EndpointCalls(isolate(EndpointCalls.respond(200, "{\"value\":1}")), classLoader);
+        for (int i = 0; i < CALLS; i++) {
+            calls.callJson(get());
+        }
+    }
+
+    @Test
+    public void test_failedCallsReleaseTheirSlot() throws Exception {
+        EndpointCalls calls = new EndpointCalls(isolate(EndpointCalls.respond(500, "{}")), classLoader);
+        for (int i = 0; i < CALLS; i++) {
+            assertThatThrownBy(() -> calls.callVoid(get())).isInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    @Test
+    public void test_streamedCallsReleaseTheirSlot() throws Exception {
+        EndpointCalls calls = new EndpointCalls(isolate(EndpointCalls.respond(200, "a\nb\n")), classLoader);
+        for (int i = 0; i < CALLS; i++) {
+            assertThat(calls.callStream(get())).containsExactly("a", "b");
+        }
+    }
+
+    @Test
+    public void test_openResponsesHoldTheirSlot() throws Exception {
+        OkHttpClient client = isolate(EndpointCalls.respond(200, "{}"));
+        Response first = client.newCall(get()).execute();
+        Response second = client.newCall(get()).execute();
+        assertThatThrownBy(() -> client.newCall(get()).execute())
+                .isInstanceOf(classLoader.loadClass("Bulkhead$BulkheadFullException"));
+        first.close();
+        client.newCall(get()).execute().close();
+        second.close();
+    }
+
+    /** Returns a client whose calls go through a bulkhead without queueing to the server. */
+    private static OkHttpClient isolate(Interceptor server) throws Exception {
+        Object bulkhead = classLoader
+                .loadClass("Bulkhead")
+                .getConstructor(int.class, int.class)
+                .newInstance(MAX_CONCURRENT_REQUESTS, 0);
+        OkHttpClient isolated = (OkHttpClient)
+                bulkhead.getClass().getMethod("isolate", OkHttpClient.class).invoke(bulkhead, new OkHttpClient());
+        return isolated.newBuilder().addInterceptor(server).build();
+    }
+
+    private static Request get() {
+        return new Request.Builder().url("http://localhost/resource").build();
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * (c) Copyright 2023 Birch Solutions Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fern.java.client.generators;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import okhttp3.Call;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class CallsTest {
+
+    private static final OkHttpClient CLIENT = new OkHttpClient();
+
+    private static ClassLoader classLoader;
+
+    @BeforeAll
+    public static void compileCalls(@TempDir Path tempDir) throws Exception {
+        classLoader = RuntimeTemplates.compile(tempDir, "Calls");
+    }
+
+    @Test
+    public void test_timeoutSetsDeadline() throws Exception {
+        long before = System.nanoTime();
+        Call call = newCall(Duration.ofSeconds(5));
+        assertThat(call.timeout().hasDeadline()).isTrue();
+        assertThat(call.timeout().deadlineNanoTime() - before)
+                .isBetween(TimeUnit.SECONDS.toNanos(4), TimeUnit.SECONDS.toNanos(6));
+    }
+
+    @Test
+    public void test_passedTimeoutExpiresImmediately() throws Exception {
+        Call call = newCall(Duration.ofSeconds(-5));
+        assertThat(call.timeout().deadlineNanoTime() - System.nanoTime()).isLessThan(0L);
+    }
+
+    @Test
+    public void test_timeoutBeyondNanosecondRangeSetsNoDeadline() throws Exception {
+        Call call = newCall(Duration.ofSeconds(Long.MAX_VALUE));
+        assertThat(call.timeout().hasDeadline()).isFalse();
+    }
+
+    private static Call newCall(Duration timeout) throws Exception {
+        Class<?> requestOptionsClass = classLoader.loadClass("RequestOptions");
+        Object requestOptions = requestOptionsClass
+                .getConstructor(Integer.class, Duration.class)
+                .newInstance(null, timeout);
+        Request request = new Request.Builder()
+                .url("http://localhost/resource")
+                .tag(cast(requestOptionsClass), requestOptions)
+                .build();
+        return (Call) classLoader
+                .loadClass("Calls")
+                .getMethod("newCall", OkHttpClient.class, Request.class)
+                .invoke(null, CLIENT, request);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Class<Object> cast(Class<?> clazz) {
+        return (Class<Object>) clazz;
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * (c) Copyright 2023 Birch Solutions Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fern.java.client.generators;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/**
+ * Makes calls the way generated synchronous endpoint methods do, with one method per response shape, so that runtime
+ * templates can be tested against the responses the generated code closes or leaves open.
+ */
+final class EndpointCalls {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final MediaType JSON = MediaType.parse("application/json");
+
+    private final OkHttpClient client;
+    private final ClassLoader classLoader;
+
+    EndpointCalls(OkHttpClient client, ClassLoader classLoader) {
+        this.client = client;
+        this.classLoader = classLoader;
+    }
+
+    void callVoid(Request request) throws IOException {
+        Response response = client.newCall(request).execute();
+        if (response.isSuccessful()) {
+            try (ResponseBody _responseBody = response.body()) {
+                return;
+            }
+        }
+        throw error(response);
+    }
+
+    Object callJson(Request request) throws IOException {
+        Response response = client.newCall(request).execute();
+        if (response.isSuccessful()) {
+            return OBJECT_MAPPER
+                    .readerFor(Object.class)
+                    .readValue(response.body().byteStream());
+        }
+        throw error(response);
+    }
+
+    List<String> callStream(Request request) throws Exception {
+        Response response = client.newCall(request).execute();
+        if (response.isSuccessful()) {
+            Iterable<?> stream = (Iterable<?>) classLoader
+                    .loadClass("Stream")
+                    .getMethod("fromText", ResponseBody.class, String.class)
+                    .invoke(null, response.body(), null);
+            List<String> events = new ArrayList<>();
+            stream.forEach(event -> events.add((String) event));
+            return events;
+        }
+        throw error(response);
+    }
+
+    private static RuntimeException error(Response response) throws IOException {
+        return new IllegalStateException(
+                response.code() + ": " + OBJECT_MAPPER.readValue(response.body().byteStream(), Object.class));
+    }
+
+    /** Returns an interceptor that answers every call with the given status code and body, without a network call. */
+    static Interceptor respond(int code, String body) {
+        return chain -> new Response.Builder()
+                .request(chain.request())
+                .protocol(Protocol.HTTP_1_1)
+                .code(code)
+                .message("")
+                .body(ResponseBody.create(body, JSON))
+                .build();
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * (c) Copyright 2023 Birch Solutions Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fern.java.client.generators;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sun.net.httpserver.HttpServer;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import okhttp3.EventListener;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class HistogramClientMetricsTest {
+
+    private static ClassLoader classLoader;
+    private static HttpServer server;
+
+    @BeforeAll
+    public static void compileMetrics(@TempDir Path tempDir) throws Exception {
+        classLoader = RuntimeTemplates.compile(
+                tempDir,
+                "MetricsEventListener",
+                "ClientMetrics",
+                "HistogramClientMetrics",
+                "LatencyHistogram",
+                "Stream");
+        // A real server, since OkHttp only ends a call once a response body read from the network is closed.
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", exchange -> {
+            byte[] body = "{}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+        });
+        server.start();
+    }
+
+    @AfterAll
+    public static void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    public void test_recordsVoidEndpoints() throws Exception {
+        Object metrics =
+                classLoader.loadClass("HistogramClientMetrics").getConstructor().newInstance();
+        new EndpointCalls(client(metrics), classLoader).callVoid(request("void"));
+        assertThat(getCount(metrics, "void")).isEqualTo(1L);
+    }
+
+    @Test
+    public void test_recordsJsonEndpoints() throws Exception {
+        Object metrics =
+                classLoader.loadClass("HistogramClientMetrics").getConstructor().newInstance();
+        new EndpointCalls(client(metrics), classLoader).callJson(request("json"));
+        assertThat(getCount(metrics, "json")).isEqualTo(1L);
+    }
+
+    private static OkHttpClient client(Object metrics) throws Exception {
+        Class<?> clientMetrics = classLoader.loadClass("ClientMetrics");
+        EventListener.Factory factory = (EventListener.Factory) classLoader
+                .loadClass("MetricsEventListener")
+                .getMethod("factory", clientMetrics)
+                .invoke(null, metrics);
+        return new OkHttpClient.Builder().eventListenerFactory(factory).build();
+    }
+
+    private static Request request(String endpoint) throws Exception {
+        Class<?> endpointClass = classLoader.loadClass("ClientMetrics$Endpoint");
+        Object tag = endpointClass.getConstructor(String.class, String.class).newInstance("service", endpoint);
+        return new Request.Builder()
+                .url("http://" + server.getAddress().getHostString() + ":"
+                        + server.getAddress().getPort() + "/" + endpoint)
+                .tag(cast(endpointClass), tag)
+                .build();
+    }
+
+    /** Returns the number of calls recorded for the endpoint, once the call has ended. */
+    private static long getCount(Object metrics, String endpoint) throws Exception {
+        Object histogram = metrics.getClass()
+                .getMethod("getLatencies", String.class, String.class)
+                .invoke(metrics, "service", endpoint);
+        assertThat(histogram).as("latencies of " + endpoint).isNotNull();
+        return (long) histogram.getClass().getMethod("getCount").invoke(histogram);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Class<Object> cast(Class<?> clazz) {
+        return (Class<Object>) clazz;
+    }
+}
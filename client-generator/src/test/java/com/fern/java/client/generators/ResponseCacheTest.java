@@ -0,0 +1,201 @@
+/*
+ * (c) Copyright 2023 Birch Solutions Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fern.java.client.generators;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import okhttp3.CacheControl;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ResponseCacheTest {
+
+    private static final ObjectReader READER = new ObjectMapper().readerFor(Map.class);
+    private static final MediaType JSON = MediaType.parse("application/json");
+
+    private static ClassLoader classLoader;
+
+    private final List<Request> requests = new ArrayList<>();
+
+    @BeforeAll
+    public static void compileResponseCache(@TempDir Path tempDir) throws Exception {
+        classLoader = RuntimeTemplates.compile(tempDir, "ResponseCache", "RequestCoalescer", "Calls");
+    }
+
+    @Test
+    public void test_freshResponsesAreServedFromMemory() throws Exception {
+        Object cache = responseCache(10);
+        OkHttpClient client = client(request -> ok(request).header("Cache-Control", "max-age=60"));
+        Object first = execute(cache, client, get());
+        assertThat(execute(cache, client, get())).isSameAs(first);
+        assertThat(requests).hasSize(1);
+
+        // Requests with other headers, such as other credentials, never share an entry.
+        assertThat(execute(
+                        cache,
+                        client,
+                        get().newBuilder().header("Authorization", "other").build()))
+                .isNotSameAs(first);
+        assertThat(requests).hasSize(2);
+    }
+
+    @Test
+    public void test_staleResponsesAreRevalidatedWithTheirEtag() throws Exception {
+        Object cache = responseCache(10);
+        OkHttpClient client = client(request -> "\"v1\"".equals(request.header("If-None-Match"))
+                ? response(request, 304)
+                : ok(request).header("ETag", "\"v1\""));
+        Object first = execute(cache, client, get());
+        assertThat(execute(cache, client, get())).isSameAs(first);
+        assertThat(requests).hasSize(2);
+        assertThat(requests.get(1).header("If-None-Match")).isEqualTo("\"v1\"");
+    }
+
+    @Test
+    public void test_staleResponsesAreRevalidatedWithTheirLastModified() throws Exception {
+        String lastModified = "Mon, 02 Jan 2023 03:04:05 GMT";
+        Object cache = responseCache(10);
+        OkHttpClient client = client(request -> lastModified.equals(request.header("If-Modified-Since"))
+                ? response(request, 304)
+                : ok(request).header("Last-Modified", lastModified));
+        Object first = execute(cache, client, get());
+        assertThat(execute(cache, client, get())).isSameAs(first);
+        assertThat(requests).hasSize(2);
+    }
+
+    @Test
+    public void test_noCacheRequestsRevalidateFreshResponses() throws Exception {
+        Object cache = responseCache(10);
+        OkHttpClient client = client(request -> request.header("If-None-Match") != null
+                ? response(request, 304)
+                : ok(request).header("Cache-Control", "max-age=60").header("ETag", "\"v1\""));
+        Object first = execute(cache, client, get());
+        Request noCache =
+                get().newBuilder().cacheControl(CacheControl.FORCE_NETWORK).build();
+        assertThat(execute(cache, client, noCache)).isSameAs(first);
+        assertThat(requests).hasSize(2);
+        assertThat(requests.get(1).header("If-None-Match")).isEqualTo("\"v1\"");
+    }
+
+    @Test
+    public void test_noStoreResponsesAreNotCached() throws Exception {
+        Object cache = responseCache(10);
+        OkHttpClient client = client(request -> ok(request).header("Cache-Control", "no-store, max-age=60"));
+        Object first = execute(cache, client, get());
+        assertThat(execute(cache, client, get())).isNotSameAs(first);
+        assertThat(requests).hasSize(2);
+    }
+
+    @Test
+    public void test_requestOptionsBypassTheCache() throws Exception {
+        Object cache = responseCache(10);
+        OkHttpClient client = client(request -> ok(request).header("Cache-Control", "max-age=60"));
+        Object first = execute(cache, client, get());
+        Object requestOptions = classLoader
+                .loadClass("RequestOptions")
+                .getConstructor(Integer.class, Duration.class)
+                .newInstance(null, Duration.ofSeconds(5));
+        Request withOptions = get().newBuilder()
+                .tag(cast(classLoader.loadClass("RequestOptions")), requestOptions)
+                .build();
+        assertThat(execute(cache, client, withOptions)).isNotSameAs(first);
+        assertThat(requests).hasSize(2);
+    }
+
+    @Test
+    public void test_errorsAreThrownAndNotCached() throws Exception {
+        Object cache = responseCache(10);
+        OkHttpClient client = client(request -> response(request, 404).header("Cache-Control", "max-age=60"));
+        assertThatThrownBy(() -> execute(cache, client, get())).isInstanceOf(classLoader.loadClass("ApiError"));
+        assertThatThrownBy(() -> execute(cache, client, get())).isInstanceOf(classLoader.loadClass("ApiError"));
+        assertThat(requests).hasSize(2);
+    }
+
+    @Test
+    public void test_leastRecentlyUsedEntriesAreEvicted() throws Exception {
+        Object cache = responseCache(1);
+        OkHttpClient client = client(request -> ok(request).header("Cache-Control", "max-age=60"));
+        Request other = new Request.Builder().url("http://localhost/other").build();
+        execute(cache, client, get());
+        execute(cache, client, other);
+        execute(cache, client, get());
+        assertThat(requests).hasSize(3);
+    }
+
+    /** Returns a client that answers every request with the handler, without making a network call. */
+    private OkHttpClient client(Function<Request, Response.Builder> handler) {
+        return new OkHttpClient.Builder()
+                .addInterceptor(chain -> {
+                    requests.add(chain.request());
+                    return handler.apply(chain.request()).build();
+                })
+                .build();
+    }
+
+    private static Object responseCache(int maxEntries) throws Exception {
+        return classLoader.loadClass("ResponseCache").getConstructor(int.class).newInstance(maxEntries);
+    }
+
+    private static Object execute(Object cache, OkHttpClient client, Request request) throws Exception {
+        Method execute = cache.getClass().getMethod("execute", OkHttpClient.class, Request.class, ObjectReader.class);
+        try {
+            return execute.invoke(cache, client, request, READER);
+        } catch (InvocationTargetException e) {
+            throw (Exception) e.getCause();
+        }
+    }
+
+    private static Request get() {
+        return new Request.Builder().url("http://localhost/resource").build();
+    }
+
+    private static Response.Builder ok(Request request) {
+        return response(request, 200).body(ResponseBody.create("{\"value\":1}", JSON));
+    }
+
+    private static Response.Builder response(Request request, int code) {
+        return new Response.Builder()
+                .request(request)
+                .protocol(Protocol.HTTP_1_1)
+                .code(code)
+                .message("")
+                .body(ResponseBody.create("{}", JSON));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Class<Object> cast(Class<?> clazz) {
+        return (Class<Object>) clazz;
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ * (c) Copyright 2023 Birch Solutions Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fern.java.client.generators;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.atomic.AtomicInteger;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class RetryInterceptorTest {
+
+    private static final Duration MAX_DELAY = Duration.ofMillis(1);
+
+    private static ClassLoader classLoader;
+
+    private final AtomicInteger attempts = new AtomicInteger();
+
+    @BeforeAll
+    public static void compileRetryInterceptor(@TempDir Path tempDir) throws Exception {
+        classLoader = RuntimeTemplates.compile(tempDir, "RetryInterceptor");
+    }
+
+    @Test
+    public void test_retriesRetryableStatusCodes() throws Exception {
+        OkHttpClient client = client(retryInterceptor(2, budget(10)), respond(503, 429, 200));
+        try (Response response = client.newCall(get()).execute()) {
+            assertThat(response.code()).isEqualTo(200);
+        }
+        assertThat(attempts.get()).isEqualTo(3);
+    }
+
+    @Test
+    public void test_stopsAfterMaxRetries() throws Exception {
+        OkHttpClient client = client(retryInterceptor(2, budget(10)), respond(500, 500, 500, 500));
+        try (Response response = client.newCall(get()).execute()) {
+            assertThat(response.code()).isEqualTo(500);
+        }
+        assertThat(attempts.get()).isEqualTo(3);
+    }
+
+    @Test
+    public void test_doesNotRetryClientErrors() throws Exception {
+        OkHttpClient client = client(retryInterceptor(2, budget(10)), respond(400, 200));
+        try (Response response = client.newCall(get()).execute()) {
+            assertThat(response.code()).isEqualTo(400);
+        }
+        assertThat(attempts.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void test_requestOptionsOverrideMaxRetries() throws Exception {
+        Object requestOptions = classLoader
+                .loadClass("RequestOptions")
+                .getConstructor(Integer.class, Duration.class)
+                .newInstance(0, null);
+        Request request = get().newBuilder()
+                .tag(cast(classLoader.loadClass("RequestOptions")), requestOptions)
+                .build();
+        OkHttpClient client = client(retryInterceptor(2, budget(10)), respond(503, 200));
+        try (Response response = client.newCall(request).execute()) {
+            assertThat(response.code()).isEqualTo(503);
+        }
+        assertThat(attempts.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void test_longRetryAfterIsNotWaitedFor() throws Exception {
+        Interceptor server = chain -> {
+            attempts.incrementAndGet();
+            return response(chain.request(), 503)
+                    .newBuilder()
+                    .header("Retry-After", "60")
+                    .build();
+        };
+        OkHttpClient client = client(retryInterceptor(2, budget(10)), server);
+        try (Response response = client.newCall(get()).execute()) {
+            assertThat(response.code()).isEqualTo(503);
+        }
+        assertThat(attempts.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void test_onlyRetriesTransportErrorsThatAreSafeToRepeat() throws Exception {
+        OkHttpClient client =
+                client(retryInterceptor(2, budget(10)), fail(new SocketTimeoutException("read timed out")));
+        Request post = new Request.Builder()
+                .url("http://localhost/resource")
+                .post(RequestBody.create("{}", null))
+                .build();
+        assertThatThrownBy(() -> client.newCall(post).execute()).isInstanceOf(SocketTimeoutException.class);
+        assertThat(attempts.get()).isEqualTo(1);
+
+        attempts.set(0);
+        assertThatThrownBy(() -> client.newCall(get()).execute()).isInstanceOf(SocketTimeoutException.class);
+        assertThat(attempts.get()).isEqualTo(3);
+
+        attempts.set(0);
+        OkHttpClient unreachable =
+                client(retryInterceptor(2, budget(10)), fail(new ConnectException("connection refused")));
+        assertThatThrownBy(() -> unreachable.newCall(post).execute()).isInstanceOf(ConnectException.class);
+        assertThat(attempts.get()).isEqualTo(3);
+    }
+
+    @Test
+    public void test_rejectedCallsAreNotRetried() throws Exception {
+        IOException rejected = (IOException) classLoader
+                .loadClass("RetryInterceptor$RejectedException")
+                .getConstructor(String.class)
+                .newInstance("limit exceeded");
+        OkHttpClient client = client(retryInterceptor(2, budget(10)), fail(rejected));
+        assertThatThrownBy(() -> client.newCall(get()).execute()).isSameAs(rejected);
+        assertThat(attempts.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void test_budgetStopsRetriesWhileMostRequestsFail() throws Exception {
+        // Retries stop once half of the 4 tokens are spent, and each failure spends one.
+        Object budget = budget(4);
+        OkHttpClient client = client(retryInterceptor(5, budget), respond(503, 503, 503, 503, 503, 503));
+        try (Response response = client.newCall(get()).execute()) {
+            assertThat(response.code()).isEqualTo(503);
+        }
+        assertThat(attempts.get()).isEqualTo(2);
+
+        attempts.set(0);
+        try (Response response = client.newCall(get()).execute()) {
+            assertThat(response.code()).isEqualTo(503);
+        }
+        assertThat(attempts.get()).isEqualTo(1);
+    }
+
+    private OkHttpClient client(Interceptor retryInterceptor, Interceptor server) {
+        return new OkHttpClient.Builder()
+                .addInterceptor(retryInterceptor)
+                .addInterceptor(server)
+                .build();
+    }
+
+    /** Answers each attempt with the next status code, without making a network call. */
+    private Interceptor respond(Integer... codes) {
+        Deque<Integer> remaining = new ArrayDeque<>(Arrays.asList(codes));
+        return chain -> {
+            attempts.incrementAndGet();
+            return response(chain.request(), remaining.removeFirst());
+        };
+    }
+
+    private Interceptor fail(IOException exception) {
+        return chain -> {
+            attempts.incrementAndGet();
+            throw exception;
+        };
+    }
+
+    private static Interceptor retryInterceptor(int maxRetries, Object budget) throws Exception {
+        Class<?> budgetClass = classLoader.loadClass("RetryInterceptor$RetryBudget");
+        return (Interceptor) classLoader
+                .loadClass("RetryInterceptor")
+                .getConstructor(int.class, Duration.class, Duration.class, budgetClass)
+                .newInstance(maxRetries, Duration.ZERO, MAX_DELAY, budget);
+    }
+
+    private static Object budget(int maxTokens) throws Exception {
+        return classLoader
+                .loadClass("RetryInterceptor$RetryBudget")
+                .getConstructor(int.class, double.class)
+                .newInstance(maxTokens, 0.1);
+    }
+
+    private static Request get() {
+        return new Request.Builder().url("http://localhost/resource").build();
+    }
+
+    private static Response response(Request request, int code) {
+        return new Response.Builder()
+                .request(request)
+                .protocol(Protocol.HTTP_1_1)
+                .code(code)
+                .message("")
+                .body(ResponseBody.create("", null))
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Class<Object> cast(Class<?> clazz) {
+        return (Class<Object>) clazz;
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * (c) Copyright 2023 Birch Solutions Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fern.java.client.generators;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+/**
+ * Compiles runtime templates from the generator's resources, together with minimal versions of the generated classes
+ * they depend on, so that tests can exercise them directly.
+ */
+final class RuntimeTemplates {
+
+    private static final String REQUEST_OPTIONS = "import java.time.Duration;\n"
+            + "import java.time.Instant;\n"
+            + "import java.util.Optional;\n\n"
+            + "public final class RequestOptions {\n"
+            + "    private final Integer maxRetries;\n"
+            + "    private final Duration timeout;\n\n"
+            + "    public RequestOptions(Integer maxRetries, Duration timeout) {\n"
+            + "        this.maxRetries = maxRetries;\n"
+            + "        this.timeout = timeout;\n"
+            + "    }\n\n"
+            + "    public Optional<Integer> getMaxRetries() {\n"
+            + "        return Optional.ofNullable(maxRetries);\n"
+            + "    }\n\n"
+            + "    public Optional<Duration> getTimeout() {\n"
+            + "        return Optional.ofNullable(timeout);\n"
+            + "    }\n\n"
+            + "    public Optional<Instant> getDeadline() {\n"
+            + "        return Optional.empty();\n"
+            + "    }\n\n"
+            + "    public Optional<CancellationToken> getCancellationToken() {\n"
+            + "        return Optional.empty();\n"
+            + "    }\n"
+            + "}\n";
+    private static final String API_ERROR = "public class ApiError extends RuntimeException {\n"
+            + "    private final int statusCode;\n\n"
+            + "    public ApiError(int statusCode, Object body) {\n"
+            + "        super(\"Error with status code \" + statusCode + \": \" + body);\n"
+            + "        this.statusCode = statusCode;\n"
+            + "    }\n\n"
+            + "    public int statusCode() {\n"
+            + "        return statusCode;\n"
+            + "    }\n"
+            + "}\n";
+    private static final String OBJECT_MAPPERS = "import com.fasterxml.jackson.databind.ObjectMapper;\n\n"
+            + "public final class ObjectMappers {\n"
+            + "    public static final ObjectMapper JSON_MAPPER = new ObjectMapper();\n"
+            + "}\n";
+
+    private RuntimeTemplates() {}
+
+    /** Compiles the given templates, and the {@code CancellationToken} template they may reference. */
+    static ClassLoader compile(Path directory, String... templates) throws Exception {
+        List<String> templateNames = new ArrayList<>(List.of(templates));
+        if (!templateNames.contains("CancellationToken")) {
+            templateNames.add("CancellationToken");
+        }
+        return compile(directory, List.of(), templateNames);
+    }
+
+    /** Compiles every template for Java 8, the oldest release generated SDKs support. */
+    static ClassLoader compileAllForJava8(Path directory) throws Exception {
+        Path templateDirectory = Paths.get(
+                        RuntimeTemplates.class.getResource("/Calls.java").toURI())
+                .getParent();
+        List<String> templateNames;
+        try (Stream<Path> templates = Files.list(templateDirectory)) {
+            templateNames = templates
+                    .map(template -> template.getFileName().toString())
+                    .filter(fileName -> fileName.endsWith(".java"))
+                    .map(fileName -> fileName.substring(0, fileName.length() - ".java".length()))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+        return compile(directory, List.of("--release", "8"), templateNames);
+    }
+
+    private static ClassLoader compile(Path directory, List<String> options, List<String> templateNames)
+            throws Exception {
+        List<String> arguments = new ArrayList<>(options);
+        arguments.addAll(List.of("-classpath", System.getProperty("java.class.path"), "-d", directory.toString()));
+        arguments.add(write(directory, "RequestOptions", REQUEST_OPTIONS).toString());
+        arguments.add(write(directory, "ApiError", API_ERROR).toString());
+        arguments.add(write(directory, "ObjectMappers", OBJECT_MAPPERS).toString());
+        for (String templateName : templateNames) {
+            try (InputStream is = RuntimeTemplates.class.getResourceAsStream("/" + templateName + ".java")) {
+                arguments.add(write(directory, templateName, new String(is.readAllBytes(), StandardCharsets.UTF_8))
+                        .toString());
+            }
+        }
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        int result = compiler.run(null, null, null, arguments.toArray(new String[0]));
+        assertThat(result).as("runtime templates compile").isZero();
+        return new URLClassLoader(new URL[] {directory.toUri().toURL()}, RuntimeTemplates.class.getClassLoader());
+    }
+
+    private static Path write(Path directory, String className, String source) throws Exception {
+        Path path = directory.resolve(className + ".java");
+        Files.writeString(path, source);
+        return path;
+    }
+}
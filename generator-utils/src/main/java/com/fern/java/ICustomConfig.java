@@ -38,4 +38,16 @@ public interface ICustomConfig {
     default Boolean generateUnknownAsJsonNode() {
         return false;
     }
+
+    @Value.Default
+    @JsonProperty("generate-jackson-serializers")
+    default Boolean generateJacksonSerializers() {
+        return false;
+    }
+
+    @Value.Default
+    @JsonProperty("generate-primitive-arrays")
+    default Boolean generatePrimitiveArrays() {
+        return false;
+    }
 }
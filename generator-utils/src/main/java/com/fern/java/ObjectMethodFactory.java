@@ -16,14 +16,15 @@
 
 package com.fern.java;
 
+import com.squareup.javapoet.ArrayTypeName;
 import com.squareup.javapoet.ClassName;
 import com.squareup.javapoet.CodeBlock;
 import com.squareup.javapoet.FieldSpec;
 import com.squareup.javapoet.MethodSpec;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Collectors;
 import javax.lang.model.element.Modifier;
 
 public class ObjectMethodFactory {
@@ -65,12 +66,21 @@ public class ObjectMethodFactory {
                 .addModifiers(Modifier.PRIVATE)
                 .returns(boolean.class)
                 .addParameter(className, EqualsConstants.OTHER_PARAMETER);
-        String expression = fieldSpecs.stream()
+        CodeBlock expression = fieldSpecs.stream()
                 .map(fieldSpec -> {
                     if (fieldSpec.type.isPrimitive()) {
                         return CodeBlock.builder()
                                 .add("$L == $L.$L", fieldSpec.name, EqualsConstants.OTHER_PARAMETER, fieldSpec.name)
                                 .build();
+                    } else if (fieldSpec.type instanceof ArrayTypeName) {
+                        return CodeBlock.builder()
+                                .add(
+                                        "$T.equals($L, $L.$L)",
+                                        Arrays.class,
+                                        fieldSpec.name,
+                                        EqualsConstants.OTHER_PARAMETER,
+                                        fieldSpec.name)
+                                .build();
                     } else {
                         return CodeBlock.builder()
                                 .add(
@@ -81,17 +91,19 @@ public class ObjectMethodFactory {
                                 .build();
                     }
                 })
-                .map(CodeBlock::toString)
-                .collect(Collectors.joining(" && "));
-        return equalToMethodBuilder.addStatement("return " + expression).build();
+                .collect(CodeBlock.joining(" && "));
+        return equalToMethodBuilder.addStatement("return $L", expression).build();
     }
 
     public static Optional<MethodSpec> createHashCodeMethod(List<FieldSpec> fieldSpecs) {
         if (fieldSpecs.isEmpty()) {
             return Optional.empty();
         }
-        String commaDelimitedFields =
-                fieldSpecs.stream().map(fieldSpec -> "this." + fieldSpec.name).collect(Collectors.joining(", "));
+        CodeBlock commaDelimitedFields = fieldSpecs.stream()
+                .map(fieldSpec -> fieldSpec.type instanceof ArrayTypeName
+                        ? CodeBlock.of("$T.hashCode(this.$L)", Arrays.class, fieldSpec.name)
+                        : CodeBlock.of("this.$L", fieldSpec.name))
+                .collect(CodeBlock.joining(", "));
         MethodSpec.Builder hashCodeBuilder = MethodSpec.methodBuilder(HashCodeConstants.HASHCODE_METHOD_NAME)
                 .addAnnotation(Override.class)
                 .addModifiers(Modifier.PUBLIC)
@@ -115,13 +127,13 @@ public class ObjectMethodFactory {
                         .append(" + \"")
                         .append(fieldSpec.name)
                         .append(": \" + ")
-                        .append(fieldSpec.name);
+                        .append(toStringValue(fieldSpec));
             } else {
                 codeBlock
                         .append(" + \", ")
                         .append(fieldSpec.name)
                         .append(": \" + ")
-                        .append(fieldSpec.name);
+                        .append(toStringValue(fieldSpec));
             }
         }
         codeBlock.append(" + \"}\"");
@@ -133,6 +145,13 @@ public class ObjectMethodFactory {
                 .build();
     }
 
+    private static String toStringValue(FieldSpec fieldSpec) {
+        if (fieldSpec.type instanceof ArrayTypeName) {
+            return "java.util.Arrays.toString(" + fieldSpec.name + ")";
+        }
+        return fieldSpec.name;
+    }
+
     public static final class EqualsMethod {
 
         private final MethodSpec equalsMethodSpec;
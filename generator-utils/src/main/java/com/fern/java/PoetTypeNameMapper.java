@@ -42,6 +42,8 @@ import java.util.UUID;
 public final class PoetTypeNameMapper {
 
     private final AbstractPoetClassNameFactory poetClassNameFactory;
+    private final TypeReferenceToTypeNameConverter primitiveAllowedTypeReferenceConverter =
+            new TypeReferenceToTypeNameConverter(true);
     private final TypeReferenceToTypeNameConverter primitiveDisAllowedTypeReferenceConverter =
             new TypeReferenceToTypeNameConverter(false);
     private final ContainerToTypeNameConverter containerToTypeNameConverter = new ContainerToTypeNameConverter();
@@ -204,6 +206,14 @@ public final class PoetTypeNameMapper {
 
         @Override
         public TypeName visitList(TypeReference typeReference) {
+            if (customConfig.generatePrimitiveArrays()) {
+                TypeName itemTypeName = typeReference.visit(primitiveAllowedTypeReferenceConverter);
+                if (itemTypeName.equals(TypeName.INT)
+                        || itemTypeName.equals(TypeName.LONG)
+                        || itemTypeName.equals(TypeName.DOUBLE)) {
+                    return ArrayTypeName.of(itemTypeName);
+                }
+            }
             return ParameterizedTypeName.get(
                     ClassName.get(List.class), typeReference.visit(primitiveDisAllowedTypeReferenceConverter));
         }
@@ -19,20 +19,39 @@ package com.fern.java.generators;
 import com.fasterxml.jackson.annotation.JsonValue;
 import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.core.JsonParser;
-import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
-import com.fern.ir.model.commons.TypeId;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.fern.ir.model.types.AliasTypeDeclaration;
+import com.fern.ir.model.types.ContainerType;
+import com.fern.ir.model.types.DeclaredTypeName;
+import com.fern.ir.model.types.EnumTypeDeclaration;
+import com.fern.ir.model.types.Literal;
+import com.fern.ir.model.types.MapType;
+import com.fern.ir.model.types.ObjectProperty;
+import com.fern.ir.model.types.ObjectTypeDeclaration;
+import com.fern.ir.model.types.PrimitiveType;
+import com.fern.ir.model.types.ResolvedNamedType;
+import com.fern.ir.model.types.ResolvedTypeReference;
+import com.fern.ir.model.types.Type;
 import com.fern.ir.model.types.TypeDeclaration;
+import com.fern.ir.model.types.TypeReference;
 import com.fern.ir.model.types.UndiscriminatedUnionMember;
 import com.fern.ir.model.types.UndiscriminatedUnionTypeDeclaration;
+import com.fern.ir.model.types.UnionTypeDeclaration;
 import com.fern.java.AbstractGeneratorContext;
 import com.fern.java.ObjectMethodFactory;
 import com.fern.java.ObjectMethodFactory.EqualsMethod;
+import com.fern.java.generators.object.BuilderGenerator;
 import com.fern.java.output.GeneratedJavaFile;
 import com.squareup.javapoet.AnnotationSpec;
 import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
 import com.squareup.javapoet.FieldSpec;
 import com.squareup.javapoet.JavaFile;
 import com.squareup.javapoet.MethodSpec;
@@ -42,8 +61,11 @@ import com.squareup.javapoet.TypeSpec;
 import com.squareup.javapoet.TypeVariableName;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import javax.lang.model.element.Modifier;
@@ -58,9 +80,17 @@ public final class UndiscriminatedUnionGenerator extends AbstractFileGenerator {
     private static final String VISIT_METHOD_NAME = "visit";
     private static final TypeVariableName VISITOR_RETURN_TYPE = TypeVariableName.get("T");
     private static final String STATIC_FACTORY_METHOD_NAME = "of";
+    private static final ClassName JACKSON_TYPE_REFERENCE =
+            ClassName.get(com.fasterxml.jackson.core.type.TypeReference.class);
+    private static final TypeName OBJECT_DESERIALIZER_TYPE =
+            ParameterizedTypeName.get(ClassName.get(JsonDeserializer.class), TypeName.OBJECT);
+    private static final FieldSpec RESOLVED_FIELD = FieldSpec.builder(
+                    boolean.class, "resolved", Modifier.PRIVATE, Modifier.VOLATILE)
+            .build();
 
     private final UndiscriminatedUnionTypeDeclaration undiscriminatedUnion;
     private final Map<UndiscriminatedUnionMember, TypeName> memberTypeNames;
+    private final List<MemberShape> memberShapes;
     private final ClassName visitorClassName;
     private final ClassName deserializerClassName;
 
@@ -74,6 +104,10 @@ public final class UndiscriminatedUnionGenerator extends AbstractFileGenerator {
                 .collect(Collectors.toMap(
                         Function.identity(),
                         member -> generatorContext.getPoetTypeNameMapper().convertToTypeName(true, member.getType())));
+        MemberShapeResolver memberShapeResolver = new MemberShapeResolver();
+        this.memberShapes = undiscriminatedUnion.getMembers().stream()
+                .map(member -> member.getType().visit(memberShapeResolver))
+                .collect(Collectors.toList());
         this.visitorClassName = className.nestedClass("Visitor");
         this.deserializerClassName = className.nestedClass("Deserializer");
     }
@@ -199,13 +233,38 @@ public final class UndiscriminatedUnionGenerator extends AbstractFileGenerator {
         return staticFactories;
     }
 
+    /**
+     * Generates a deserializer that picks the member from the shape of the JSON, so that a value is usually read once.
+     * Only the members that are still ambiguous after looking at the token (and the first element of an array or the
+     * keys of an object) are tried in order, and every other member is tried as a last resort.
+     */
     private TypeSpec getDeserializer() {
         TypeSpec.Builder deserializerBuilder = TypeSpec.classBuilder(deserializerClassName)
                 .addModifiers(Modifier.STATIC, Modifier.FINAL)
                 .superclass(ParameterizedTypeName.get(ClassName.get(StdDeserializer.class), className))
+                .addField(RESOLVED_FIELD)
                 .addMethod(MethodSpec.constructorBuilder()
                         .addStatement("super($T.class)", className)
                         .build());
+        MethodSpec.Builder resolve = MethodSpec.methodBuilder("resolve")
+                .addModifiers(Modifier.PRIVATE)
+                .addParameter(DeserializationContext.class, "ctxt")
+                .addException(JsonMappingException.class)
+                .beginControlFlow("if (this.$N)", RESOLVED_FIELD)
+                .addStatement("return")
+                .endControlFlow();
+        for (int i = 0; i < undiscriminatedUnion.getMembers().size(); ++i) {
+            deserializerBuilder.addField(FieldSpec.builder(OBJECT_DESERIALIZER_TYPE, getDeserializerFieldName(i))
+                    .addModifiers(Modifier.PRIVATE)
+                    .build());
+            resolve.addStatement(
+                    "this.$L = ctxt.findRootValueDeserializer($L)",
+                    getDeserializerFieldName(i),
+                    getJavaType(memberTypeNames.get(
+                            undiscriminatedUnion.getMembers().get(i))));
+        }
+        resolve.addStatement("this.$N = true", RESOLVED_FIELD);
+        DeserializerHelpers helpers = new DeserializerHelpers();
         MethodSpec.Builder deserializeMethod = MethodSpec.methodBuilder("deserialize")
                 .addModifiers(Modifier.PUBLIC)
                 .returns(className)
@@ -213,69 +272,539 @@ public final class UndiscriminatedUnionGenerator extends AbstractFileGenerator {
                 .addParameter(DeserializationContext.class, "ctxt")
                 .addException(IOException.class)
                 .addAnnotation(Override.class)
-                .addStatement(
-                        "$T $L = $L.readValueAs($T.class)", Object.class, VALUE_FIELD_SPEC.name, "p", Object.class);
+                .addStatement("resolve(ctxt)")
+                .addStatement("$T token = p.currentToken()", JsonToken.class)
+                .addStatement("$T buffer = null", TokenBuffer.class);
+        List<JsonShape> shapes =
+                memberShapes.stream().map(memberShape -> memberShape.shape).collect(Collectors.toList());
+        List<TokenCandidates> tokenCandidates = List.of(
+                new TokenCandidates(
+                        CodeBlock.of("token == $T.VALUE_STRING", JsonToken.class),
+                        getCandidates(shapes, JsonShape.STRING)),
+                new TokenCandidates(
+                        CodeBlock.of("token == $T.VALUE_NUMBER_INT", JsonToken.class),
+                        getCandidates(shapes, JsonShape.INTEGER, JsonShape.LONG, JsonShape.DOUBLE)),
+                new TokenCandidates(
+                        CodeBlock.of("token == $T.VALUE_NUMBER_FLOAT", JsonToken.class),
+                        getCandidates(shapes, JsonShape.DOUBLE)),
+                new TokenCandidates(
+                        CodeBlock.of(
+                                "token == $T.VALUE_TRUE || token == $T.VALUE_FALSE", JsonToken.class, JsonToken.class),
+                        getCandidates(shapes, JsonShape.BOOLEAN)),
+                new TokenCandidates(
+                        CodeBlock.of("token == $T.START_ARRAY", JsonToken.class),
+                        getCandidates(shapes, JsonShape.ARRAY)),
+                new TokenCandidates(
+                        CodeBlock.of("token == $T.START_OBJECT", JsonToken.class),
+                        getCandidates(shapes, JsonShape.OBJECT)));
+        boolean first = true;
+        for (TokenCandidates candidates : tokenCandidates) {
+            if (candidates.members.isEmpty()) {
+                continue;
+            }
+            if (first) {
+                deserializeMethod.beginControlFlow("if ($L)", candidates.condition);
+                first = false;
+            } else {
+                deserializeMethod.nextControlFlow("else if ($L)", candidates.condition);
+            }
+            deserializeMethod.addCode(getCandidatesDeserialization(candidates.members, helpers));
+        }
+        if (!first) {
+            deserializeMethod.endControlFlow();
+        }
+        // Members that are not primitives are tried in order, so that coercions such as a number into a string
+        // still apply when the shape of the JSON matches no member.
+        CodeBlock.Builder fallback = CodeBlock.builder();
         for (int i = 0; i < undiscriminatedUnion.getMembers().size(); ++i) {
-            UndiscriminatedUnionMember member =
-                    undiscriminatedUnion.getMembers().get(i);
-            TypeName typeName = memberTypeNames.get(member);
-            if (typeName.isPrimitive() || typeName.isBoxedPrimitive()) {
-                deserializeMethod
-                        .beginControlFlow("if ($L instanceof $T)", VALUE_FIELD_SPEC.name, typeName.box())
-                        .addStatement(
-                                "return $L(($T) $L)", STATIC_FACTORY_METHOD_NAME, typeName.box(), VALUE_FIELD_SPEC.name)
+            TypeName typeName =
+                    memberTypeNames.get(undiscriminatedUnion.getMembers().get(i));
+            if (!typeName.isPrimitive() && !typeName.isBoxedPrimitive()) {
+                fallback.add(getTryRead(i));
+            }
+        }
+        if (!fallback.isEmpty()) {
+            helpers.buffer = true;
+            deserializeMethod
+                    .beginControlFlow("if (buffer == null)")
+                    .addStatement("buffer = buffer(p, ctxt)")
+                    .endControlFlow()
+                    .addCode(fallback.build());
+        }
+        deserializeMethod.addStatement("throw new $T(p, $S)", JsonParseException.class, "Failed to deserialize");
+        deserializerBuilder.addMethod(resolve.build()).addMethod(deserializeMethod.build());
+        if (helpers.buffer) {
+            deserializerBuilder.addMethod(generateBufferMethod()).addMethod(generateReadMethod());
+        }
+        if (helpers.firstElement) {
+            deserializerBuilder.addMethod(generateFirstElementMethod()).addMethod(generateIsElementMethod());
+        }
+        if (helpers.fieldNames) {
+            deserializerBuilder.addMethod(generateFieldNamesMethod());
+        }
+        return deserializerBuilder.build();
+    }
+
+    /**
+     * Returns the members that may be read from a token of the given shapes, in order. Integers prefer integral members
+     * over floating point ones, and members of any shape are candidates for every token.
+     */
+    static List<Integer> getCandidates(List<JsonShape> memberShapes, JsonShape... shapes) {
+        List<Integer> candidates = new ArrayList<>();
+        for (JsonShape shape : shapes) {
+            for (int i = 0; i < memberShapes.size(); ++i) {
+                JsonShape memberShape = memberShapes.get(i);
+                boolean matches = memberShape == shape
+                        || (memberShape == JsonShape.ANY && shape == shapes[0])
+                        || (memberShape == JsonShape.LONG && shape == JsonShape.INTEGER);
+                if (matches && !candidates.contains(i)) {
+                    candidates.add(i);
+                }
+            }
+        }
+        return candidates;
+    }
+
+    private CodeBlock getCandidatesDeserialization(List<Integer> candidates, DeserializerHelpers helpers) {
+        CodeBlock.Builder code = CodeBlock.builder();
+        if (candidates.size() == 1) {
+            int i = candidates.get(0);
+            Optional<CodeBlock> guard = getNumberGuard(i);
+            if (guard.isPresent()) {
+                return code.beginControlFlow("if ($L)", guard.get())
+                        .add(getDirectRead(i))
+                        .endControlFlow()
+                        .build();
+            }
+            return code.add(getDirectRead(i)).build();
+        }
+        boolean buffered = false;
+        for (int i : candidates) {
+            MemberShape memberShape = memberShapes.get(i);
+            if (isExact(i)) {
+                Optional<CodeBlock> guard = getNumberGuard(i);
+                if (guard.isEmpty()) {
+                    return code.add(getDirectRead(i)).build();
+                }
+                code.beginControlFlow("if ($L)", guard.get())
+                        .add(getDirectRead(i))
                         .endControlFlow();
-            } else {
-                if (shouldDeserializeWithTypeReference(member)) {
-                    deserializeMethod
-                            .beginControlFlow("try")
-                            .addStatement(
-                                    "return $L($T.$N.convertValue($L, new $T() {}))",
-                                    STATIC_FACTORY_METHOD_NAME,
-                                    generatorContext.getPoetClassNameFactory().getObjectMapperClassName(),
-                                    ObjectMappersGenerator.JSON_MAPPER_STATIC_FIELD_NAME,
-                                    VALUE_FIELD_SPEC.name,
-                                    ParameterizedTypeName.get(ClassName.get(TypeReference.class), typeName))
-                            .nextControlFlow("catch($T e)", IllegalArgumentException.class)
-                            .endControlFlow();
-                } else {
-                    deserializeMethod
-                            .beginControlFlow("try")
-                            .addStatement(
-                                    "return $L($T.$N.convertValue($L, $T.class))",
-                                    STATIC_FACTORY_METHOD_NAME,
-                                    generatorContext.getPoetClassNameFactory().getObjectMapperClassName(),
-                                    ObjectMappersGenerator.JSON_MAPPER_STATIC_FIELD_NAME,
-                                    VALUE_FIELD_SPEC.name,
-                                    typeName)
-                            .nextControlFlow("catch($T e)", IllegalArgumentException.class)
-                            .endControlFlow();
+                continue;
+            }
+            if (!buffered) {
+                helpers.buffer = true;
+                code.addStatement("buffer = buffer(p, ctxt)");
+                if (candidates.stream()
+                        .anyMatch(c -> memberShapes.get(c).getExpectedElement().isPresent())) {
+                    helpers.firstElement = true;
+                    code.addStatement("$T element = firstElement(buffer, p)", JsonToken.class);
+                }
+                if (candidates.stream()
+                        .anyMatch(c -> !memberShapes.get(c).requiredKeys.isEmpty())) {
+                    helpers.fieldNames = true;
+                    code.addStatement("$T<$T> names = fieldNames(buffer, p)", Set.class, String.class);
                 }
+                buffered = true;
+            }
+            Optional<CodeBlock> precondition = getPrecondition(memberShape);
+            if (precondition.isPresent()) {
+                code.beginControlFlow("if ($L)", precondition.get())
+                        .add(getTryRead(i))
+                        .endControlFlow();
+            } else {
+                code.add(getTryRead(i));
             }
         }
-        deserializeMethod.addStatement("throw new $T(p, $S)", JsonParseException.class, "Failed to deserialize");
-        return deserializerBuilder.addMethod(deserializeMethod.build()).build();
+        return code.build();
+    }
+
+    /** Whether a member is always read successfully from a token of its shape. */
+    private boolean isExact(int i) {
+        JsonShape shape = memberShapes.get(i).shape;
+        return shape == JsonShape.INTEGER
+                || shape == JsonShape.LONG
+                || shape == JsonShape.DOUBLE
+                || shape == JsonShape.BOOLEAN
+                || memberTypeNames.get(undiscriminatedUnion.getMembers().get(i)).equals(ClassName.get(String.class));
     }
 
-    private boolean shouldDeserializeWithTypeReference(UndiscriminatedUnionMember member) {
-        if (member.getType().isContainer()) {
-            return true;
-        }
-        if (!generatorContext.getCustomConfig().wrappedAliases()
-                && member.getType().isNamed()) {
-            TypeId typeId = member.getType().getNamed().get().getTypeId();
-            TypeDeclaration typeDeclaration =
-                    generatorContext.getTypeDeclarations().get(typeId);
-            if (typeDeclaration.getShape().isAlias()
-                    && typeDeclaration
-                            .getShape()
-                            .getAlias()
-                            .get()
-                            .getResolvedType()
-                            .isContainer()) {
-                return true;
+    private Optional<CodeBlock> getNumberGuard(int i) {
+        JsonShape shape = memberShapes.get(i).shape;
+        if (shape == JsonShape.INTEGER) {
+            return Optional.of(CodeBlock.of("p.getNumberType() == $T.NumberType.INT", JsonParser.class));
+        } else if (shape == JsonShape.LONG) {
+            return Optional.of(CodeBlock.of("p.getNumberType() != $T.NumberType.BIG_INTEGER", JsonParser.class));
+        }
+        return Optional.empty();
+    }
+
+    private static Optional<CodeBlock> getPrecondition(MemberShape memberShape) {
+        if (memberShape.getExpectedElement().isPresent()) {
+            return Optional.of(CodeBlock.of(
+                    "isElement(element, $T.$L)",
+                    JsonToken.class,
+                    memberShape.getExpectedElement().get().name()));
+        }
+        if (!memberShape.requiredKeys.isEmpty()) {
+            return Optional.of(memberShape.requiredKeys.stream()
+                    .map(key -> CodeBlock.of("names.contains($S)", key))
+                    .collect(CodeBlock.joining(" && ")));
+        }
+        return Optional.empty();
+    }
+
+    private CodeBlock getDirectRead(int i) {
+        return CodeBlock.builder()
+                .addStatement(
+                        "return new $T(this.$L.deserialize(p, ctxt), $L)", className, getDeserializerFieldName(i), i)
+                .build();
+    }
+
+    private CodeBlock getTryRead(int i) {
+        return CodeBlock.builder()
+                .beginControlFlow("try")
+                .addStatement(
+                        "return new $T(read(this.$L, buffer, p, ctxt), $L)", className, getDeserializerFieldName(i), i)
+                .nextControlFlow("catch ($T e)", JsonProcessingException.class)
+                .endControlFlow()
+                .build();
+    }
+
+    private static String getDeserializerFieldName(int i) {
+        return "deserializer" + i;
+    }
+
+    /**
+     * Generic types are captured with a Jackson {@code TypeReference}, since their class literals lose the type arguments.
+     */
+    private static CodeBlock getJavaType(TypeName type) {
+        if (type instanceof ParameterizedTypeName) {
+            return CodeBlock.of("ctxt.constructType(new $T<$T>() {}.getType())", JACKSON_TYPE_REFERENCE, type);
+        }
+        return CodeBlock.of("ctxt.constructType($T.class)", type);
+    }
+
+    private static MethodSpec generateBufferMethod() {
+        return MethodSpec.methodBuilder("buffer")
+                .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                .returns(TokenBuffer.class)
+                .addParameter(JsonParser.class, "p")
+                .addParameter(DeserializationContext.class, "ctxt")
+                .addException(IOException.class)
+                .addStatement("$T buffer = new $T(p, ctxt)", TokenBuffer.class, TokenBuffer.class)
+                .addStatement("buffer.copyCurrentStructure(p)")
+                .addStatement("return buffer")
+                .build();
+    }
+
+    private static MethodSpec generateReadMethod() {
+        return MethodSpec.methodBuilder("read")
+                .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                .returns(Object.class)
+                .addParameter(OBJECT_DESERIALIZER_TYPE, "deserializer")
+                .addParameter(TokenBuffer.class, "buffer")
+                .addParameter(JsonParser.class, "p")
+                .addParameter(DeserializationContext.class, "ctxt")
+                .addException(IOException.class)
+                .addStatement("$T parser = buffer.asParser(p)", JsonParser.class)
+                .beginControlFlow("if (parser.nextToken() == $T.VALUE_NULL)", JsonToken.class)
+                .addStatement("return deserializer.getNullValue(ctxt)")
+                .endControlFlow()
+                .addStatement("return deserializer.deserialize(parser, ctxt)")
+                .build();
+    }
+
+    private static MethodSpec generateFirstElementMethod() {
+        return MethodSpec.methodBuilder("firstElement")
+                .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                .returns(JsonToken.class)
+                .addParameter(TokenBuffer.class, "buffer")
+                .addParameter(JsonParser.class, "p")
+                .addException(IOException.class)
+                .addStatement("$T parser = buffer.asParser(p)", JsonParser.class)
+                .addStatement("parser.nextToken()")
+                .addStatement("return parser.nextToken()")
+                .build();
+    }
+
+    private static MethodSpec generateIsElementMethod() {
+        return MethodSpec.methodBuilder("isElement")
+                .addJavadoc("Whether the first element of an array may be read as the expected token. Empty arrays and"
+                        + " null elements match any token.")
+                .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                .returns(boolean.class)
+                .addParameter(JsonToken.class, "element")
+                .addParameter(JsonToken.class, "expected")
+                .addStatement(
+                        "return element == $T.END_ARRAY || element == $T.VALUE_NULL || element == expected"
+                                + " || (expected == $T.VALUE_NUMBER_FLOAT && element == $T.VALUE_NUMBER_INT)"
+                                + " || (expected.isBoolean() && element.isBoolean())",
+                        JsonToken.class,
+                        JsonToken.class,
+                        JsonToken.class,
+                        JsonToken.class)
+                .build();
+    }
+
+    private static MethodSpec generateFieldNamesMethod() {
+        return MethodSpec.methodBuilder("fieldNames")
+                .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                .returns(ParameterizedTypeName.get(Set.class, String.class))
+                .addParameter(TokenBuffer.class, "buffer")
+                .addParameter(JsonParser.class, "p")
+                .addException(IOException.class)
+                .addStatement("$T<$T> names = new $T<>()", Set.class, String.class, HashSet.class)
+                .addStatement("$T parser = buffer.asParser(p)", JsonParser.class)
+                .addStatement("parser.nextToken()")
+                .beginControlFlow("while (parser.nextToken() == $T.FIELD_NAME)", JsonToken.class)
+                .addStatement("names.add(parser.currentName())")
+                .addStatement("parser.nextToken()")
+                .addStatement("parser.skipChildren()")
+                .endControlFlow()
+                .addStatement("return names")
+                .build();
+    }
+
+    /** The helper methods used by the generated deserializer, which are only generated when needed. */
+    private static final class DeserializerHelpers {
+        private boolean buffer;
+        private boolean firstElement;
+        private boolean fieldNames;
+    }
+
+    private static final class TokenCandidates {
+        private final CodeBlock condition;
+        private final List<Integer> members;
+
+        private TokenCandidates(CodeBlock condition, List<Integer> members) {
+            this.condition = condition;
+            this.members = members;
+        }
+    }
+
+    enum JsonShape {
+        STRING,
+        INTEGER,
+        LONG,
+        DOUBLE,
+        BOOLEAN,
+        ARRAY,
+        OBJECT,
+        ANY;
+
+        private Optional<JsonToken> getToken() {
+            switch (this) {
+                case STRING:
+                    return Optional.of(JsonToken.VALUE_STRING);
+                case INTEGER:
+                case LONG:
+                    return Optional.of(JsonToken.VALUE_NUMBER_INT);
+                case DOUBLE:
+                    return Optional.of(JsonToken.VALUE_NUMBER_FLOAT);
+                case BOOLEAN:
+                    return Optional.of(JsonToken.VALUE_TRUE);
+                case ARRAY:
+                    return Optional.of(JsonToken.START_ARRAY);
+                case OBJECT:
+                    return Optional.of(JsonToken.START_OBJECT);
+                default:
+                    return Optional.empty();
+            }
+        }
+    }
+
+    /**
+     * The JSON a member is read from: its shape, the shape of its elements if it is an array, and the keys it requires
+     * if it is an object.
+     */
+    private static final class MemberShape {
+        private final JsonShape shape;
+        private final JsonShape elementShape;
+        private final List<String> requiredKeys;
+
+        private MemberShape(JsonShape shape, JsonShape elementShape, List<String> requiredKeys) {
+            this.shape = shape;
+            this.elementShape = elementShape;
+            this.requiredKeys = requiredKeys;
+        }
+
+        private static MemberShape of(JsonShape shape) {
+            return new MemberShape(shape, JsonShape.ANY, List.of());
+        }
+
+        private Optional<JsonToken> getExpectedElement() {
+            return shape == JsonShape.ARRAY ? elementShape.getToken() : Optional.empty();
+        }
+    }
+
+    private final class MemberShapeResolver
+            implements TypeReference.Visitor<MemberShape>,
+                    ResolvedTypeReference.Visitor<MemberShape>,
+                    ContainerType.Visitor<MemberShape>,
+                    Type.Visitor<MemberShape> {
+
+        @Override
+        public MemberShape visitNamed(DeclaredTypeName declaredTypeName) {
+            return getDeclaration(declaredTypeName).getShape().visit(this);
+        }
+
+        @Override
+        public MemberShape visitNamed(ResolvedNamedType named) {
+            return visitNamed(named.getName());
+        }
+
+        @Override
+        public MemberShape visitPrimitive(PrimitiveType primitiveType) {
+            return MemberShape.of(primitiveType.visit(PrimitiveToJsonShape.INSTANCE));
+        }
+
+        @Override
+        public MemberShape visitContainer(ContainerType containerType) {
+            return containerType.visit(this);
+        }
+
+        @Override
+        public MemberShape visitUnknown() {
+            return MemberShape.of(JsonShape.ANY);
+        }
+
+        @Override
+        public MemberShape visitMap(MapType mapType) {
+            return MemberShape.of(JsonShape.OBJECT);
+        }
+
+        @Override
+        public MemberShape visitList(TypeReference typeReference) {
+            return new MemberShape(JsonShape.ARRAY, typeReference.visit(this).shape, List.of());
+        }
+
+        @Override
+        public MemberShape visitSet(TypeReference typeReference) {
+            return visitList(typeReference);
+        }
+
+        @Override
+        public MemberShape visitLiteral(Literal literal) {
+            return MemberShape.of(JsonShape.STRING);
+        }
+
+        @Override
+        public MemberShape visitOptional(TypeReference typeReference) {
+            return typeReference.visit(this);
+        }
+
+        @Override
+        public MemberShape visitAlias(AliasTypeDeclaration alias) {
+            return alias.getResolvedType().visit(this);
+        }
+
+        @Override
+        public MemberShape visitEnum(EnumTypeDeclaration enumTypeDeclaration) {
+            return MemberShape.of(JsonShape.STRING);
+        }
+
+        @Override
+        public MemberShape visitObject(ObjectTypeDeclaration object) {
+            List<String> requiredKeys = new ArrayList<>();
+            addRequiredKeys(object, requiredKeys);
+            return new MemberShape(JsonShape.OBJECT, JsonShape.ANY, requiredKeys);
+        }
+
+        @Override
+        public MemberShape visitUnion(UnionTypeDeclaration union) {
+            return new MemberShape(
+                    JsonShape.OBJECT,
+                    JsonShape.ANY,
+                    List.of(union.getDiscriminant().getWireValue()));
+        }
+
+        @Override
+        public MemberShape visitUndiscriminatedUnion(UndiscriminatedUnionTypeDeclaration undiscriminatedUnion) {
+            return MemberShape.of(JsonShape.ANY);
+        }
+
+        @Override
+        public MemberShape _visitUnknown(Object unknown) {
+            return MemberShape.of(JsonShape.ANY);
+        }
+
+        private void addRequiredKeys(ObjectTypeDeclaration object, List<String> requiredKeys) {
+            for (DeclaredTypeName extended : object.getExtends()) {
+                getDeclaration(extended)
+                        .getShape()
+                        .getObject()
+                        .ifPresent(extendedObject -> addRequiredKeys(extendedObject, requiredKeys));
+            }
+            for (ObjectProperty property : object.getProperties()) {
+                boolean isLiteral = property.getValueType()
+                        .getContainer()
+                        .flatMap(ContainerType::getLiteral)
+                        .isPresent();
+                TypeName typeName =
+                        generatorContext.getPoetTypeNameMapper().convertToTypeName(true, property.getValueType());
+                if (!isLiteral && BuilderGenerator.isRequired(typeName)) {
+                    requiredKeys.add(property.getName().getWireValue());
+                }
             }
         }
-        return false;
+
+        private TypeDeclaration getDeclaration(DeclaredTypeName declaredTypeName) {
+            return generatorContext.getTypeDeclarations().get(declaredTypeName.getTypeId());
+        }
+    }
+
+    private static final class PrimitiveToJsonShape implements PrimitiveType.Visitor<JsonShape> {
+
+        private static final PrimitiveToJsonShape INSTANCE = new PrimitiveToJsonShape();
+
+        @Override
+        public JsonShape visitInteger() {
+            return JsonShape.INTEGER;
+        }
+
+        @Override
+        public JsonShape visitDouble() {
+            return JsonShape.DOUBLE;
+        }
+
+        @Override
+        public JsonShape visitLong() {
+            return JsonShape.LONG;
+        }
+
+        @Override
+        public JsonShape visitDateTime() {
+            return JsonShape.STRING;
+        }
+
+        @Override
+        public JsonShape visitDate() {
+            return JsonShape.STRING;
+        }
+
+        @Override
+        public JsonShape visitUuid() {
+            return JsonShape.STRING;
+        }
+
+        @Override
+        public JsonShape visitBase64() {
+            return JsonShape.STRING;
+        }
+
+        @Override
+        public JsonShape visitString() {
+            return JsonShape.STRING;
+        }
+
+        @Override
+        public JsonShape visitBoolean() {
+            return JsonShape.BOOLEAN;
+        }
+
+        @Override
+        public JsonShape visitUnknown(String unknownType) {
+            return JsonShape.ANY;
+        }
     }
 }
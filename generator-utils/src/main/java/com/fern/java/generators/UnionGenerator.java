@@ -92,7 +92,8 @@ public final class UnionGenerator extends AbstractFileGenerator {
                     unionSubType,
                     fernConstants,
                     true,
-                    unionTypeDeclaration.getDiscriminant().getWireValue());
+                    unionTypeDeclaration.getDiscriminant().getWireValue(),
+                    generatorContext.getCustomConfig().generateJacksonSerializers());
         }
 
         @Override
@@ -263,6 +264,32 @@ public final class UnionGenerator extends AbstractFileGenerator {
             return valueFieldSpec.map(fieldSpec -> fieldSpec.name).orElse("value");
         }
 
+        @Override
+        public Optional<String> getValuePropertyWireValue() {
+            return singleUnionType.getShape().visit(new SingleUnionTypeProperties.Visitor<>() {
+
+                @Override
+                public Optional<String> visitSamePropertiesAsObject(DeclaredTypeName samePropertiesAsObject) {
+                    return Optional.empty();
+                }
+
+                @Override
+                public Optional<String> visitSingleProperty(SingleUnionTypeProperty singleProperty) {
+                    return Optional.of(singleProperty.getName().getWireValue());
+                }
+
+                @Override
+                public Optional<String> visitNoProperties() {
+                    return Optional.empty();
+                }
+
+                @Override
+                public Optional<String> _visitUnknown(Object unknown) {
+                    return Optional.empty();
+                }
+            });
+        }
+
         @Override
         public Optional<MethodSpec> getStaticFactory() {
             MethodSpec.Builder staticFactoryBuilder = MethodSpec.methodBuilder(getVisitorParameterName())
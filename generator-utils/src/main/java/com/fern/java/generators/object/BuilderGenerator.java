@@ -23,6 +23,7 @@ import com.fern.java.PoetTypeWithClassName;
 import com.fern.java.immutables.StagedBuilderImmutablesStyle;
 import com.fern.java.utils.JavaDocUtils;
 import com.squareup.javapoet.AnnotationSpec;
+import com.squareup.javapoet.ArrayTypeName;
 import com.squareup.javapoet.ClassName;
 import com.squareup.javapoet.FieldSpec;
 import com.squareup.javapoet.MethodSpec;
@@ -31,6 +32,7 @@ import com.squareup.javapoet.ParameterizedTypeName;
 import com.squareup.javapoet.TypeName;
 import com.squareup.javapoet.TypeSpec;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
@@ -162,6 +164,15 @@ public final class BuilderGenerator {
                         builderImplTypeSpec::addField,
                         builderImplTypeSpec::addMethod,
                         false);
+            } else if (isPrimitiveList(poetTypeName)) {
+                addArraySetters(
+                        (ArrayTypeName) poetTypeName,
+                        enrichedProperty,
+                        nestedBuilderClassName,
+                        _unused -> {},
+                        builderImplTypeSpec::addField,
+                        builderImplTypeSpec::addMethod,
+                        false);
             } else {
                 throw new RuntimeException("Encountered final stage property that is not a ParameterizedTypeName: "
                         + poetTypeName.getClass().getSimpleName());
@@ -309,6 +320,15 @@ public final class BuilderGenerator {
                         builderImpl::addReversedFields,
                         builderImpl::addReversedMethods,
                         true);
+            } else if (isPrimitiveList(poetTypeName)) {
+                addArraySetters(
+                        (ArrayTypeName) poetTypeName,
+                        enrichedProperty,
+                        finalStageClassName,
+                        finalStageBuilder::addMethod,
+                        builderImpl::addReversedFields,
+                        builderImpl::addReversedMethods,
+                        true);
             } else {
                 throw new RuntimeException("Encountered final stage property that is not a ParameterizedTypeName: "
                         + poetTypeName.toString());
@@ -482,6 +502,78 @@ public final class BuilderGenerator {
         }
     }
 
+    /**
+     * Primitive arrays are filled like lists: they default to an empty array, a {@code null} array is treated as empty,
+     * and items can be appended one at a time or in bulk.
+     */
+    private void addArraySetters(
+            ArrayTypeName propertyTypeName,
+            EnrichedObjectPropertyWithField enrichedObjectProperty,
+            ClassName finalStageClassName,
+            Consumer<MethodSpec> interfaceSetterConsumer,
+            Consumer<FieldSpec> implFieldConsumer,
+            Consumer<MethodSpec> implSetterConsumer,
+            boolean implsOverride) {
+        FieldSpec fieldSpec = enrichedObjectProperty.fieldSpec;
+
+        interfaceSetterConsumer.accept(getDefaultSetter(enrichedObjectProperty, finalStageClassName, false)
+                .addModifiers(Modifier.ABSTRACT)
+                .build());
+        interfaceSetterConsumer.accept(
+                createCollectionItemAppender(enrichedObjectProperty, propertyTypeName, finalStageClassName)
+                        .addModifiers(Modifier.ABSTRACT)
+                        .build());
+        interfaceSetterConsumer.accept(
+                createCollectionAddAllSetter(enrichedObjectProperty, propertyTypeName, finalStageClassName)
+                        .addModifiers(Modifier.ABSTRACT)
+                        .build());
+
+        implFieldConsumer.accept(FieldSpec.builder(fieldSpec.type, fieldSpec.name, Modifier.PRIVATE)
+                .initializer("new $T[0]", propertyTypeName.componentType)
+                .build());
+        implSetterConsumer.accept(getDefaultSetterForImpl(enrichedObjectProperty, finalStageClassName, implsOverride)
+                .addStatement(
+                        "this.$L = $L != null ? $L.clone() : new $T[0]",
+                        fieldSpec.name,
+                        fieldSpec.name,
+                        fieldSpec.name,
+                        propertyTypeName.componentType)
+                .addStatement("return this")
+                .build());
+        implSetterConsumer.accept(createCollectionItemAppender(
+                        enrichedObjectProperty, propertyTypeName, finalStageClassName, implsOverride)
+                .addStatement(
+                        "this.$L = $T.copyOf(this.$L, this.$L.length + 1)",
+                        fieldSpec.name,
+                        Arrays.class,
+                        fieldSpec.name,
+                        fieldSpec.name)
+                .addStatement("this.$L[this.$L.length - 1] = $L", fieldSpec.name, fieldSpec.name, fieldSpec.name)
+                .addStatement("return this")
+                .build());
+        implSetterConsumer.accept(createCollectionAddAllSetter(
+                        enrichedObjectProperty, propertyTypeName, finalStageClassName, implsOverride)
+                .beginControlFlow("if ($L != null)", fieldSpec.name)
+                .addStatement(
+                        "this.$L = $T.copyOf(this.$L, this.$L.length + $L.length)",
+                        fieldSpec.name,
+                        Arrays.class,
+                        fieldSpec.name,
+                        fieldSpec.name,
+                        fieldSpec.name)
+                .addStatement(
+                        "$T.arraycopy($L, 0, this.$L, this.$L.length - $L.length, $L.length)",
+                        System.class,
+                        fieldSpec.name,
+                        fieldSpec.name,
+                        fieldSpec.name,
+                        fieldSpec.name,
+                        fieldSpec.name)
+                .endControlFlow()
+                .addStatement("return this")
+                .build());
+    }
+
     private static MethodSpec.Builder createMapEntryAppender(
             EnrichedObjectPropertyWithField enrichedObjectProperty,
             ParameterizedTypeName mapTypeName,
@@ -542,18 +634,20 @@ public final class BuilderGenerator {
 
     private static MethodSpec.Builder createCollectionItemAppender(
             EnrichedObjectPropertyWithField enrichedObjectProperty,
-            ParameterizedTypeName collectionTypeName,
+            TypeName collectionTypeName,
             ClassName returnClass) {
         return createCollectionItemAppender(enrichedObjectProperty, collectionTypeName, returnClass, false);
     }
 
     private static MethodSpec.Builder createCollectionItemAppender(
             EnrichedObjectPropertyWithField enrichedObjectProperty,
-            ParameterizedTypeName collectionTypeName,
+            TypeName collectionTypeName,
             ClassName returnClass,
             boolean isOverridden) {
         String fieldName = enrichedObjectProperty.fieldSpec.name;
-        TypeName itemTypeName = getOnlyTypeArgumentOrThrow(collectionTypeName);
+        TypeName itemTypeName = collectionTypeName instanceof ArrayTypeName
+                ? ((ArrayTypeName) collectionTypeName).componentType
+                : getOnlyTypeArgumentOrThrow((ParameterizedTypeName) collectionTypeName);
         MethodSpec.Builder setter = defaultSetter(
                         StageBuilderConstants.APPEND_METHOD_PREFIX
                                 + enrichedObjectProperty.enrichedObjectProperty.pascalCaseKey(),
@@ -572,14 +666,14 @@ public final class BuilderGenerator {
 
     private static MethodSpec.Builder createCollectionAddAllSetter(
             EnrichedObjectPropertyWithField enrichedObjectProperty,
-            ParameterizedTypeName collectionTypeName,
+            TypeName collectionTypeName,
             ClassName returnClass) {
         return createCollectionAddAllSetter(enrichedObjectProperty, collectionTypeName, returnClass, false);
     }
 
     private static MethodSpec.Builder createCollectionAddAllSetter(
             EnrichedObjectPropertyWithField enrichedObjectProperty,
-            ParameterizedTypeName collectionTypeName,
+            TypeName collectionTypeName,
             ClassName returnClass,
             boolean isOverridden) {
         String fieldName = enrichedObjectProperty.fieldSpec.name;
@@ -670,7 +764,13 @@ public final class BuilderGenerator {
     }
 
     private boolean isRequired(EnrichedObjectPropertyWithField enrichedObjectProperty) {
-        TypeName poetTypeName = enrichedObjectProperty.enrichedObjectProperty.poetTypeName();
+        return isRequired(enrichedObjectProperty.enrichedObjectProperty.poetTypeName());
+    }
+
+    public static boolean isRequired(TypeName poetTypeName) {
+        if (isPrimitiveList(poetTypeName)) {
+            return false;
+        }
         if (poetTypeName instanceof ParameterizedTypeName) {
             ParameterizedTypeName poetParameterizedTypeName = (ParameterizedTypeName) poetTypeName;
             return !isEqual(poetParameterizedTypeName, ClassName.get(Optional.class))
@@ -681,8 +781,22 @@ public final class BuilderGenerator {
         return true;
     }
 
+    /**
+     * Numeric lists generated as primitive arrays (see {@code generate-primitive-arrays}). Other arrays, such as the
+     * {@code byte[]} of base64 properties, are plain values.
+     */
+    private static boolean isPrimitiveList(TypeName poetTypeName) {
+        if (!(poetTypeName instanceof ArrayTypeName)) {
+            return false;
+        }
+        TypeName componentType = ((ArrayTypeName) poetTypeName).componentType;
+        return componentType.equals(TypeName.INT)
+                || componentType.equals(TypeName.LONG)
+                || componentType.equals(TypeName.DOUBLE);
+    }
+
     @SuppressWarnings("checkstyle:ParameterName")
-    private boolean isEqual(ParameterizedTypeName a, ClassName b) {
+    private static boolean isEqual(ParameterizedTypeName a, ClassName b) {
         return a.rawType.compareTo(b) == 0;
     }
 
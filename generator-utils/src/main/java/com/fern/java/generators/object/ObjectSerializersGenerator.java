@@ -0,0 +1,345 @@
+/*
+ * (c) Copyright 2022 Birch Solutions Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fern.java.generators.object;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.databind.util.NameTransformer;
+import com.squareup.javapoet.AnnotationSpec;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+import java.io.IOException;
+import java.util.List;
+import javax.lang.model.element.Modifier;
+
+/**
+ * Generates a serializer and a deserializer nested in an object class, so that Jackson does not introspect the class
+ * and its builder. Property values are (de)serialized by the serializers Jackson resolves for their declared types,
+ * which are looked up once per mapper rather than per call.
+ *
+ * <p>The serializer writes properties like {@code @JsonInclude(NON_EMPTY)} would. The deserializer dispatches on the
+ * property name and sets the values on the object's builder, skipping {@code null} values of optional and container
+ * properties like {@code @JsonSetter(nulls = SKIP)} would.
+ */
+public final class ObjectSerializersGenerator {
+
+    private static final String SERIALIZER_CLASS_NAME = "Serializer";
+    private static final String DESERIALIZER_CLASS_NAME = "Deserializer";
+    private static final ClassName NAME_TRANSFORMER_CLASS_NAME = ClassName.get(NameTransformer.class);
+    private static final TypeName OBJECT_SERIALIZER_TYPE =
+            ParameterizedTypeName.get(ClassName.get(JsonSerializer.class), TypeName.OBJECT);
+    private static final TypeName OBJECT_DESERIALIZER_TYPE =
+            ParameterizedTypeName.get(ClassName.get(JsonDeserializer.class), TypeName.OBJECT);
+    private static final FieldSpec RESOLVED_FIELD = FieldSpec.builder(
+                    boolean.class, "resolved", Modifier.PRIVATE, Modifier.VOLATILE)
+            .build();
+
+    private final ClassName objectClassName;
+    private final ClassName builderImplClassName;
+    private final ClassName serializerClassName;
+    private final ClassName deserializerClassName;
+    private final List<EnrichedObjectProperty> properties;
+
+    public ObjectSerializersGenerator(
+            ClassName objectClassName, ClassName builderImplClassName, List<EnrichedObjectProperty> properties) {
+        this.objectClassName = objectClassName;
+        this.builderImplClassName = builderImplClassName;
+        this.serializerClassName = objectClassName.nestedClass(SERIALIZER_CLASS_NAME);
+        this.deserializerClassName = objectClassName.nestedClass(DESERIALIZER_CLASS_NAME);
+        this.properties = properties;
+    }
+
+    public List<AnnotationSpec> getAnnotations() {
+        return List.of(
+                AnnotationSpec.builder(JsonSerialize.class)
+                        .addMember("using", "$T.class", serializerClassName)
+                        .build(),
+                AnnotationSpec.builder(JsonDeserialize.class)
+                        .addMember("using", "$T.class", deserializerClassName)
+                        .build());
+    }
+
+    public List<TypeSpec> generate() {
+        return List.of(generateSerializer(), generateDeserializer());
+    }
+
+    private TypeSpec generateSerializer() {
+        TypeSpec.Builder serializer = TypeSpec.classBuilder(serializerClassName)
+                .addModifiers(Modifier.STATIC, Modifier.FINAL)
+                .superclass(ParameterizedTypeName.get(ClassName.get(StdSerializer.class), objectClassName))
+                .addMethod(MethodSpec.constructorBuilder()
+                        .addStatement("super($T.class)", objectClassName)
+                        .build());
+        MethodSpec.Builder resolve = getResolveMethodBuilder(SerializerProvider.class, "provider");
+        MethodSpec.Builder writeFields = MethodSpec.methodBuilder("writeFields")
+                .addModifiers(Modifier.PRIVATE)
+                .addParameter(objectClassName, "value")
+                .addParameter(JsonGenerator.class, "gen")
+                .addParameter(SerializerProvider.class, "provider")
+                .addParameter(NAME_TRANSFORMER_CLASS_NAME, "names")
+                .addException(IOException.class)
+                .addStatement("resolve(provider)");
+        for (EnrichedObjectProperty property : properties) {
+            String wireKey = getWireKey(property);
+            if (property.literalValue().isPresent()) {
+                writeFields.addStatement(
+                        "gen.writeStringField(names.transform($S), $S)",
+                        wireKey,
+                        property.literalValue().get());
+                continue;
+            }
+            FieldSpec field = property.fieldSpec().get();
+            TypeName type = property.poetTypeName();
+            if (type.equals(TypeName.OBJECT)) {
+                // The declared type does not determine a serializer, so the value's runtime type is used.
+                writeFields
+                        .beginControlFlow("if (value.$N != null)", field)
+                        .addStatement("gen.writeFieldName(names.transform($S))", wireKey)
+                        .addStatement("provider.defaultSerializeValue(value.$N, gen)", field)
+                        .endControlFlow();
+                continue;
+            }
+            FieldSpec serializerField = FieldSpec.builder(
+                            OBJECT_SERIALIZER_TYPE, property.camelCaseKey() + "Serializer", Modifier.PRIVATE)
+                    .build();
+            serializer.addField(serializerField);
+            resolve.addStatement(
+                    "this.$N = provider.findValueSerializer($L, null)", serializerField, getJavaType("provider", type));
+            if (type.isPrimitive()) {
+                writeFields.addStatement("gen.writeFieldName(names.transform($S))", wireKey);
+            } else {
+                writeFields
+                        .beginControlFlow(
+                                "if (value.$N != null && !this.$N.isEmpty(provider, value.$N))",
+                                field,
+                                serializerField,
+                                field)
+                        .addStatement("gen.writeFieldName(names.transform($S))", wireKey);
+            }
+            writeFields.addStatement("this.$N.serialize(value.$N, gen, provider)", serializerField, field);
+            if (!type.isPrimitive()) {
+                writeFields.endControlFlow();
+            }
+        }
+        TypeSpec unwrappingSerializer = TypeSpec.anonymousClassBuilder("$T.class", objectClassName)
+                .superclass(ParameterizedTypeName.get(ClassName.get(StdSerializer.class), objectClassName))
+                .addMethod(MethodSpec.methodBuilder("isUnwrappingSerializer")
+                        .addAnnotation(Override.class)
+                        .addModifiers(Modifier.PUBLIC)
+                        .returns(boolean.class)
+                        .addStatement("return true")
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("serialize")
+                        .addAnnotation(Override.class)
+                        .addModifiers(Modifier.PUBLIC)
+                        .addParameter(objectClassName, "value")
+                        .addParameter(JsonGenerator.class, "gen")
+                        .addParameter(SerializerProvider.class, "provider")
+                        .addException(IOException.class)
+                        .addStatement("writeFields(value, gen, provider, unwrapper)")
+                        .build())
+                .build();
+        return serializer
+                .addField(RESOLVED_FIELD)
+                .addMethod(
+                        resolve.addStatement("this.$N = true", RESOLVED_FIELD).build())
+                .addMethod(MethodSpec.methodBuilder("serialize")
+                        .addAnnotation(Override.class)
+                        .addModifiers(Modifier.PUBLIC)
+                        .addParameter(objectClassName, "value")
+                        .addParameter(JsonGenerator.class, "gen")
+                        .addParameter(SerializerProvider.class, "provider")
+                        .addException(IOException.class)
+                        .addStatement("gen.writeStartObject(value)")
+                        .addStatement("writeFields(value, gen, provider, $T.NOP)", NAME_TRANSFORMER_CLASS_NAME)
+                        .addStatement("gen.writeEndObject()")
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("unwrappingSerializer")
+                        .addJavadoc("Used for {@code @JsonUnwrapped} properties, e.g. by union types.")
+                        .addAnnotation(Override.class)
+                        .addModifiers(Modifier.PUBLIC)
+                        .addParameter(NAME_TRANSFORMER_CLASS_NAME, "unwrapper")
+                        .returns(ParameterizedTypeName.get(ClassName.get(JsonSerializer.class), objectClassName))
+                        .addStatement("return $L", unwrappingSerializer)
+                        .build())
+                .addMethod(writeFields.build())
+                .build();
+    }
+
+    private TypeSpec generateDeserializer() {
+        TypeSpec.Builder deserializer = TypeSpec.classBuilder(deserializerClassName)
+                .addModifiers(Modifier.STATIC, Modifier.FINAL)
+                .superclass(ParameterizedTypeName.get(ClassName.get(StdDeserializer.class), objectClassName))
+                .addMethod(MethodSpec.constructorBuilder()
+                        .addStatement("super($T.class)", objectClassName)
+                        .build());
+        MethodSpec.Builder resolve = getResolveMethodBuilder(DeserializationContext.class, "ctxt");
+        CodeBlock.Builder cases = CodeBlock.builder();
+        for (EnrichedObjectProperty property : properties) {
+            if (property.fieldSpec().isEmpty()) {
+                continue;
+            }
+            FieldSpec field = property.fieldSpec().get();
+            TypeName type = property.poetTypeName();
+            FieldSpec deserializerField = FieldSpec.builder(
+                            OBJECT_DESERIALIZER_TYPE, property.camelCaseKey() + "Deserializer", Modifier.PRIVATE)
+                    .build();
+            deserializer.addField(deserializerField);
+            resolve.addStatement(
+                    "this.$N = ctxt.findRootValueDeserializer($L)", deserializerField, getJavaType("ctxt", type));
+            cases.add("case $S:\n", getWireKey(property)).indent();
+            if (BuilderGenerator.isRequired(type)) {
+                cases.addStatement(
+                        "builder.$N(($T) (token == $T.VALUE_NULL ? this.$N.getNullValue(ctxt) : "
+                                + "this.$N.deserialize(parser, ctxt)))",
+                        field.name,
+                        type,
+                        JsonToken.class,
+                        deserializerField,
+                        deserializerField);
+            } else {
+                cases.beginControlFlow("if (token != $T.VALUE_NULL)", JsonToken.class)
+                        .addStatement(
+                                "builder.$N(($T) this.$N.deserialize(parser, ctxt))",
+                                field.name,
+                                type,
+                                deserializerField)
+                        .endControlFlow();
+            }
+            cases.addStatement("break").unindent();
+        }
+        cases.add("default:\n").indent().addStatement("parser.skipChildren()").unindent();
+        MethodSpec readFields = MethodSpec.methodBuilder("readFields")
+                .addAnnotation(AnnotationSpec.builder(SuppressWarnings.class)
+                        .addMember("value", "$S", "unchecked")
+                        .build())
+                .addModifiers(Modifier.PRIVATE)
+                .returns(objectClassName)
+                .addParameter(JsonParser.class, "parser")
+                .addParameter(DeserializationContext.class, "ctxt")
+                .addParameter(NAME_TRANSFORMER_CLASS_NAME, "names")
+                .addException(IOException.class)
+                .addStatement("resolve(ctxt)")
+                .addStatement("$T builder = new $T()", builderImplClassName, builderImplClassName)
+                .addStatement("$T token = parser.currentToken()", JsonToken.class)
+                .beginControlFlow("if (token == $T.START_OBJECT)", JsonToken.class)
+                .addStatement("token = parser.nextToken()")
+                .nextControlFlow(
+                        "else if (token != $T.FIELD_NAME && token != $T.END_OBJECT)", JsonToken.class, JsonToken.class)
+                .addStatement(
+                        "return ($T) ctxt.handleUnexpectedToken($T.class, parser)", objectClassName, objectClassName)
+                .endControlFlow()
+                .beginControlFlow("for (; token == $T.FIELD_NAME; token = parser.nextToken())", JsonToken.class)
+                .addStatement("$T name = names.reverse(parser.currentName())", String.class)
+                .addStatement("token = parser.nextToken()")
+                .beginControlFlow("if (name == null)")
+                .addStatement("parser.skipChildren()")
+                .addStatement("continue")
+                .endControlFlow()
+                .beginControlFlow("switch (name)")
+                .addCode(cases.build())
+                .endControlFlow()
+                .endControlFlow()
+                .addStatement("return builder.build()")
+                .build();
+        TypeSpec unwrappingDeserializer = TypeSpec.anonymousClassBuilder("$T.class", objectClassName)
+                .superclass(ParameterizedTypeName.get(ClassName.get(StdDeserializer.class), objectClassName))
+                .addMethod(MethodSpec.methodBuilder("deserialize")
+                        .addAnnotation(Override.class)
+                        .addModifiers(Modifier.PUBLIC)
+                        .returns(objectClassName)
+                        .addParameter(JsonParser.class, "parser")
+                        .addParameter(DeserializationContext.class, "ctxt")
+                        .addException(IOException.class)
+                        .addStatement("return readFields(parser, ctxt, unwrapper)")
+                        .build())
+                .build();
+        return deserializer
+                .addField(RESOLVED_FIELD)
+                .addMethod(
+                        resolve.addStatement("this.$N = true", RESOLVED_FIELD).build())
+                .addMethod(MethodSpec.methodBuilder("isCachable")
+                        .addAnnotation(Override.class)
+                        .addModifiers(Modifier.PUBLIC)
+                        .returns(boolean.class)
+                        .addStatement("return true")
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("deserialize")
+                        .addAnnotation(Override.class)
+                        .addModifiers(Modifier.PUBLIC)
+                        .returns(objectClassName)
+                        .addParameter(JsonParser.class, "parser")
+                        .addParameter(DeserializationContext.class, "ctxt")
+                        .addException(IOException.class)
+                        .addStatement("return readFields(parser, ctxt, $T.NOP)", NAME_TRANSFORMER_CLASS_NAME)
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("unwrappingDeserializer")
+                        .addJavadoc("Used for {@code @JsonUnwrapped} properties, e.g. by union types.")
+                        .addAnnotation(Override.class)
+                        .addModifiers(Modifier.PUBLIC)
+                        .addParameter(NAME_TRANSFORMER_CLASS_NAME, "unwrapper")
+                        .returns(ParameterizedTypeName.get(ClassName.get(JsonDeserializer.class), objectClassName))
+                        .addStatement("return $L", unwrappingDeserializer)
+                        .build())
+                .addMethod(readFields)
+                .build();
+    }
+
+    /**
+     * The (de)serializers of the properties are looked up on first use, because resolving them while Jackson creates
+     * the object's own would recurse endlessly for recursive types.
+     */
+    private static MethodSpec.Builder getResolveMethodBuilder(Class<?> contextClass, String contextName) {
+        return MethodSpec.methodBuilder("resolve")
+                .addModifiers(Modifier.PRIVATE)
+                .addParameter(contextClass, contextName)
+                .addException(JsonMappingException.class)
+                .beginControlFlow("if (this.$N)", RESOLVED_FIELD)
+                .addStatement("return")
+                .endControlFlow();
+    }
+
+    private static String getWireKey(EnrichedObjectProperty property) {
+        return property.wireKey().orElseGet(property::camelCaseKey);
+    }
+
+    /**
+     * Generic types are captured with a {@link TypeReference}, since their class literals lose the type arguments.
+     */
+    private static CodeBlock getJavaType(String context, TypeName type) {
+        if (type instanceof ParameterizedTypeName) {
+            return CodeBlock.of("$L.constructType(new $T<$T>() {}.getType())", context, TypeReference.class, type);
+        }
+        return CodeBlock.of("$L.constructType($T.class)", context, type);
+    }
+}
@@ -40,6 +40,7 @@ public final class ObjectTypeSpecGenerator {
     private final List<ImplementsInterface> interfaces;
     private final boolean isSerialized;
     private final boolean publicConstructorsEnabled;
+    private final boolean jacksonSerializersEnabled;
 
     public ObjectTypeSpecGenerator(
             ClassName objectClassName,
@@ -47,7 +48,8 @@ public final class ObjectTypeSpecGenerator {
             List<EnrichedObjectProperty> enrichedObjectProperties,
             List<ImplementsInterface> interfaces,
             boolean isSerialized,
-            boolean publicConstructorsEnabled) {
+            boolean publicConstructorsEnabled,
+            boolean jacksonSerializersEnabled) {
         this.objectClassName = objectClassName;
         this.generatedObjectMapperClassName = generatedObjectMapperClassName;
         this.interfaces = interfaces;
@@ -57,6 +59,7 @@ public final class ObjectTypeSpecGenerator {
         allEnrichedProperties.addAll(enrichedObjectProperties);
         this.isSerialized = isSerialized;
         this.publicConstructorsEnabled = publicConstructorsEnabled;
+        this.jacksonSerializersEnabled = jacksonSerializersEnabled;
     }
 
     public TypeSpec generate() {
@@ -89,9 +92,16 @@ public final class ObjectTypeSpecGenerator {
                 typeSpecBuilder.addAnnotation(AnnotationSpec.builder(JsonInclude.class)
                         .addMember("value", "$T.Include.NON_EMPTY", JsonInclude.class)
                         .build());
-                typeSpecBuilder.addAnnotation(AnnotationSpec.builder(JsonDeserialize.class)
-                        .addMember("builder", "$T.class", objectBuilder.getBuilderImplClassName())
-                        .build());
+                if (jacksonSerializersEnabled) {
+                    ObjectSerializersGenerator serializersGenerator = new ObjectSerializersGenerator(
+                            objectClassName, objectBuilder.getBuilderImplClassName(), allEnrichedProperties);
+                    typeSpecBuilder.addAnnotations(serializersGenerator.getAnnotations());
+                    typeSpecBuilder.addTypes(serializersGenerator.generate());
+                } else {
+                    typeSpecBuilder.addAnnotation(AnnotationSpec.builder(JsonDeserialize.class)
+                            .addMember("builder", "$T.class", objectBuilder.getBuilderImplClassName())
+                            .build());
+                }
             }
         }
         if (objectClassName.enclosingClassName() != null) {
@@ -0,0 +1,450 @@
+/*
+ * (c) Copyright 2022 Birch Solutions Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fern.java.generators.union;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.core.util.JsonParserSequence;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.databind.util.NameTransformer;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.squareup.javapoet.AnnotationSpec;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.Collectors;
+import javax.lang.model.element.Modifier;
+
+/**
+ * Generates a serializer and a deserializer nested in a union class. The deserializer looks for the discriminant and
+ * reads the variant's properties in the same pass. Properties that come before the discriminant are buffered, which is
+ * rarely needed since the discriminant is written first. The serializer writes the discriminant and the variant's
+ * properties directly.
+ *
+ * <p>Unknown variants are still (de)serialized through the annotations on the union's value interface.
+ */
+public final class UnionSerializersGenerator {
+
+    private static final String SERIALIZER_CLASS_NAME = "Serializer";
+    private static final String DESERIALIZER_CLASS_NAME = "Deserializer";
+    private static final TypeName OBJECT_SERIALIZER_TYPE =
+            ParameterizedTypeName.get(ClassName.get(JsonSerializer.class), TypeName.OBJECT);
+    private static final TypeName OBJECT_DESERIALIZER_TYPE =
+            ParameterizedTypeName.get(ClassName.get(JsonDeserializer.class), TypeName.OBJECT);
+    private static final FieldSpec RESOLVED_FIELD = FieldSpec.builder(
+                    boolean.class, "resolved", Modifier.PRIVATE, Modifier.VOLATILE)
+            .build();
+
+    private final ClassName unionClassName;
+    private final ClassName valueInterfaceClassName;
+    private final String unionValueFieldName;
+    private final String discriminantProperty;
+    private final List<? extends UnionSubType> subTypes;
+    private final ClassName serializerClassName;
+    private final ClassName deserializerClassName;
+
+    public UnionSerializersGenerator(
+            ClassName unionClassName,
+            ClassName valueInterfaceClassName,
+            String unionValueFieldName,
+            String discriminantProperty,
+            List<? extends UnionSubType> subTypes) {
+        this.unionClassName = unionClassName;
+        this.valueInterfaceClassName = valueInterfaceClassName;
+        this.unionValueFieldName = unionValueFieldName;
+        this.discriminantProperty = discriminantProperty;
+        this.subTypes = subTypes.stream()
+                .filter(subType -> subType.getDiscriminant().isPresent())
+                .collect(Collectors.toList());
+        this.serializerClassName = unionClassName.nestedClass(SERIALIZER_CLASS_NAME);
+        this.deserializerClassName = unionClassName.nestedClass(DESERIALIZER_CLASS_NAME);
+    }
+
+    public List<AnnotationSpec> getAnnotations() {
+        return List.of(
+                AnnotationSpec.builder(JsonSerialize.class)
+                        .addMember("using", "$T.class", serializerClassName)
+                        .build(),
+                AnnotationSpec.builder(JsonDeserialize.class)
+                        .addMember("using", "$T.class", deserializerClassName)
+                        .build());
+    }
+
+    public List<TypeSpec> generate() {
+        return List.of(generateSerializer(), generateDeserializer());
+    }
+
+    private TypeSpec generateSerializer() {
+        TypeSpec.Builder serializer = TypeSpec.classBuilder(serializerClassName)
+                .addModifiers(Modifier.STATIC, Modifier.FINAL)
+                .superclass(ParameterizedTypeName.get(ClassName.get(StdSerializer.class), unionClassName))
+                .addMethod(MethodSpec.constructorBuilder()
+                        .addStatement("super($T.class)", unionClassName)
+                        .build());
+        MethodSpec.Builder resolve = getResolveMethodBuilder(SerializerProvider.class, "provider");
+        MethodSpec.Builder serialize = MethodSpec.methodBuilder("serialize")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(unionClassName, "union")
+                .addParameter(JsonGenerator.class, "gen")
+                .addParameter(SerializerProvider.class, "provider")
+                .addException(IOException.class)
+                .addStatement("resolve(provider)")
+                .addStatement("$T value = union.$L", valueInterfaceClassName, unionValueFieldName);
+        boolean first = true;
+        for (UnionSubType subType : subTypes) {
+            ClassName wrapperClassName = subType.getUnionSubTypeWrapperClass();
+            if (first) {
+                serialize.beginControlFlow("if (value instanceof $T)", wrapperClassName);
+                first = false;
+            } else {
+                serialize.nextControlFlow("else if (value instanceof $T)", wrapperClassName);
+            }
+            serialize
+                    .addStatement("gen.writeStartObject(union)")
+                    .addStatement(
+                            "gen.writeStringField($S, $S)",
+                            discriminantProperty,
+                            subType.getDiscriminant().get().getWireValue());
+            if (subType.getUnionSubTypeTypeName().isPresent()) {
+                TypeName valueType = subType.getUnionSubTypeTypeName().get();
+                CodeBlock subTypeValue = CodeBlock.of("(($T) value).$L", wrapperClassName, subType.getValueFieldName());
+                String serializerFieldName = subType.getVisitorParameterName() + "Serializer";
+                if (valueType.equals(TypeName.OBJECT)) {
+                    // The declared type does not determine a serializer, so the value's runtime type is used.
+                    serialize.addStatement(
+                            "writeProperty(gen, provider, $S, $L, null)",
+                            subType.getValuePropertyWireValue().get(),
+                            subTypeValue);
+                } else if (subType.getValuePropertyWireValue().isPresent()) {
+                    serializer.addField(FieldSpec.builder(OBJECT_SERIALIZER_TYPE, serializerFieldName, Modifier.PRIVATE)
+                            .build());
+                    resolve.addStatement(
+                            "this.$L = provider.findValueSerializer($L, null)",
+                            serializerFieldName,
+                            getJavaType("provider", valueType));
+                    serialize.addStatement(
+                            "writeProperty(gen, provider, $S, $L, this.$L)",
+                            subType.getValuePropertyWireValue().get(),
+                            subTypeValue,
+                            serializerFieldName);
+                } else {
+                    serializer.addField(FieldSpec.builder(OBJECT_SERIALIZER_TYPE, serializerFieldName, Modifier.PRIVATE)
+                            .build());
+                    resolve.addStatement(
+                            "this.$L = provider.findValueSerializer($L, null).unwrappingSerializer($T.NOP)",
+                            serializerFieldName,
+                            getJavaType("provider", valueType),
+                            NameTransformer.class);
+                    serialize
+                            .beginControlFlow("if ($L != null)", subTypeValue)
+                            .addStatement("this.$L.serialize($L, gen, provider)", serializerFieldName, subTypeValue)
+                            .endControlFlow();
+                }
+            }
+            serialize.addStatement("gen.writeEndObject()");
+        }
+        if (first) {
+            serialize.addStatement("provider.defaultSerializeValue(value, gen)");
+        } else {
+            serialize.nextControlFlow("else").addStatement("provider.defaultSerializeValue(value, gen)");
+            serialize.endControlFlow();
+        }
+        return serializer
+                .addField(RESOLVED_FIELD)
+                .addMethod(
+                        resolve.addStatement("this.$N = true", RESOLVED_FIELD).build())
+                .addMethod(serialize.build())
+                .addMethod(MethodSpec.methodBuilder("writeProperty")
+                        .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                        .addParameter(JsonGenerator.class, "gen")
+                        .addParameter(SerializerProvider.class, "provider")
+                        .addParameter(String.class, "name")
+                        .addParameter(Object.class, "value")
+                        .addParameter(OBJECT_SERIALIZER_TYPE, "serializer")
+                        .addException(IOException.class)
+                        .addStatement("gen.writeFieldName(name)")
+                        .beginControlFlow("if (value == null)")
+                        .addStatement("provider.defaultSerializeNull(gen)")
+                        .nextControlFlow("else if (serializer == null)")
+                        .addStatement("provider.defaultSerializeValue(value, gen)")
+                        .nextControlFlow("else")
+                        .addStatement("serializer.serialize(value, gen, provider)")
+                        .endControlFlow()
+                        .build())
+                .build();
+    }
+
+    private TypeSpec generateDeserializer() {
+        TypeSpec.Builder deserializer = TypeSpec.classBuilder(deserializerClassName)
+                .addModifiers(Modifier.STATIC, Modifier.FINAL)
+                .superclass(ParameterizedTypeName.get(ClassName.get(StdDeserializer.class), unionClassName))
+                .addMethod(MethodSpec.constructorBuilder()
+                        .addStatement("super($T.class)", unionClassName)
+                        .build());
+        MethodSpec.Builder resolve = getResolveMethodBuilder(DeserializationContext.class, "ctxt");
+        CodeBlock.Builder cases = CodeBlock.builder();
+        for (UnionSubType subType : subTypes) {
+            ClassName wrapperClassName = subType.getUnionSubTypeWrapperClass();
+            cases.add("case $S:\n", subType.getDiscriminant().get().getWireValue())
+                    .indent();
+            if (subType.getUnionSubTypeTypeName().isEmpty()) {
+                cases.addStatement("skipProperties(remaining(buffer, parser))")
+                        .addStatement("return new $T(new $T())", unionClassName, wrapperClassName)
+                        .unindent();
+                continue;
+            }
+            TypeName valueType = subType.getUnionSubTypeTypeName().get();
+            String deserializerFieldName = subType.getVisitorParameterName() + "Deserializer";
+            deserializer.addField(FieldSpec.builder(OBJECT_DESERIALIZER_TYPE, deserializerFieldName, Modifier.PRIVATE)
+                    .build());
+            resolve.addStatement(
+                    "this.$L = ctxt.findRootValueDeserializer($L)",
+                    deserializerFieldName,
+                    getJavaType("ctxt", valueType));
+            if (subType.getValuePropertyWireValue().isPresent()) {
+                cases.addStatement(
+                        "return new $T(new $T(($T) readProperty(remaining(buffer, parser), ctxt, $S, this.$L)))",
+                        unionClassName,
+                        wrapperClassName,
+                        valueType,
+                        subType.getValuePropertyWireValue().get(),
+                        deserializerFieldName);
+            } else {
+                cases.addStatement(
+                        "return new $T(new $T(($T) readObject(remaining(buffer, parser), ctxt, this.$L)))",
+                        unionClassName,
+                        wrapperClassName,
+                        valueType,
+                        deserializerFieldName);
+            }
+            cases.unindent();
+        }
+        cases.add("default:\n")
+                .indent()
+                .addStatement("return new $T(readUnknown(type, buffer, parser, ctxt))", unionClassName)
+                .unindent();
+        MethodSpec deserialize = MethodSpec.methodBuilder("deserialize")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .returns(unionClassName)
+                .addParameter(JsonParser.class, "parser")
+                .addParameter(DeserializationContext.class, "ctxt")
+                .addException(IOException.class)
+                .addStatement("$T token = parser.currentToken()", JsonToken.class)
+                .beginControlFlow("if (token == $T.START_OBJECT)", JsonToken.class)
+                .addStatement("token = parser.nextToken()")
+                .nextControlFlow(
+                        "else if (token != $T.FIELD_NAME && token != $T.END_OBJECT)", JsonToken.class, JsonToken.class)
+                .addStatement(
+                        "return ($T) ctxt.handleUnexpectedToken($T.class, parser)", unionClassName, unionClassName)
+                .endControlFlow()
+                .addStatement("$T buffer = null", TokenBuffer.class)
+                .beginControlFlow("for (; token == $T.FIELD_NAME; token = parser.nextToken())", JsonToken.class)
+                .addStatement("$T name = parser.currentName()", String.class)
+                .addStatement("token = parser.nextToken()")
+                .beginControlFlow(
+                        "if (token == $T.VALUE_STRING && name.equals($S))", JsonToken.class, discriminantProperty)
+                .addStatement("return deserialize(parser.getText(), buffer, parser, ctxt)")
+                .endControlFlow()
+                .beginControlFlow("if (buffer == null)")
+                .addStatement("buffer = new $T(parser, ctxt)", TokenBuffer.class)
+                .addStatement("buffer.writeStartObject()")
+                .endControlFlow()
+                .addStatement("buffer.writeFieldName(name)")
+                .addStatement("buffer.copyCurrentStructure(parser)")
+                .endControlFlow()
+                .addStatement("return new $T(readUnknown(null, buffer, parser, ctxt))", unionClassName)
+                .build();
+        MethodSpec deserializeType = MethodSpec.methodBuilder("deserialize")
+                .addJavadoc("Reads the properties that follow the discriminant, and any that were buffered before it.")
+                .addAnnotation(AnnotationSpec.builder(SuppressWarnings.class)
+                        .addMember("value", "$S", "unchecked")
+                        .build())
+                .addModifiers(Modifier.PRIVATE)
+                .returns(unionClassName)
+                .addParameter(String.class, "type")
+                .addParameter(TokenBuffer.class, "buffer")
+                .addParameter(JsonParser.class, "parser")
+                .addParameter(DeserializationContext.class, "ctxt")
+                .addException(IOException.class)
+                .addStatement("resolve(ctxt)")
+                .beginControlFlow("switch (type)")
+                .addCode(cases.build())
+                .endControlFlow()
+                .build();
+        return deserializer
+                .addField(RESOLVED_FIELD)
+                .addMethod(
+                        resolve.addStatement("this.$N = true", RESOLVED_FIELD).build())
+                .addMethod(MethodSpec.methodBuilder("isCachable")
+                        .addAnnotation(Override.class)
+                        .addModifiers(Modifier.PUBLIC)
+                        .returns(boolean.class)
+                        .addStatement("return true")
+                        .build())
+                .addMethod(deserialize)
+                .addMethod(deserializeType)
+                .addMethod(generateReadUnknown())
+                .addMethod(generateRemaining())
+                .addMethod(generateReadObject())
+                .addMethod(generateReadProperty())
+                .addMethod(generateSkipProperties())
+                .build();
+    }
+
+    private MethodSpec generateReadUnknown() {
+        return MethodSpec.methodBuilder("readUnknown")
+                .addJavadoc(
+                        "Replays the whole object through the type information of {@link $T}.", valueInterfaceClassName)
+                .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                .returns(valueInterfaceClassName)
+                .addParameter(String.class, "type")
+                .addParameter(TokenBuffer.class, "buffer")
+                .addParameter(JsonParser.class, "parser")
+                .addParameter(DeserializationContext.class, "ctxt")
+                .addException(IOException.class)
+                .beginControlFlow("if (buffer == null)")
+                .addStatement("buffer = new $T(parser, ctxt)", TokenBuffer.class)
+                .addStatement("buffer.writeStartObject()")
+                .endControlFlow()
+                .addStatement("$T object", JsonParser.class)
+                .beginControlFlow("if (type != null)")
+                .addStatement("buffer.writeStringField($S, type)", discriminantProperty)
+                .addStatement(
+                        "object = $T.createFlattened(false, buffer.asParser(parser), parser)", JsonParserSequence.class)
+                .nextControlFlow("else")
+                .addStatement("buffer.writeEndObject()")
+                .addStatement("object = buffer.asParser(parser)")
+                .endControlFlow()
+                .addStatement("object.nextToken()")
+                .addStatement("return ctxt.readValue(object, $T.class)", valueInterfaceClassName)
+                .build();
+    }
+
+    /**
+     * The (de)serializers of the variants are looked up on first use, because resolving them while Jackson creates
+     * the union's own would recurse endlessly for recursive types.
+     */
+    private static MethodSpec.Builder getResolveMethodBuilder(Class<?> contextClass, String contextName) {
+        return MethodSpec.methodBuilder("resolve")
+                .addModifiers(Modifier.PRIVATE)
+                .addParameter(contextClass, contextName)
+                .addException(JsonMappingException.class)
+                .beginControlFlow("if (this.$N)", RESOLVED_FIELD)
+                .addStatement("return")
+                .endControlFlow();
+    }
+
+    private static MethodSpec generateRemaining() {
+        return MethodSpec.methodBuilder("remaining")
+                .addJavadoc("Returns a parser over the buffered properties followed by the rest of the object.")
+                .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                .returns(JsonParser.class)
+                .addParameter(TokenBuffer.class, "buffer")
+                .addParameter(JsonParser.class, "parser")
+                .addException(IOException.class)
+                .beginControlFlow("if (buffer == null)")
+                .addStatement("return parser")
+                .endControlFlow()
+                .addStatement("$T buffered = buffer.asParser(parser)", JsonParser.class)
+                .addStatement("buffered.nextToken()")
+                .addStatement("return $T.createFlattened(false, buffered, parser)", JsonParserSequence.class)
+                .build();
+    }
+
+    private static MethodSpec generateReadObject() {
+        return MethodSpec.methodBuilder("readObject")
+                .addJavadoc("Reads the remaining properties as the properties of an object.")
+                .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                .returns(Object.class)
+                .addParameter(JsonParser.class, "parser")
+                .addParameter(DeserializationContext.class, "ctxt")
+                .addParameter(OBJECT_DESERIALIZER_TYPE, "deserializer")
+                .addException(IOException.class)
+                .addStatement("parser.nextToken()")
+                .addStatement("return deserializer.deserialize(parser, ctxt)")
+                .build();
+    }
+
+    private static MethodSpec generateReadProperty() {
+        return MethodSpec.methodBuilder("readProperty")
+                .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                .returns(Object.class)
+                .addParameter(JsonParser.class, "parser")
+                .addParameter(DeserializationContext.class, "ctxt")
+                .addParameter(String.class, "key")
+                .addParameter(OBJECT_DESERIALIZER_TYPE, "deserializer")
+                .addException(IOException.class)
+                .addStatement("$T value = null", Object.class)
+                .beginControlFlow(
+                        "for ($T token = parser.nextToken(); token == $T.FIELD_NAME; token = parser.nextToken())",
+                        JsonToken.class,
+                        JsonToken.class)
+                .addStatement("$T name = parser.currentName()", String.class)
+                .addStatement("token = parser.nextToken()")
+                .beginControlFlow("if (token != $T.VALUE_NULL && name.equals(key))", JsonToken.class)
+                .addStatement("value = deserializer.deserialize(parser, ctxt)")
+                .nextControlFlow("else")
+                .addStatement("parser.skipChildren()")
+                .endControlFlow()
+                .endControlFlow()
+                .addStatement("return value != null ? value : deserializer.getNullValue(ctxt)")
+                .build();
+    }
+
+    private static MethodSpec generateSkipProperties() {
+        return MethodSpec.methodBuilder("skipProperties")
+                .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                .addParameter(JsonParser.class, "parser")
+                .addException(IOException.class)
+                .beginControlFlow(
+                        "for ($T token = parser.nextToken(); token == $T.FIELD_NAME; token = parser.nextToken())",
+                        JsonToken.class,
+                        JsonToken.class)
+                .addStatement("parser.nextToken()")
+                .addStatement("parser.skipChildren()")
+                .endControlFlow()
+                .build();
+    }
+
+    /**
+     * Generic types are captured with a {@link TypeReference}, since their class literals lose the type arguments.
+     */
+    private static CodeBlock getJavaType(String context, TypeName type) {
+        if (type instanceof ParameterizedTypeName) {
+            return CodeBlock.of("$L.constructType(new $T<$T>() {}.getType())", context, TypeReference.class, type);
+        }
+        return CodeBlock.of("$L.constructType($T.class)", context, type);
+    }
+}
@@ -69,6 +69,14 @@ public abstract class UnionSubType {
 
     public abstract Optional<MethodSpec> getStaticFactory();
 
+    /**
+     * The key the value is written under, or empty if the value's properties are written next to the discriminant.
+     */
+    @SuppressWarnings("checkstyle:DesignForExtension")
+    public Optional<String> getValuePropertyWireValue() {
+        return Optional.empty();
+    }
+
     public abstract String getVisitMethodName();
 
     public abstract String getIsMethodName();
@@ -50,6 +50,7 @@ public abstract class UnionTypeSpecGenerator {
     private final ParameterizedTypeName visitorInterfaceClassName;
     private final boolean deserializable;
     private final String discriminantProperty;
+    private final boolean jacksonSerializersEnabled;
 
     public UnionTypeSpecGenerator(
             ClassName unionClassName,
@@ -57,7 +58,8 @@ public abstract class UnionTypeSpecGenerator {
             UnionSubType unknownSubType,
             Constants fernConstants,
             boolean deserializable,
-            String discriminantProperty) {
+            String discriminantProperty,
+            boolean jacksonSerializersEnabled) {
         this.unionClassName = unionClassName;
         this.subTypes = subTypes;
         this.unknownSubType = unknownSubType;
@@ -67,6 +69,7 @@ public abstract class UnionTypeSpecGenerator {
                 ParameterizedTypeName.get(unionClassName.nestedClass(VISITOR_CLASS_NAME), VISITOR_RETURN_TYPE);
         this.deserializable = deserializable;
         this.discriminantProperty = discriminantProperty;
+        this.jacksonSerializersEnabled = jacksonSerializersEnabled;
     }
 
     public abstract List<FieldSpec> getAdditionalFieldSpecs();
@@ -108,6 +111,13 @@ public abstract class UnionTypeSpecGenerator {
                         .map(unionSubType -> unionSubType.getUnionSubTypeWrapper(valueInterfaceClassName))
                         .collect(Collectors.toList()))
                 .addType(unknownSubType.getUnionSubTypeWrapper(valueInterfaceClassName));
+        if (deserializable && jacksonSerializersEnabled) {
+            UnionSerializersGenerator serializersGenerator = new UnionSerializersGenerator(
+                    unionClassName, valueInterfaceClassName, getValueFieldName(), discriminantProperty, subTypes);
+            errorUnionBuilder
+                    .addAnnotations(serializersGenerator.getAnnotations())
+                    .addTypes(serializersGenerator.generate());
+        }
         return build(errorUnionBuilder);
     }
 
@@ -0,0 +1,120 @@
+/*
+ * (c) Copyright 2023 Birch Solutions Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fern.java.generators;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class DateTimeDeserializerTest {
+
+    private static ObjectMapper objectMapper;
+
+    @BeforeAll
+    public static void compileDateTimeDeserializer(@TempDir Path tempDir) throws Exception {
+        Path source = tempDir.resolve("DateTimeDeserializer.java");
+        try (InputStream is = DateTimeDeserializerTest.class.getResourceAsStream("/DateTimeDeserializer.java")) {
+            Files.write(source, is.readAllBytes());
+        }
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        int result = compiler.run(
+                null,
+                null,
+                null,
+                "-classpath",
+                System.getProperty("java.class.path"),
+                "-d",
+                tempDir.toString(),
+                source.toString());
+        assertThat(result).as("DateTimeDeserializer compiles").isZero();
+        ClassLoader classLoader = new URLClassLoader(
+                new URL[] {tempDir.toUri().toURL()}, DateTimeDeserializerTest.class.getClassLoader());
+        Method getModule = classLoader.loadClass("DateTimeDeserializer").getDeclaredMethod("getModule");
+        getModule.setAccessible(true);
+        objectMapper = new ObjectMapper()
+                .registerModule((Module) getModule.invoke(null))
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    @Test
+    public void test_rfc3339Layouts() throws Exception {
+        assertThat(read("2023-01-02T03:04:05Z")).isEqualTo(OffsetDateTime.of(2023, 1, 2, 3, 4, 5, 0, ZoneOffset.UTC));
+        assertThat(read("2023-01-02t03:04:05.123z"))
+                .isEqualTo(OffsetDateTime.of(2023, 1, 2, 3, 4, 5, 123_000_000, ZoneOffset.UTC));
+        assertThat(read("2023-01-02T03:04:05.123456789-05:30"))
+                .isEqualTo(OffsetDateTime.of(2023, 1, 2, 3, 4, 5, 123_456_789, ZoneOffset.ofHoursMinutes(-5, -30)));
+        assertThat(read("2023-01-02T03:04+01:00"))
+                .isEqualTo(OffsetDateTime.of(2023, 1, 2, 3, 4, 0, 0, ZoneOffset.ofHours(1)));
+    }
+
+    @Test
+    public void test_missingOffsetIsUtc() throws Exception {
+        assertThat(read("2023-01-02T03:04:05")).isEqualTo(OffsetDateTime.of(2023, 1, 2, 3, 4, 5, 0, ZoneOffset.UTC));
+    }
+
+    @Test
+    public void test_otherLayoutsUseTheFormatter() throws Exception {
+        assertThat(read("2023-01-02T03:04:05+01:00:30"))
+                .isEqualTo(OffsetDateTime.of(2023, 1, 2, 3, 4, 5, 0, ZoneOffset.ofHoursMinutesSeconds(1, 0, 30)));
+        assertThat(objectMapper.readValue("1672628645", OffsetDateTime.class))
+                .isEqualTo(OffsetDateTime.of(2023, 1, 2, 3, 4, 5, 0, ZoneOffset.UTC));
+    }
+
+    @Test
+    public void test_invalidFieldsAreRejected() {
+        assertThatThrownBy(() -> read("2023-13-02T03:04:05Z")).isInstanceOf(DateTimeParseException.class);
+        assertThatThrownBy(() -> read("2023-01-02T24:04:05Z")).isInstanceOf(DateTimeParseException.class);
+        assertThatThrownBy(() -> read("2023-01-02T03:04:05+01")).isInstanceOf(DateTimeParseException.class);
+    }
+
+    @Test
+    public void test_writesAsIsoOffsetDateTime() throws Exception {
+        for (OffsetDateTime value : new OffsetDateTime[] {
+            OffsetDateTime.of(2023, 1, 2, 3, 4, 0, 0, ZoneOffset.UTC),
+            OffsetDateTime.of(2023, 1, 2, 3, 4, 5, 120_000_000, ZoneOffset.ofHoursMinutes(5, 30)),
+            OffsetDateTime.of(2023, 1, 2, 3, 4, 5, 1, ZoneOffset.ofHoursMinutesSeconds(-1, 0, -30)),
+            OffsetDateTime.of(12023, 1, 2, 3, 4, 5, 0, ZoneOffset.UTC)
+        }) {
+            String json = objectMapper.writeValueAsString(value);
+            assertThat(json).isEqualTo("\"" + DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(value) + "\"");
+            assertThat(objectMapper.readValue(json, OffsetDateTime.class)).isEqualTo(value);
+        }
+    }
+
+    private static OffsetDateTime read(String value) throws JsonProcessingException {
+        return objectMapper.readValue("\"" + value + "\"", OffsetDateTime.class);
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * (c) Copyright 2023 Birch Solutions Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fern.java.generators;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fern.java.generators.UndiscriminatedUnionGenerator.JsonShape;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class UndiscriminatedUnionGeneratorTest {
+
+    private static final List<JsonShape> MEMBER_SHAPES =
+            List.of(JsonShape.STRING, JsonShape.DOUBLE, JsonShape.INTEGER, JsonShape.LONG, JsonShape.ANY);
+
+    @Test
+    public void test_stringsOnlySelectStringMembers() {
+        assertThat(UndiscriminatedUnionGenerator.getCandidates(MEMBER_SHAPES, JsonShape.STRING))
+                .containsExactly(0, 4);
+    }
+
+    @Test
+    public void test_integersPreferIntegralMembers() {
+        assertThat(UndiscriminatedUnionGenerator.getCandidates(
+                        MEMBER_SHAPES, JsonShape.INTEGER, JsonShape.LONG, JsonShape.DOUBLE))
+                .containsExactly(2, 3, 4, 1);
+    }
+
+    @Test
+    public void test_floatsOnlySelectDoubleMembers() {
+        assertThat(UndiscriminatedUnionGenerator.getCandidates(MEMBER_SHAPES, JsonShape.DOUBLE))
+                .containsExactly(1, 4);
+    }
+
+    @Test
+    public void test_unmatchedShapesOnlySelectAnyMembers() {
+        assertThat(UndiscriminatedUnionGenerator.getCandidates(MEMBER_SHAPES, JsonShape.BOOLEAN))
+                .containsExactly(4);
+        assertThat(UndiscriminatedUnionGenerator.getCandidates(
+                        List.of(JsonShape.STRING, JsonShape.OBJECT), JsonShape.ARRAY))
+                .isEmpty();
+    }
+
+    @Test
+    public void test_ambiguousMembersKeepDeclarationOrder() {
+        assertThat(UndiscriminatedUnionGenerator.getCandidates(
+                        List.of(JsonShape.ARRAY, JsonShape.OBJECT, JsonShape.ARRAY), JsonShape.ARRAY))
+                .containsExactly(0, 2);
+    }
+}
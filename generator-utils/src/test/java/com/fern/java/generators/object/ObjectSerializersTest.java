@@ -0,0 +1,280 @@
+/*
+ * (c) Copyright 2023 Birch Solutions Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fern.java.generators.object;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.databind.util.NameTransformer;
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ObjectSerializersTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = JsonMapper.builder()
+            .addModule(new Jdk8Module())
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+    private static final String ROOT = "{\"name\":\"root\",\"size\":1,\"nickname\":\"r\",\"tags\":[\"a\",\"b\"],"
+            + "\"kind\":\"node\",\"metadata\":true,"
+            + "\"children\":[{\"name\":\"child\",\"size\":2,\"kind\":\"node\",\"metadata\":\"c\"}],"
+            + "\"next\":{\"name\":\"next\",\"size\":3,\"kind\":\"node\",\"metadata\":{\"key\":[1,\"value\",null]}}}";
+
+    /** The same object, generated with and without its own serializers. */
+    private static Class<?> serialized;
+
+    private static Class<?> reflective;
+
+    @BeforeAll
+    public static void compileNodes(@TempDir Path tempDir) throws Exception {
+        ClassName serializedClassName = ClassName.get("com.fern.test.serialized", "Node");
+        ClassName reflectiveClassName = ClassName.get("com.fern.test.reflective", "Node");
+        ClassLoader classLoader =
+                compile(tempDir, generate(serializedClassName, true), generate(reflectiveClassName, false));
+        serialized = classLoader.loadClass(serializedClassName.reflectionName());
+        reflective = classLoader.loadClass(reflectiveClassName.reflectionName());
+        assertThat(serialized.getAnnotation(JsonSerialize.class)).isNotNull();
+        assertThat(reflective.getAnnotation(JsonSerialize.class)).isNull();
+    }
+
+    @Test
+    public void test_recursiveObjectsRoundTrip() throws Exception {
+        Object root = OBJECT_MAPPER.readValue(ROOT, serialized);
+        assertThat(OBJECT_MAPPER.readTree(OBJECT_MAPPER.writeValueAsString(root)))
+                .isEqualTo(OBJECT_MAPPER.readTree(ROOT));
+        assertThat(OBJECT_MAPPER.readValue(OBJECT_MAPPER.writeValueAsString(root), serialized))
+                .isEqualTo(root)
+                .hasSameHashCodeAs(root);
+        assertSameAsReflective(ROOT);
+    }
+
+    @Test
+    public void test_emptyPropertiesAreSkipped() throws Exception {
+        String json = "{\"name\":\"\",\"size\":0,\"nickname\":null,\"tags\":[],\"children\":[],\"metadata\":null}";
+        assertThat(write(OBJECT_MAPPER.readValue(json, serialized)))
+                .isEqualTo(OBJECT_MAPPER.readTree("{\"size\":0,\"kind\":\"node\"}"));
+        assertSameAsReflective(json);
+    }
+
+    @Test
+    public void test_nullRequiredProperties() throws Exception {
+        Object node = OBJECT_MAPPER.readValue("{\"name\":null,\"size\":null}", serialized);
+        assertThat(serialized.getMethod("getName").invoke(node)).isNull();
+        assertThat(serialized.getMethod("getSize").invoke(node)).isEqualTo(0);
+        assertSameAsReflective("{\"name\":null,\"size\":1}");
+        assertSameAsReflective("{\"name\":\"a\",\"size\":null}");
+        assertSameAsReflective("{\"size\":1}");
+    }
+
+    @Test
+    public void test_unknownPropertiesAreIgnored() throws Exception {
+        String json = "{\"name\":\"a\",\"extra\":{\"nested\":[1,{\"name\":\"b\"}]},\"size\":1,\"more\":[]}";
+        assertThat(write(OBJECT_MAPPER.readValue(json, serialized)))
+                .isEqualTo(OBJECT_MAPPER.readTree("{\"name\":\"a\",\"size\":1,\"kind\":\"node\"}"));
+        assertSameAsReflective(json);
+    }
+
+    @Test
+    public void test_literalPropertiesAreAlwaysWritten() throws Exception {
+        Object node = OBJECT_MAPPER.readValue("{\"name\":\"a\",\"size\":1,\"kind\":\"other\"}", serialized);
+        assertThat(serialized.getMethod("getKind").invoke(node)).isEqualTo("node");
+        assertThat(write(node).get("kind").asText()).isEqualTo("node");
+        assertSameAsReflective("{\"name\":\"a\",\"size\":1,\"kind\":\"other\"}");
+    }
+
+    @Test
+    public void test_unwrappingSerializersReadAndWriteNextToOtherProperties() throws Exception {
+        // Unions write the discriminant and then the properties of an object variant, without a nested object.
+        ObjectMapper objectMapper = OBJECT_MAPPER
+                .copy()
+                .registerModule(new SimpleModule()
+                        .addSerializer(Tagged.class, new TaggedSerializer())
+                        .addDeserializer(Tagged.class, new TaggedDeserializer()));
+        Tagged tagged = new Tagged(OBJECT_MAPPER.readValue(ROOT, serialized));
+        String json = objectMapper.writeValueAsString(tagged);
+        ObjectNode expected = (ObjectNode) OBJECT_MAPPER.readTree(ROOT);
+        assertThat(OBJECT_MAPPER.readTree(json))
+                .isEqualTo(OBJECT_MAPPER.createObjectNode().put("type", "node").setAll(expected));
+        assertThat(objectMapper.readValue(json, Tagged.class).value).isEqualTo(tagged.value);
+        assertThat(write(objectMapper.readValue("{\"type\":\"node\",\"name\":\"a\",\"size\":1}", Tagged.class).value))
+                .isEqualTo(OBJECT_MAPPER.readTree("{\"name\":\"a\",\"size\":1,\"kind\":\"node\"}"));
+    }
+
+    /** Checks that the generated serializers read and write the JSON like Jackson does through reflection. */
+    private static void assertSameAsReflective(String json) throws Exception {
+        Object expected;
+        try {
+            expected = write(OBJECT_MAPPER.readValue(json, reflective));
+        } catch (Exception e) {
+            assertThatThrownBy(() -> OBJECT_MAPPER.readValue(json, serialized)).isInstanceOf(e.getClass());
+            return;
+        }
+        assertThat(write(OBJECT_MAPPER.readValue(json, serialized))).isEqualTo(expected);
+    }
+
+    private static JsonNode write(Object value) throws Exception {
+        return OBJECT_MAPPER.readTree(OBJECT_MAPPER.writeValueAsString(value));
+    }
+
+    /** A node written next to a discriminant, like a variant of a union. */
+    private static final class Tagged {
+        private final Object value;
+
+        private Tagged(Object value) {
+            this.value = value;
+        }
+    }
+
+    private static final class TaggedSerializer extends StdSerializer<Tagged> {
+
+        private TaggedSerializer() {
+            super(Tagged.class);
+        }
+
+        @Override
+        public void serialize(Tagged tagged, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject();
+            gen.writeStringField("type", "node");
+            provider.findValueSerializer(serialized, null)
+                    .unwrappingSerializer(NameTransformer.NOP)
+                    .serialize(tagged.value, gen, provider);
+            gen.writeEndObject();
+        }
+    }
+
+    private static final class TaggedDeserializer extends StdDeserializer<Tagged> {
+
+        private TaggedDeserializer() {
+            super(Tagged.class);
+        }
+
+        @Override
+        public Tagged deserialize(JsonParser parser, DeserializationContext ctxt) throws IOException {
+            assertThat(parser.nextFieldName()).isEqualTo("type");
+            assertThat(parser.nextTextValue()).isEqualTo("node");
+            parser.nextToken();
+            return new Tagged(ctxt.findRootValueDeserializer(ctxt.constructType(serialized))
+                    .unwrappingDeserializer(NameTransformer.NOP)
+                    .deserialize(parser, ctxt));
+        }
+    }
+
+    private static JavaFile generate(ClassName className, boolean jacksonSerializersEnabled) {
+        TypeName listOfNodes = ParameterizedTypeName.get(ClassName.get(List.class), className);
+        return JavaFile.builder(
+                        className.packageName(),
+                        new ObjectTypeSpecGenerator(
+                                        className,
+                                        ClassName.get(className.packageName(), "ObjectMappers"),
+                                        List.of(
+                                                property("name", "Name", ClassName.get(String.class)),
+                                                property("size", "Size", TypeName.INT),
+                                                property(
+                                                        "nickname",
+                                                        "Nickname",
+                                                        ParameterizedTypeName.get(Optional.class, String.class)),
+                                                property(
+                                                        "tags",
+                                                        "Tags",
+                                                        ParameterizedTypeName.get(List.class, String.class)),
+                                                EnrichedObjectProperty.builder()
+                                                        .camelCaseKey("kind")
+                                                        .pascalCaseKey("Kind")
+                                                        .poetTypeName(ClassName.get(String.class))
+                                                        .fromInterface(false)
+                                                        .wireKey("kind")
+                                                        .literalValue("node")
+                                                        .build(),
+                                                property("children", "Children", listOfNodes),
+                                                property(
+                                                        "next",
+                                                        "Next",
+                                                        ParameterizedTypeName.get(
+                                                                ClassName.get(Optional.class), className)),
+                                                property("metadata", "Metadata", TypeName.OBJECT)),
+                                        List.of(),
+                                        true,
+                                        false,
+                                        jacksonSerializersEnabled)
+                                .generate())
+                .build();
+    }
+
+    private static EnrichedObjectProperty property(String camelCaseKey, String pascalCaseKey, TypeName typeName) {
+        return EnrichedObjectProperty.builder()
+                .camelCaseKey(camelCaseKey)
+                .pascalCaseKey(pascalCaseKey)
+                .poetTypeName(typeName)
+                .fromInterface(false)
+                .wireKey(camelCaseKey)
+                .build();
+    }
+
+    private static ClassLoader compile(Path directory, JavaFile... javaFiles) throws Exception {
+        List<String> arguments = new ArrayList<>(
+                List.of("-classpath", System.getProperty("java.class.path"), "-d", directory.toString()));
+        for (JavaFile javaFile : javaFiles) {
+            javaFile.writeTo(directory);
+            Path packageDirectory = directory.resolve(javaFile.packageName.replace('.', '/'));
+            Path objectMappers = packageDirectory.resolve("ObjectMappers.java");
+            Files.writeString(
+                    objectMappers,
+                    "package " + javaFile.packageName + ";\n\n"
+                            + "public final class ObjectMappers {\n"
+                            + "    public static String stringify(Object o) {\n"
+                            + "        return String.valueOf(o);\n"
+                            + "    }\n"
+                            + "}\n");
+            arguments.add(
+                    packageDirectory.resolve(javaFile.typeSpec.name + ".java").toString());
+            arguments.add(objectMappers.toString());
+        }
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        int result = compiler.run(null, null, null, arguments.toArray(new String[0]));
+        assertThat(result).as("generated code compiles").isZero();
+        return new URLClassLoader(new URL[] {directory.toUri().toURL()}, ObjectSerializersTest.class.getClassLoader());
+    }
+}
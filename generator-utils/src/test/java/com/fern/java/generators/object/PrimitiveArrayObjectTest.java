@@ -0,0 +1,173 @@
+/*
+ * (c) Copyright 2023 Birch Solutions Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fern.java.generators.object;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fern.ir.model.types.ContainerType;
+import com.fern.ir.model.types.PrimitiveType;
+import com.fern.ir.model.types.TypeReference;
+import com.fern.java.AbstractModelPoetClassNameFactory;
+import com.fern.java.ICustomConfig;
+import com.fern.java.PoetTypeNameMapper;
+import com.squareup.javapoet.ArrayTypeName;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class PrimitiveArrayObjectTest {
+
+    private static final ClassName OBJECT_CLASS_NAME = ClassName.get("com.fern.test", "Samples");
+    private static final ClassName OBJECT_MAPPERS_CLASS_NAME = ClassName.get("com.fern.test", "ObjectMappers");
+
+    @Test
+    public void test_numericListsMapToPrimitiveArrays() {
+        TypeReference intList =
+                TypeReference.container(ContainerType.list(TypeReference.primitive(PrimitiveType.INTEGER)));
+        TypeReference stringList =
+                TypeReference.container(ContainerType.list(TypeReference.primitive(PrimitiveType.STRING)));
+
+        PoetTypeNameMapper enabled = getPoetTypeNameMapper(true);
+        assertThat(enabled.convertToTypeName(true, intList)).isEqualTo(ArrayTypeName.of(TypeName.INT));
+        assertThat(enabled.convertToTypeName(true, stringList))
+                .isEqualTo(ParameterizedTypeName.get(List.class, String.class));
+
+        PoetTypeNameMapper disabled = getPoetTypeNameMapper(false);
+        assertThat(disabled.convertToTypeName(true, intList))
+                .isEqualTo(ParameterizedTypeName.get(List.class, Integer.class));
+    }
+
+    @Test
+    public void test_base64ArraysStayRequired() {
+        assertThat(BuilderGenerator.isRequired(ArrayTypeName.of(TypeName.BYTE))).isTrue();
+        assertThat(BuilderGenerator.isRequired(ArrayTypeName.of(TypeName.LONG))).isFalse();
+    }
+
+    @Test
+    public void test_primitiveArrayPropertiesCompile(@TempDir Path tempDir) throws Exception {
+        TypeSpec objectTypeSpec = new ObjectTypeSpecGenerator(
+                        OBJECT_CLASS_NAME,
+                        OBJECT_MAPPERS_CLASS_NAME,
+                        List.of(
+                                property("name", "Name", ClassName.get(String.class)),
+                                property("values", "Values", ArrayTypeName.of(TypeName.INT)),
+                                property("weights", "Weights", ArrayTypeName.of(TypeName.DOUBLE))),
+                        List.of(),
+                        true,
+                        false,
+                        false)
+                .generate();
+        Class<?> objectClass = compile(
+                tempDir,
+                JavaFile.builder(OBJECT_CLASS_NAME.packageName(), objectTypeSpec)
+                        .build());
+
+        // Arrays are not required, so the staged builder only requires the name.
+        Object nameStage = objectClass.getMethod("builder").invoke(null);
+        Object finalStage =
+                method(objectClass, "NameStage", "name", String.class).invoke(nameStage, "sample");
+        Class<?> finalStageClass = objectClass.getClassLoader().loadClass(objectClass.getName() + "$_FinalStage");
+        finalStageClass.getMethod("addValues", int.class).invoke(finalStage, 1);
+        finalStageClass.getMethod("addAllValues", int[].class).invoke(finalStage, (Object) new int[] {2, 3});
+        finalStageClass.getMethod("weights", double[].class).invoke(finalStage, (Object) null);
+        Object built = finalStageClass.getMethod("build").invoke(finalStage);
+
+        assertThat((int[]) objectClass.getMethod("getValues").invoke(built)).containsExactly(1, 2, 3);
+        assertThat((double[]) objectClass.getMethod("getWeights").invoke(built)).isEmpty();
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        Object deserialized = objectMapper.readValue("{\"name\":\"sample\",\"values\":[1,2,3]}", objectClass);
+        assertThat(deserialized).isEqualTo(built).hasSameHashCodeAs(built);
+        assertThat((double[]) objectClass.getMethod("getWeights").invoke(deserialized))
+                .isNotNull()
+                .isEmpty();
+        assertThat(objectMapper.readValue(objectMapper.writeValueAsString(built), Map.class))
+                .containsEntry("values", List.of(1, 2, 3));
+    }
+
+    private static EnrichedObjectProperty property(String camelCaseKey, String pascalCaseKey, TypeName typeName) {
+        return EnrichedObjectProperty.builder()
+                .camelCaseKey(camelCaseKey)
+                .pascalCaseKey(pascalCaseKey)
+                .poetTypeName(typeName)
+                .fromInterface(false)
+                .wireKey(camelCaseKey)
+                .build();
+    }
+
+    private static Method method(Class<?> objectClass, String nestedClassName, String name, Class<?>... parameters)
+            throws Exception {
+        return objectClass
+                .getClassLoader()
+                .loadClass(objectClass.getName() + "$" + nestedClassName)
+                .getMethod(name, parameters);
+    }
+
+    private static Class<?> compile(Path directory, JavaFile javaFile) throws Exception {
+        javaFile.writeTo(directory);
+        Path objectMappers = directory.resolve("com/fern/test/ObjectMappers.java");
+        Files.writeString(
+                objectMappers,
+                "package com.fern.test;\n\n"
+                        + "public final class ObjectMappers {\n"
+                        + "    public static String stringify(Object o) {\n"
+                        + "        return String.valueOf(o);\n"
+                        + "    }\n"
+                        + "}\n");
+        Path source = directory.resolve("com/fern/test/Samples.java");
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        int result = compiler.run(
+                null,
+                null,
+                null,
+                "-classpath",
+                System.getProperty("java.class.path"),
+                "-d",
+                directory.toString(),
+                source.toString(),
+                objectMappers.toString());
+        assertThat(result).as("generated code compiles").isZero();
+        ClassLoader classLoader = new URLClassLoader(
+                new URL[] {directory.toUri().toURL()}, PrimitiveArrayObjectTest.class.getClassLoader());
+        return classLoader.loadClass(OBJECT_CLASS_NAME.reflectionName());
+    }
+
+    private static PoetTypeNameMapper getPoetTypeNameMapper(boolean generatePrimitiveArrays) {
+        ICustomConfig customConfig = new ICustomConfig() {
+            @Override
+            public Boolean generatePrimitiveArrays() {
+                return generatePrimitiveArrays;
+            }
+        };
+        return new PoetTypeNameMapper(
+                new AbstractModelPoetClassNameFactory(List.of("com", "fern", "test")) {}, customConfig, Map.of());
+    }
+}
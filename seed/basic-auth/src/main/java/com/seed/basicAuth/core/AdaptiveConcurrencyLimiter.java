@@ -0,0 +1,190 @@
+/**
+ * This file was auto-generated by Fern from our API Definition.
+ */
+package com.seed.basicAuth.core;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import okhttp3.Call;
+import okhttp3.Interceptor;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.ForwardingSource;
+import okio.Okio;
+
+/**
+ * Limits the number of calls in flight to a limit that adapts to the health of the server, using additive increase
+ * and multiplicative decrease (AIMD). The limit grows by one for every {@code limit} successful calls made while
+ * at least half of it was in use, and shrinks by {@link #BACKOFF_RATIO} when a call is rejected with {@code 429} or
+ * {@code 503}, times out, or takes longer than the latency threshold. Only one decrease is applied for the calls that
+ * were started under the same limit, so a burst of failures from a single overload does not collapse it.
+ *
+ * <p>Calls over the limit wait for a slot, up to {@code maxQueuedRequests} of them, and further calls fail right away
+ * with a {@link LimitExceededException}. Waiting calls give up when their deadline passes or they are cancelled. A call
+ * holds its slot until its response body is closed, and every retry attempt acquires a slot anew.
+ */
+public final class AdaptiveConcurrencyLimiter implements Interceptor {
+
+    public static final int DEFAULT_INITIAL_LIMIT = 20;
+    public static final int DEFAULT_MIN_LIMIT = 1;
+    public static final int DEFAULT_MAX_LIMIT = 200;
+    public static final int DEFAULT_MAX_QUEUED_REQUESTS = 100;
+    public static final Duration DEFAULT_LATENCY_THRESHOLD = Duration.ofSeconds(5);
+    public static final double BACKOFF_RATIO = 0.9;
+
+    private static final long CANCELLATION_CHECK_INTERVAL_MILLIS = 100;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final int maxQueuedRequests;
+    private final long latencyThresholdNanos;
+    private final Object lock = new Object();
+    private double limit;
+    private long epoch = 0;
+    private int inFlight = 0;
+    private int queued = 0;
+
+    public AdaptiveConcurrencyLimiter() {
+        this(
+                DEFAULT_INITIAL_LIMIT,
+                DEFAULT_MIN_LIMIT,
+                DEFAULT_MAX_LIMIT,
+                DEFAULT_MAX_QUEUED_REQUESTS,
+                DEFAULT_LATENCY_THRESHOLD);
+    }
+
+    public AdaptiveConcurrencyLimiter(
+            int initialLimit, int minLimit, int maxLimit, int maxQueuedRequests, Duration latencyThreshold) {
+        if (minLimit < 1 || initialLimit < minLimit || maxLimit < initialLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= minLimit <= initialLimit <= maxLimit");
+        }
+        if (maxQueuedRequests < 0) {
+            throw new IllegalArgumentException("maxQueuedRequests must not be negative");
+        }
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.maxQueuedRequests = maxQueuedRequests;
+        this.latencyThresholdNanos = latencyThreshold.toNanos();
+    }
+
+    public int getLimit() {
+        synchronized (lock) {
+            return (int) limit;
+        }
+    }
+
+    public int getInFlight() {
+        synchronized (lock) {
+            return inFlight;
+        }
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        long callEpoch = acquire(chain.call());
+        long startNanos = System.nanoTime();
+        Response response;
+        try {
+            response = chain.proceed(chain.request());
+        } catch (InterruptedIOException e) {
+            release(callEpoch, !chain.call().isCanceled());
+            throw e;
+        } catch (IOException | RuntimeException e) {
+            release(callEpoch, false);
+            throw e;
+        }
+        boolean dropped = response.code() == 429
+                || response.code() == 503
+                || System.nanoTime() - startNanos > latencyThresholdNanos;
+        ResponseBody body = response.body();
+        if (body == null) {
+            release(callEpoch, dropped);
+            return response;
+        }
+        AtomicBoolean released = new AtomicBoolean();
+        ForwardingSource source = new ForwardingSource(body.source()) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    if (released.compareAndSet(false, true)) {
+                        release(callEpoch, dropped);
+                    }
+                }
+            }
+        };
+        return response.newBuilder()
+                .body(ResponseBody.create(Okio.buffer(source), body.contentType(), body.contentLength()))
+                .build();
+    }
+
+    private long acquire(Call call) throws IOException {
+        synchronized (lock) {
+            if (inFlight < (int) limit) {
+                inFlight += 1;
+                return epoch;
+            }
+            if (queued >= maxQueuedRequests) {
+                throw new LimitExceededException((int) limit, maxQueuedRequests);
+            }
+            queued += 1;
+            try {
+                while (inFlight >= (int) limit) {
+                    if (call.isCanceled()) {
+                        throw new IOException("Canceled");
+                    }
+                    long waitMillis = CANCELLATION_CHECK_INTERVAL_MILLIS;
+                    if (call.timeout().hasDeadline()) {
+                        long remainingNanos = call.timeout().deadlineNanoTime() - System.nanoTime();
+                        if (remainingNanos <= 0) {
+                            throw new LimitExceededException((int) limit, maxQueuedRequests);
+                        }
+                        waitMillis = Math.min(waitMillis, TimeUnit.NANOSECONDS.toMillis(remainingNanos) + 1);
+                    }
+                    lock.wait(waitMillis);
+                }
+                inFlight += 1;
+                return epoch;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for a concurrency limiter slot");
+            } finally {
+                queued -= 1;
+            }
+        }
+    }
+
+    private void release(long callEpoch, boolean dropped) {
+        synchronized (lock) {
+            boolean saturated = inFlight * 2 >= limit;
+            inFlight -= 1;
+            if (dropped) {
+                if (callEpoch == epoch) {
+                    limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+                    epoch += 1;
+                }
+            } else if (saturated) {
+                limit = Math.min(maxLimit, limit + 1 / limit);
+            }
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * Thrown when a call could not get a slot, either because too many calls were already waiting or because its
+     * deadline passed while it waited.
+     */
+    public static final class LimitExceededException extends RetryInterceptor.RejectedException {
+        private static final long serialVersionUID = 1L;
+
+        private LimitExceededException(int limit, int maxQueuedRequests) {
+            super("Concurrency limit exceeded: " + limit + " concurrent requests and " + maxQueuedRequests
+                    + " queued requests");
+        }
+    }
+}
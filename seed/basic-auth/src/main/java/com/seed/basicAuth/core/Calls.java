@@ -0,0 +1,68 @@
+/**
+ * This file was auto-generated by Fern from our API Definition.
+ */
+package com.seed.basicAuth.core;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import okhttp3.Call;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+
+/**
+ * Creates calls that honor the timeout, deadline and cancellation token of the {@link RequestOptions} a request is
+ * tagged with.
+ *
+ * <p>The earlier of the timeout and the deadline becomes the deadline of the call's {@link Call#timeout()}. It covers
+ * the whole call, including retries and reading the response body, and {@link RetryInterceptor} does not schedule
+ * retries that could not start before it.
+ */
+public final class Calls {
+
+    private Calls() {}
+
+    public static Call newCall(OkHttpClient client, Request request) {
+        Call call = client.newCall(request);
+        RequestOptions requestOptions = request.tag(RequestOptions.class);
+        if (requestOptions == null) {
+            return call;
+        }
+        long now = System.nanoTime();
+        Optional<Duration> timeout = requestOptions.getTimeout();
+        Optional<Instant> deadline = requestOptions.getDeadline();
+        if (timeout.isPresent() || deadline.isPresent()) {
+            long remainingNanos = Long.MAX_VALUE;
+            if (timeout.isPresent()) {
+                remainingNanos = toNanos(timeout.get());
+            }
+            if (deadline.isPresent()) {
+                remainingNanos = Math.min(remainingNanos, toNanos(Duration.between(Instant.now(), deadline.get())));
+            }
+            // A deadline beyond the range of Duration#toNanos is no deadline at all. A deadline that has already
+            // passed times the call out as soon as it starts.
+            if (remainingNanos < Long.MAX_VALUE / 2) {
+                call.timeout().deadlineNanoTime(saturatedAdd(now, remainingNanos));
+            }
+        }
+        requestOptions.getCancellationToken().ifPresent(token -> token.register(call));
+        return call;
+    }
+
+    /** Adds the values, clamping the result instead of overflowing, since {@link System#nanoTime()} may be large. */
+    private static long saturatedAdd(long a, long b) {
+        long sum = a + b;
+        if (((a ^ sum) & (b ^ sum)) < 0) {
+            return a < 0 ? Long.MIN_VALUE : Long.MAX_VALUE;
+        }
+        return sum;
+    }
+
+    private static long toNanos(Duration duration) {
+        try {
+            return duration.toNanos();
+        } catch (ArithmeticException e) {
+            return duration.isNegative() ? Long.MIN_VALUE / 2 : Long.MAX_VALUE / 2;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+/**
+ * This file was auto-generated by Fern from our API Definition.
+ */
+package com.seed.basicAuth.core;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records the latency of every call in a {@link LatencyHistogram} per endpoint, in nanoseconds.
+ */
+public final class HistogramClientMetrics implements ClientMetrics {
+
+    private final Map<Endpoint, LatencyHistogram> latencies = new ConcurrentHashMap<>();
+
+    @Override
+    public void onCallCompleted(CallMetrics metrics) {
+        latencies
+                .computeIfAbsent(metrics.getEndpoint(), endpoint -> new LatencyHistogram())
+                .record(metrics.getDuration().toNanos());
+    }
+
+    /**
+     * Returns the latency histogram of an endpoint, or {@code null} if it has not been called yet.
+     */
+    public LatencyHistogram getLatencies(String service, String endpoint) {
+        return latencies.get(new Endpoint(service, endpoint));
+    }
+
+    public Map<Endpoint, LatencyHistogram> getLatencies() {
+        return Collections.unmodifiableMap(latencies);
+    }
+}
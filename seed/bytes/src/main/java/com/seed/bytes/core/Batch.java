@@ -0,0 +1,192 @@
+/**
+ * This file was auto-generated by Fern from our API Definition.
+ */
+package com.seed.bytes.core;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+/**
+ * Runs an asynchronous call for each input of a collection while keeping at most a fixed number of calls in flight.
+ * Calls are started in the order of the inputs and a new call is started as soon as one completes, so no threads
+ * are needed to throttle them. Results are returned in the order of the inputs, and a failed call does not stop
+ * the others.
+ *
+ * <p>Calls share the http client's connections, and over HTTP/2 they are multiplexed on a single connection per
+ * host. The client's dispatcher still applies its own {@code maxRequestsPerHost} limit on top of the batch's.
+ */
+public final class Batch {
+
+    public static final int DEFAULT_MAX_CONCURRENCY = 16;
+
+    private Batch() {}
+
+    /**
+     * Runs the calls and waits for all of them to complete.
+     *
+     * @param listener notified as each call completes, or {@code null}
+     */
+    public static <I, T> List<Result<T>> execute(
+            Collection<I> inputs, Function<I, CompletableFuture<T>> call, int maxConcurrency, Listener<T> listener) {
+        CompletableFuture<List<Result<T>>> future = executeAsync(inputs, call, maxConcurrency, listener);
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for batch to complete", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    /**
+     * Runs the calls and returns a future of their results. Cancelling the future stops further calls from being
+     * started, and the listener receives a {@link CancellationException} for each of them.
+     *
+     * @param listener notified as each call completes, or {@code null}
+     */
+    public static <I, T> CompletableFuture<List<Result<T>>> executeAsync(
+            Collection<I> inputs, Function<I, CompletableFuture<T>> call, int maxConcurrency, Listener<T> listener) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency must be positive");
+        }
+        Run<I, T> run = new Run<>(new ArrayList<>(inputs), call, maxConcurrency, listener);
+        // Resolves the calls that were not started when the future is cancelled.
+        run.future.whenComplete((results, error) -> run.drain());
+        run.drain();
+        return run.future;
+    }
+
+    public interface Listener<T> {
+        /**
+         * Called on the thread that completed the call, possibly concurrently with other calls of the batch.
+         *
+         * @param index the position of the call's input
+         */
+        void onComplete(int index, Result<T> result);
+    }
+
+    /**
+     * The outcome of a single call: either its value, which is {@code null} for endpoints without a response, or the
+     * error it failed with.
+     */
+    public static final class Result<T> {
+        private final T value;
+        private final Throwable error;
+
+        private Result(T value, Throwable error) {
+            this.value = value;
+            this.error = error;
+        }
+
+        public boolean isSuccess() {
+            return error == null;
+        }
+
+        /**
+         * @return the value of a successful call, or {@code null} if the call failed
+         */
+        public T getValue() {
+            return value;
+        }
+
+        /**
+         * @return the error of a failed call, or {@code null} if the call succeeded
+         */
+        public Throwable getError() {
+            return error;
+        }
+    }
+
+    private static final class Run<I, T> {
+        private final List<I> inputs;
+        private final Function<I, CompletableFuture<T>> call;
+        private final int maxConcurrency;
+        private final Listener<T> listener;
+        private final AtomicReferenceArray<Result<T>> results;
+        private final CompletableFuture<List<Result<T>>> future = new CompletableFuture<>();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger completed = new AtomicInteger();
+        // Serializes starting calls, so that calls completing synchronously do not recurse into drain().
+        private final AtomicInteger drainRequests = new AtomicInteger();
+        private int next = 0;
+
+        private Run(List<I> inputs, Function<I, CompletableFuture<T>> call, int maxConcurrency, Listener<T> listener) {
+            this.inputs = inputs;
+            this.call = call;
+            this.maxConcurrency = maxConcurrency;
+            this.listener = listener;
+            this.results = new AtomicReferenceArray<>(inputs.size());
+            if (inputs.isEmpty()) {
+                future.complete(new ArrayList<>());
+            }
+        }
+
+        private void drain() {
+            if (drainRequests.getAndIncrement() != 0) {
+                return;
+            }
+            do {
+                while (next < inputs.size()) {
+                    int index = next;
+                    if (future.isCancelled()) {
+                        next += 1;
+                        complete(index, null, new CancellationException("Batch was cancelled"));
+                    } else if (inFlight.get() < maxConcurrency) {
+                        next += 1;
+                        inFlight.incrementAndGet();
+                        start(index);
+                    } else {
+                        break;
+                    }
+                }
+            } while (drainRequests.decrementAndGet() != 0);
+        }
+
+        private void start(int index) {
+            CompletableFuture<T> callFuture;
+            try {
+                callFuture = call.apply(inputs.get(index));
+            } catch (RuntimeException e) {
+                callFuture = new CompletableFuture<>();
+                callFuture.completeExceptionally(e);
+            }
+            callFuture.whenComplete((value, error) -> {
+                inFlight.decrementAndGet();
+                complete(index, value, error);
+                drain();
+            });
+        }
+
+        private void complete(int index, T value, Throwable error) {
+            if (error instanceof CompletionException && error.getCause() != null) {
+                error = error.getCause();
+            }
+            Result<T> result = new Result<>(value, error);
+            results.set(index, result);
+            if (listener != null) {
+                try {
+                    listener.onComplete(index, result);
+                } catch (RuntimeException e) {
+                    // A failing listener must not prevent the remaining calls from completing.
+                }
+            }
+            if (completed.incrementAndGet() == inputs.size()) {
+                List<Result<T>> allResults = new ArrayList<>(inputs.size());
+                for (int i = 0; i < inputs.size(); i++) {
+                    allResults.add(results.get(i));
+                }
+                future.complete(allResults);
+            }
+        }
+    }
+}
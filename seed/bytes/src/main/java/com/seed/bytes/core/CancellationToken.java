@@ -0,0 +1,54 @@
+/**
+ * This file was auto-generated by Fern from our API Definition.
+ */
+package com.seed.bytes.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
+import okhttp3.Call;
+
+/**
+ * Cancels the calls made with a {@link RequestOptions} from another thread. A token can be shared by any number of
+ * calls, and cancelling it cancels all of them, including calls that are started after the token was cancelled.
+ * Calls are only weakly referenced, so a long-lived token does not retain completed calls.
+ */
+public final class CancellationToken {
+
+    private final Set<Call> calls = Collections.newSetFromMap(new WeakHashMap<>());
+
+    private boolean cancelled = false;
+
+    /**
+     * Cancels every call registered with this token. A synchronous call fails with an {@link java.io.IOException} and
+     * an asynchronous call completes its future exceptionally.
+     */
+    public void cancel() {
+        List<Call> toCancel;
+        synchronized (this) {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            toCancel = new ArrayList<>(calls);
+            calls.clear();
+        }
+        toCancel.forEach(Call::cancel);
+    }
+
+    public synchronized boolean isCancelled() {
+        return cancelled;
+    }
+
+    void register(Call call) {
+        synchronized (this) {
+            if (!cancelled) {
+                calls.add(call);
+                return;
+            }
+        }
+        call.cancel();
+    }
+}
@@ -0,0 +1,165 @@
+/**
+ * This file was auto-generated by Fern from our API Definition.
+ */
+package com.seed.bytes.core;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Receives metrics for every call made by the client. Register an implementation with
+ * {@code ClientOptions.Builder#metrics}, e.g. a {@link HistogramClientMetrics} to track per-endpoint latency
+ * percentiles.
+ *
+ * <p>Implementations are invoked on the thread that completes the call, so they must be thread-safe and should return
+ * quickly.
+ */
+@FunctionalInterface
+public interface ClientMetrics {
+
+    /**
+     * Called once per call, after the response body has been consumed or the call has failed. A call spans all of its
+     * retry attempts.
+     */
+    void onCallCompleted(CallMetrics metrics);
+
+    /**
+     * Identifies the API endpoint a request was made for. Generated clients attach it to every request as a tag.
+     */
+    final class Endpoint {
+
+        private final String service;
+        private final String name;
+
+        public Endpoint(String service, String name) {
+            this.service = service;
+            this.name = name;
+        }
+
+        public String getService() {
+            return service;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof Endpoint)) {
+                return false;
+            }
+            Endpoint endpoint = (Endpoint) other;
+            return service.equals(endpoint.service) && name.equals(endpoint.name);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(service, name);
+        }
+
+        @Override
+        public String toString() {
+            return service.isEmpty() ? name : service + "." + name;
+        }
+    }
+
+    /**
+     * Measurements of a single call. Durations are zero for phases that did not happen, e.g. DNS and connect when a
+     * pooled connection was reused.
+     */
+    final class CallMetrics {
+
+        private final Endpoint endpoint;
+        private final int statusCode;
+        private final int attempts;
+        private final long requestBytes;
+        private final long responseBytes;
+        private final Duration duration;
+        private final Duration dnsDuration;
+        private final Duration connectDuration;
+        private final Duration timeToFirstByte;
+        private final Exception failure;
+
+        public CallMetrics(
+                Endpoint endpoint,
+                int statusCode,
+                int attempts,
+                long requestBytes,
+                long responseBytes,
+                Duration duration,
+                Duration dnsDuration,
+                Duration connectDuration,
+                Duration timeToFirstByte,
+                Exception failure) {
+            this.endpoint = endpoint;
+            this.statusCode = statusCode;
+            this.attempts = attempts;
+            this.requestBytes = requestBytes;
+            this.responseBytes = responseBytes;
+            this.duration = duration;
+            this.dnsDuration = dnsDuration;
+            this.connectDuration = connectDuration;
+            this.timeToFirstByte = timeToFirstByte;
+            this.failure = failure;
+        }
+
+        public Endpoint getEndpoint() {
+            return endpoint;
+        }
+
+        /**
+         * The status code of the last response, or -1 if no response was received.
+         */
+        public int getStatusCode() {
+            return statusCode;
+        }
+
+        /**
+         * The number of times the request was sent, including retries.
+         */
+        public int getAttempts() {
+            return attempts;
+        }
+
+        public long getRequestBytes() {
+            return requestBytes;
+        }
+
+        public long getResponseBytes() {
+            return responseBytes;
+        }
+
+        /**
+         * The time from the start of the call until the response body was consumed or the call failed.
+         */
+        public Duration getDuration() {
+            return duration;
+        }
+
+        public Duration getDnsDuration() {
+            return dnsDuration;
+        }
+
+        public Duration getConnectDuration() {
+            return connectDuration;
+        }
+
+        /**
+         * The time from sending the last attempt's request until its response headers started to arrive.
+         */
+        public Duration getTimeToFirstByte() {
+            return timeToFirstByte;
+        }
+
+        /**
+         * The exception the call failed with, or {@code null} if a response was received.
+         */
+        public Exception getFailure() {
+            return failure;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+/**
+ * This file was auto-generated by Fern from our API Definition.
+ */
+package com.seed.bytes.core;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import java.io.IOException;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.BufferedSink;
+
+/**
+ * A request body that serializes its value as JSON straight into the connection's sink, rather than buffering the
+ * whole payload in memory first. The length is not known up front, so the body is sent with chunked transfer encoding.
+ * The value is serialized again each time the body is written, which allows the request to be retried.
+ */
+public final class JsonRequestBody extends RequestBody {
+
+    private static final MediaType APPLICATION_JSON = MediaType.parse("application/json");
+
+    private final Object value;
+
+    public JsonRequestBody(Object value) {
+        this.value = value;
+    }
+
+    @Override
+    public MediaType contentType() {
+        return APPLICATION_JSON;
+    }
+
+    @Override
+    public long contentLength() {
+        return -1;
+    }
+
+    @Override
+    public void writeTo(BufferedSink sink) throws IOException {
+        // okhttp owns the sink, so the generator must not close it.
+        try (JsonGenerator generator = ObjectMappers.JSON_MAPPER.getFactory().createGenerator(sink.outputStream())) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            ObjectMappers.JSON_MAPPER.writeValue(generator, value);
+        }
+    }
+}
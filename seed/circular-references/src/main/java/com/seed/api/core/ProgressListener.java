@@ -0,0 +1,17 @@
+/**
+ * This file was auto-generated by Fern from our API Definition.
+ */
+package com.seed.api.core;
+
+/**
+ * Receives progress updates while a request or response body is transferred.
+ */
+@FunctionalInterface
+public interface ProgressListener {
+
+    /**
+     * @param bytesTransferred the number of bytes transferred so far
+     * @param contentLength the total number of bytes, or -1 if it is not known
+     */
+    void onProgress(long bytesTransferred, long contentLength);
+}
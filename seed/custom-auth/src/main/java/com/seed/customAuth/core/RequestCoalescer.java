@@ -0,0 +1,216 @@
+/**
+ * This file was auto-generated by Fern from our API Definition.
+ */
+package com.seed.customAuth.core;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Collapses concurrent identical GET requests into a single call. The first caller makes the call and every caller
+ * that asks for the same method, URL and request headers while it is in flight receives its result, or its error.
+ * Requests are only coalesced while they are in flight, nothing is cached afterwards.
+ *
+ * <p>All callers of a coalesced request receive the same deserialized instance, so results must not be modified.
+ * Requests whose {@link RequestOptions} set a timeout, deadline, cancellation token or retry limit are never
+ * coalesced, since the callers joining them would otherwise be bound by the first caller's options.
+ */
+public final class RequestCoalescer {
+
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(OkHttpClient client, Request request, ObjectReader reader) throws IOException {
+        if (!isCoalescable(request)) {
+            return (T) fetch(client, request, reader);
+        }
+        return (T) coalesce(getKey(request), () -> fetch(client, request, reader));
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> executeAsync(
+            OkHttpClient client, Request request, ObjectReader reader, Executor executor) {
+        if (!isCoalescable(request)) {
+            return (CompletableFuture<T>) fetchAsync(client, request, reader, executor);
+        }
+        return (CompletableFuture<T>)
+                coalesceAsync(getKey(request), () -> fetchAsync(client, request, reader, executor));
+    }
+
+    /**
+     * Runs the fetch on the calling thread unless a fetch with the same key is already in flight, in which case its
+     * result is awaited instead.
+     */
+    Object coalesce(String key, Fetch fetch) throws IOException {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            return join(existing);
+        }
+        try {
+            Object value = fetch.get();
+            future.complete(value);
+            return value;
+        } catch (IOException | RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    /**
+     * Starts the fetch unless a fetch with the same key is already in flight. Each caller receives its own future, so
+     * cancelling it does not affect the other callers.
+     */
+    CompletableFuture<Object> coalesceAsync(String key, Supplier<CompletableFuture<?>> fetch) {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            return forCaller(existing);
+        }
+        try {
+            fetch.get().whenComplete((value, error) -> {
+                inFlight.remove(key, future);
+                if (error != null) {
+                    future.completeExceptionally(unwrap(error));
+                } else {
+                    future.complete(value);
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.remove(key, future);
+            future.completeExceptionally(e);
+        }
+        return forCaller(future);
+    }
+
+    /**
+     * Keys include the values of all request headers, so callers with different credentials never share a result.
+     * {@link okhttp3.Headers#toString()} redacts credentials and cannot be used. {@code Cache-Control} is left out,
+     * since it only says how the caller wants the result looked up.
+     */
+    static String getKey(Request request) {
+        StringBuilder key =
+                new StringBuilder().append(request.method()).append(' ').append(request.url());
+        for (int i = 0; i < request.headers().size(); i++) {
+            if (request.headers().name(i).equalsIgnoreCase("Cache-Control")) {
+                continue;
+            }
+            key.append('\n')
+                    .append(request.headers().name(i))
+                    .append(": ")
+                    .append(request.headers().value(i));
+        }
+        return key.toString();
+    }
+
+    /**
+     * Returns whether the request's options change how its own call is made, in which case its result must not be
+     * shared with other callers.
+     */
+    static boolean hasCallOptions(Request request) {
+        RequestOptions requestOptions = request.tag(RequestOptions.class);
+        return requestOptions != null
+                && (requestOptions.getTimeout().isPresent()
+                        || requestOptions.getDeadline().isPresent()
+                        || requestOptions.getCancellationToken().isPresent()
+                        || requestOptions.getMaxRetries().isPresent());
+    }
+
+    private static boolean isCoalescable(Request request) {
+        return request.method().equals("GET") && !request.cacheControl().noStore() && !hasCallOptions(request);
+    }
+
+    private static Object fetch(OkHttpClient client, Request request, ObjectReader reader) throws IOException {
+        try (Response response = Calls.newCall(client, request).execute()) {
+            return read(response, reader);
+        }
+    }
+
+    private static CompletableFuture<Object> fetchAsync(
+            OkHttpClient client, Request request, ObjectReader reader, Executor executor) {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        Calls.newCall(client, request).enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                future.completeExceptionally(new RuntimeException(e));
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                executor.execute(() -> {
+                    try (Response closeable = response) {
+                        future.complete(read(closeable, reader));
+                    } catch (IOException e) {
+                        future.completeExceptionally(new RuntimeException(e));
+                    } catch (RuntimeException e) {
+                        future.completeExceptionally(e);
+                    }
+                });
+            }
+        });
+        return future;
+    }
+
+    private static Object read(Response response, ObjectReader reader) throws IOException {
+        if (!response.isSuccessful()) {
+            throw new ApiError(
+                    response.code(),
+                    ObjectMappers.JSON_MAPPER.readValue(response.body().byteStream(), Object.class));
+        }
+        return reader.readValue(response.body().byteStream());
+    }
+
+    private static Object join(CompletableFuture<Object> future) throws IOException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Asynchronous callers receive connection failures wrapped in a {@link RuntimeException}, like other asynchronous
+     * endpoint calls.
+     */
+    private static CompletableFuture<Object> forCaller(CompletableFuture<Object> shared) {
+        CompletableFuture<Object> result = new CompletableFuture<>();
+        shared.whenComplete((value, error) -> {
+            if (error == null) {
+                result.complete(value);
+            } else {
+                Throwable cause = unwrap(error);
+                result.completeExceptionally(cause instanceof IOException ? new RuntimeException(cause) : cause);
+            }
+        });
+        return result;
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    interface Fetch {
+        Object get() throws IOException;
+    }
+}
@@ -0,0 +1,139 @@
+/**
+ * This file was auto-generated by Fern from our API Definition.
+ */
+package com.seed.errorProperty.core;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.time.Duration;
+import java.util.List;
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Collects {@link ClientMetrics.CallMetrics} from okhttp's call events. Only calls whose request is tagged with a
+ * {@link ClientMetrics.Endpoint} are measured.
+ */
+public final class MetricsEventListener extends EventListener {
+
+    private final ClientMetrics metrics;
+    private final ClientMetrics.Endpoint endpoint;
+
+    private long callStartNanos;
+    private long dnsStartNanos;
+    private long dnsNanos;
+    private long connectStartNanos;
+    private long connectNanos;
+    private long attemptStartNanos;
+    private long timeToFirstByteNanos;
+    private int attempts;
+    private int statusCode = -1;
+    private long requestBytes;
+    private long responseBytes;
+
+    private MetricsEventListener(ClientMetrics metrics, ClientMetrics.Endpoint endpoint) {
+        this.metrics = metrics;
+        this.endpoint = endpoint;
+    }
+
+    public static EventListener.Factory factory(ClientMetrics metrics) {
+        return call -> {
+            ClientMetrics.Endpoint endpoint = call.request().tag(ClientMetrics.Endpoint.class);
+            return endpoint == null ? EventListener.NONE : new MetricsEventListener(metrics, endpoint);
+        };
+    }
+
+    @Override
+    public void callStart(Call call) {
+        callStartNanos = System.nanoTime();
+    }
+
+    @Override
+    public void dnsStart(Call call, String domainName) {
+        dnsStartNanos = System.nanoTime();
+    }
+
+    @Override
+    public void dnsEnd(Call call, String domainName, List<InetAddress> inetAddressList) {
+        dnsNanos += System.nanoTime() - dnsStartNanos;
+    }
+
+    @Override
+    public void connectStart(Call call, InetSocketAddress inetSocketAddress, Proxy proxy) {
+        connectStartNanos = System.nanoTime();
+    }
+
+    @Override
+    public void connectEnd(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol) {
+        connectNanos += System.nanoTime() - connectStartNanos;
+    }
+
+    @Override
+    public void connectFailed(
+            Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol, IOException ioe) {
+        connectNanos += System.nanoTime() - connectStartNanos;
+    }
+
+    @Override
+    public void requestHeadersStart(Call call) {
+        attempts += 1;
+        attemptStartNanos = System.nanoTime();
+    }
+
+    @Override
+    public void requestHeadersEnd(Call call, Request request) {}
+
+    @Override
+    public void requestBodyEnd(Call call, long byteCount) {
+        requestBytes += byteCount;
+    }
+
+    @Override
+    public void responseHeadersStart(Call call) {
+        timeToFirstByteNanos = System.nanoTime() - attemptStartNanos;
+    }
+
+    @Override
+    public void responseHeadersEnd(Call call, Response response) {
+        statusCode = response.code();
+    }
+
+    @Override
+    public void responseBodyEnd(Call call, long byteCount) {
+        responseBytes += byteCount;
+    }
+
+    @Override
+    public void callEnd(Call call) {
+        report(null);
+    }
+
+    @Override
+    public void callFailed(Call call, IOException ioe) {
+        report(ioe);
+    }
+
+    private void report(Exception failure) {
+        ClientMetrics.CallMetrics callMetrics = new ClientMetrics.CallMetrics(
+                endpoint,
+                statusCode,
+                attempts,
+                requestBytes,
+                responseBytes,
+                Duration.ofNanos(System.nanoTime() - callStartNanos),
+                Duration.ofNanos(dnsNanos),
+                Duration.ofNanos(connectNanos),
+                Duration.ofNanos(timeToFirstByteNanos),
+                failure);
+        try {
+            metrics.onCallCompleted(callMetrics);
+        } catch (RuntimeException e) {
+            // A failing metrics sink must not fail the call.
+        }
+    }
+}
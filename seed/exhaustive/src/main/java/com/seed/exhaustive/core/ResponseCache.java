@@ -0,0 +1,244 @@
+/**
+ * This file was auto-generated by Fern from our API Definition.
+ */
+package com.seed.exhaustive.core;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import java.io.IOException;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import okhttp3.CacheControl;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * An in-memory LRU cache of deserialized GET responses. It sits in front of the http client and its optional disk
+ * {@link okhttp3.Cache}, so that a response that is still fresh according to its {@code Cache-Control} or
+ * {@code Expires} headers is returned without a call or deserialization. A stale response is revalidated with
+ * {@code If-None-Match} and {@code If-Modified-Since}, and a {@code 304 Not Modified} answer reuses the cached value.
+ *
+ * <p>Responses are keyed by URL and all request headers, so callers with different credentials never share an
+ * entry. The same instance is returned to every caller that hits the cache, so cached values must not be modified.
+ * Concurrent misses for the same key are coalesced into a single call (see {@link RequestCoalescer}). Requests whose
+ * {@link RequestOptions} set a timeout, deadline, cancellation token or retry limit bypass the cache and always make
+ * their own call, whose response is still cached for other callers.
+ */
+public final class ResponseCache {
+
+    public static final int DEFAULT_MAX_ENTRIES = 1000;
+
+    private final Map<String, Entry> entries;
+    private final RequestCoalescer misses = new RequestCoalescer();
+
+    public ResponseCache() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    public ResponseCache(int maxEntries) {
+        this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ResponseCache.Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(OkHttpClient client, Request request, ObjectReader reader) throws IOException {
+        String key = RequestCoalescer.getKey(request);
+        if (RequestCoalescer.hasCallOptions(request)) {
+            return (T) fetch(key, null, client, request, reader);
+        }
+        Entry cached = get(key, request);
+        if (cached != null && cached.isFresh()) {
+            return (T) cached.value;
+        }
+        return (T) misses.coalesce(key, () -> fetch(key, cached, client, request, reader));
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> executeAsync(
+            OkHttpClient client, Request request, ObjectReader reader, Executor executor) {
+        String key = RequestCoalescer.getKey(request);
+        if (RequestCoalescer.hasCallOptions(request)) {
+            return (CompletableFuture<T>) fetchAsync(key, null, client, request, reader, executor);
+        }
+        Entry cached = get(key, request);
+        if (cached != null && cached.isFresh()) {
+            return CompletableFuture.completedFuture((T) cached.value);
+        }
+        return (CompletableFuture<T>)
+                misses.coalesceAsync(key, () -> fetchAsync(key, cached, client, request, reader, executor));
+    }
+
+    private Object fetch(String key, Entry cached, OkHttpClient client, Request request, ObjectReader reader)
+            throws IOException {
+        try (Response response =
+                Calls.newCall(client, conditional(request, cached)).execute()) {
+            return handleResponse(key, cached, response, reader);
+        }
+    }
+
+    private CompletableFuture<Object> fetchAsync(
+            String key, Entry cached, OkHttpClient client, Request request, ObjectReader reader, Executor executor) {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        Calls.newCall(client, conditional(request, cached)).enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                future.completeExceptionally(new RuntimeException(e));
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                executor.execute(() -> {
+                    try (Response closeable = response) {
+                        future.complete(handleResponse(key, cached, closeable, reader));
+                    } catch (IOException e) {
+                        future.completeExceptionally(new RuntimeException(e));
+                    } catch (RuntimeException e) {
+                        future.completeExceptionally(e);
+                    }
+                });
+            }
+        });
+        return future;
+    }
+
+    private Object handleResponse(String key, Entry cached, Response response, ObjectReader reader) throws IOException {
+        if (response.code() == 304 && cached != null) {
+            Entry revalidated = cached.revalidate(response);
+            put(key, revalidated);
+            return cached.value;
+        }
+        if (!response.isSuccessful()) {
+            throw new ApiError(
+                    response.code(),
+                    ObjectMappers.JSON_MAPPER.readValue(response.body().byteStream(), Object.class));
+        }
+        Object value = reader.readValue(response.body().byteStream());
+        put(key, response.code() == 200 ? Entry.create(value, response) : null);
+        return value;
+    }
+
+    private synchronized Entry get(String key, Request request) {
+        if (request.cacheControl().noStore()) {
+            return null;
+        }
+        Entry entry = entries.get(key);
+        if (entry != null && request.cacheControl().noCache()) {
+            // The caller asked for revalidation, which still lets a 304 reuse the cached value.
+            return entry.expire();
+        }
+        return entry;
+    }
+
+    private synchronized void put(String key, Entry entry) {
+        if (entry == null) {
+            entries.remove(key);
+        } else {
+            entries.put(key, entry);
+        }
+    }
+
+    private static Request conditional(Request request, Entry cached) {
+        if (cached == null || (cached.etag == null && cached.lastModified == null)) {
+            return request;
+        }
+        Request.Builder builder = request.newBuilder();
+        if (cached.etag != null) {
+            builder.header("If-None-Match", cached.etag);
+        }
+        if (cached.lastModified != null) {
+            builder.header("If-Modified-Since", cached.lastModified);
+        }
+        return builder.build();
+    }
+
+    private static final class Entry {
+        private final Object value;
+        private final String etag;
+        private final String lastModified;
+        private final long expiresAtNanos;
+
+        private Entry(Object value, String etag, String lastModified, long expiresAtNanos) {
+            this.value = value;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+
+        /**
+         * Returns an entry for the response, or {@code null} if the response may not be stored or could never be
+         * reused.
+         */
+        private static Entry create(Object value, Response response) {
+            if (response.cacheControl().noStore()
+                    || response.request().cacheControl().noStore()
+                    || "*".equals(response.header("Vary"))) {
+                return null;
+            }
+            String etag = response.header("ETag");
+            String lastModified = response.header("Last-Modified");
+            long freshnessNanos = getFreshnessNanos(response);
+            if (freshnessNanos <= 0 && etag == null && lastModified == null) {
+                return null;
+            }
+            return new Entry(value, etag, lastModified, System.nanoTime() + freshnessNanos);
+        }
+
+        private Entry revalidate(Response notModified) {
+            String newEtag = notModified.header("ETag");
+            String newLastModified = notModified.header("Last-Modified");
+            return new Entry(
+                    value,
+                    newEtag != null ? newEtag : etag,
+                    newLastModified != null ? newLastModified : lastModified,
+                    System.nanoTime() + getFreshnessNanos(notModified));
+        }
+
+        private Entry expire() {
+            return new Entry(value, etag, lastModified, System.nanoTime());
+        }
+
+        private boolean isFresh() {
+            return expiresAtNanos - System.nanoTime() > 0;
+        }
+
+        private static long getFreshnessNanos(Response response) {
+            CacheControl cacheControl = response.cacheControl();
+            if (cacheControl.noCache()) {
+                return 0;
+            }
+            long freshnessMillis;
+            if (cacheControl.maxAgeSeconds() >= 0) {
+                freshnessMillis = TimeUnit.SECONDS.toMillis(cacheControl.maxAgeSeconds());
+            } else if (response.headers().getDate("Expires") != null) {
+                Date served = response.headers().getDate("Date");
+                long servedAtMillis = served != null ? served.getTime() : response.receivedResponseAtMillis();
+                freshnessMillis = response.headers().getDate("Expires").getTime() - servedAtMillis;
+            } else {
+                return 0;
+            }
+            String age = response.header("Age");
+            if (age != null) {
+                try {
+                    freshnessMillis -= TimeUnit.SECONDS.toMillis(Long.parseLong(age.trim()));
+                } catch (NumberFormatException e) {
+                    // An invalid age is ignored.
+                }
+            }
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, freshnessMillis));
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/**
+ * This file was auto-generated by Fern from our API Definition.
+ */
+package com.seed.fileDownload.core;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.BufferedSource;
+
+/**
+ * Downloads response bodies directly to a file. The body is transferred from the connection into a {@link FileChannel}
+ * without passing through intermediate buffers.
+ *
+ * <p>If the target file already exists, its contents are treated as the beginning of the body, e.g. from a download
+ * that was interrupted earlier, and only the remaining bytes are requested with a {@code Range} header. Connection
+ * failures while the body is read are resumed the same way. Servers that ignore the range cause the file to be
+ * rewritten from the start.
+ */
+public final class FileDownloader {
+
+    public static final int MAX_RESUME_ATTEMPTS = 3;
+
+    private static final long TRANSFER_CHUNK_SIZE = 1024 * 1024;
+    private static final Pattern CONTENT_RANGE = Pattern.compile("bytes (\\d+)-\\d+/(\\d+|\\*)");
+    private static final Pattern UNSATISFIED_CONTENT_RANGE = Pattern.compile("bytes \\*/(\\d+)");
+
+    private FileDownloader() {}
+
+    /**
+     * Executes the request and writes the response body to the target file.
+     *
+     * @param progressListener notified as the body is written, or {@code null}. The number of bytes reported includes
+     *     any bytes the file already contained.
+     * @return the size of the downloaded file
+     */
+    public static long download(OkHttpClient client, Request request, Path target, ProgressListener progressListener)
+            throws IOException {
+        // Ranges are resolved against the identity encoding, so transparent compression must be disabled.
+        Request identityRequest =
+                request.newBuilder().header("Accept-Encoding", "identity").build();
+        int attempt = 0;
+        while (true) {
+            long existingBytes = Files.exists(target) ? Files.size(target) : 0;
+            Request rangeRequest = existingBytes > 0
+                    ? identityRequest
+                            .newBuilder()
+                            .header("Range", "bytes=" + existingBytes + "-")
+                            .build()
+                    : identityRequest;
+            try (Response response = Calls.newCall(client, rangeRequest).execute()) {
+                if (response.code() == 416 && existingBytes > 0) {
+                    if (getUnsatisfiedLength(response) == existingBytes) {
+                        return existingBytes;
+                    }
+                    // The file does not belong to this body, so download it again.
+                    Files.delete(target);
+                    continue;
+                }
+                if (!response.isSuccessful()) {
+                    throw new ApiError(
+                            response.code(),
+                            ObjectMappers.JSON_MAPPER.readValue(response.body().byteStream(), Object.class));
+                }
+                long offset = response.code() == 206 ? getRangeStart(response) : 0;
+                if (offset > existingBytes) {
+                    throw new IOException("Server returned a range starting at " + offset + ", but only "
+                            + existingBytes + " bytes were downloaded");
+                }
+                try {
+                    return write(response.body(), target, offset, progressListener);
+                } catch (IOException e) {
+                    if (attempt >= MAX_RESUME_ATTEMPTS) {
+                        throw e;
+                    }
+                    attempt += 1;
+                }
+            }
+        }
+    }
+
+    private static long write(ResponseBody body, Path target, long offset, ProgressListener progressListener)
+            throws IOException {
+        long contentLength = body.contentLength();
+        long totalBytes = contentLength < 0 ? -1 : offset + contentLength;
+        try (FileChannel channel = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            channel.truncate(offset);
+            BufferedSource source = body.source();
+            long position = offset;
+            while (!source.exhausted()) {
+                position += channel.transferFrom(source, position, TRANSFER_CHUNK_SIZE);
+                if (progressListener != null) {
+                    progressListener.onProgress(position, totalBytes);
+                }
+            }
+            return position;
+        }
+    }
+
+    private static long getRangeStart(Response response) throws IOException {
+        String contentRange = response.header("Content-Range");
+        Matcher matcher = contentRange == null ? null : CONTENT_RANGE.matcher(contentRange);
+        if (matcher == null || !matcher.matches()) {
+            throw new IOException("Invalid Content-Range header in partial response: " + contentRange);
+        }
+        return Long.parseLong(matcher.group(1));
+    }
+
+    private static long getUnsatisfiedLength(Response response) {
+        String contentRange = response.header("Content-Range");
+        Matcher matcher = contentRange == null ? null : UNSATISFIED_CONTENT_RANGE.matcher(contentRange);
+        return matcher != null && matcher.matches() ? Long.parseLong(matcher.group(1)) : -1;
+    }
+}
@@ -0,0 +1,115 @@
+/**
+ * This file was auto-generated by Fern from our API Definition.
+ */
+package com.seed.multiUrlEnvironment.core;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * A supplier that caches the delegate's value for a time-to-live. Once a value has passed its refresh point it keeps
+ * being served while a single background refresh runs, so callers only block when there is no usable value at all.
+ * Concurrent callers that do have to block share one invocation of the delegate.
+ */
+public final class CachingSupplier<T> implements Supplier<T> {
+
+    private static final ExecutorService REFRESH_EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "supplier-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Supplier<T> delegate;
+    private final long ttlNanos;
+    private final long refreshAheadNanos;
+    private final AtomicReference<CompletableFuture<Entry<T>>> inFlight = new AtomicReference<>();
+
+    private volatile Entry<T> entry = null;
+
+    /**
+     * Creates a supplier that starts refreshing once four fifths of the time-to-live have elapsed.
+     */
+    public CachingSupplier(Supplier<T> delegate, Duration ttl) {
+        this(delegate, ttl, ttl.dividedBy(5));
+    }
+
+    /**
+     * @param ttl how long a value may be served after it was fetched
+     * @param refreshAhead how long before expiry a background refresh is started
+     */
+    public CachingSupplier(Supplier<T> delegate, Duration ttl, Duration refreshAhead) {
+        this.delegate = delegate;
+        this.ttlNanos = ttl.toNanos();
+        this.refreshAheadNanos = Math.min(refreshAhead.toNanos(), ttlNanos);
+    }
+
+    @Override
+    public T get() {
+        Entry<T> current = entry;
+        long now = System.nanoTime();
+        if (current != null && now - current.expiresAtNanos < 0) {
+            if (now - current.refreshAtNanos >= 0) {
+                refresh(true);
+            }
+            return current.value;
+        }
+        try {
+            return refresh(false).join().value;
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private CompletableFuture<Entry<T>> refresh(boolean background) {
+        while (true) {
+            CompletableFuture<Entry<T>> existing = inFlight.get();
+            if (existing != null) {
+                return existing;
+            }
+            CompletableFuture<Entry<T>> future = new CompletableFuture<>();
+            if (inFlight.compareAndSet(null, future)) {
+                if (background) {
+                    REFRESH_EXECUTOR.execute(() -> load(future));
+                } else {
+                    load(future);
+                }
+                return future;
+            }
+        }
+    }
+
+    private void load(CompletableFuture<Entry<T>> future) {
+        try {
+            T value = Objects.requireNonNull(delegate.get());
+            long fetchedAt = System.nanoTime();
+            Entry<T> loaded = new Entry<>(value, fetchedAt + ttlNanos, fetchedAt + ttlNanos - refreshAheadNanos);
+            entry = loaded;
+            future.complete(loaded);
+        } catch (Throwable t) {
+            future.completeExceptionally(t);
+        } finally {
+            inFlight.compareAndSet(future, null);
+        }
+    }
+
+    private static final class Entry<T> {
+        private final T value;
+        private final long expiresAtNanos;
+        private final long refreshAtNanos;
+
+        private Entry(T value, long expiresAtNanos, long refreshAtNanos) {
+            this.value = value;
+            this.expiresAtNanos = expiresAtNanos;
+            this.refreshAtNanos = refreshAtNanos;
+        }
+    }
+}
@@ -0,0 +1,219 @@
+/**
+ * This file was auto-generated by Fern from our API Definition.
+ */
+package com.seed.singleUrlEnvironmentDefault.core;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import okhttp3.HttpUrl;
+
+/**
+ * A base URL together with the replicas that can serve it. Requests built against the base URL are sent to one of the
+ * replicas by {@link LoadBalancingInterceptor}, which picks the replica with the fewest outstanding requests, either
+ * among all replicas or among two chosen at random.
+ *
+ * <p>A replica is ejected after {@value #DEFAULT_EJECTION_THRESHOLD} consecutive connection failures or 5xx responses.
+ * Once its ejection ends, a single request is sent to it as a probe: a success restores it, and a failure ejects it
+ * again for twice as long, up to eight times the initial ejection duration. If every
+ * replica is ejected, requests are still sent to the replica whose ejection ends first.
+ */
+public final class ReplicaSet {
+
+    public static final int DEFAULT_EJECTION_THRESHOLD = 5;
+    public static final Duration DEFAULT_EJECTION_DURATION = Duration.ofSeconds(30);
+
+    private static final int MAX_EJECTION_MULTIPLIER = 8;
+
+    public enum Strategy {
+        /** Sends each request to the replica with the fewest outstanding requests. */
+        LEAST_OUTSTANDING_REQUESTS,
+        /**
+         * Sends each request to the less loaded of two replicas chosen at random, which avoids herding onto a single
+         * replica when many clients share the same view of the load.
+         */
+        POWER_OF_TWO_CHOICES
+    }
+
+    private final String baseUrl;
+    private final Strategy strategy;
+    private final List<Replica> replicas;
+    private final int ejectionThreshold;
+    private final long ejectionNanos;
+
+    private ReplicaSet(
+            Strategy strategy, int ejectionThreshold, Duration ejection, String baseUrl, String... replicaUrls) {
+        this.baseUrl = trimTrailingSlash(HttpUrl.get(baseUrl).toString());
+        this.strategy = strategy;
+        this.ejectionThreshold = ejectionThreshold;
+        this.ejectionNanos = ejection.toNanos();
+        List<Replica> replicas = new ArrayList<>();
+        replicas.add(new Replica(baseUrl));
+        for (String replicaUrl : replicaUrls) {
+            replicas.add(new Replica(replicaUrl));
+        }
+        this.replicas = Collections.unmodifiableList(replicas);
+    }
+
+    /**
+     * Creates a replica set whose replicas are the base URL itself and the given replica URLs.
+     */
+    public static ReplicaSet of(Strategy strategy, String baseUrl, String... replicaUrls) {
+        return of(strategy, DEFAULT_EJECTION_THRESHOLD, DEFAULT_EJECTION_DURATION, baseUrl, replicaUrls);
+    }
+
+    /**
+     * @param ejectionThreshold the number of consecutive failures after which a replica is ejected
+     * @param ejection how long a replica is ejected for the first time
+     */
+    public static ReplicaSet of(
+            Strategy strategy, int ejectionThreshold, Duration ejection, String baseUrl, String... replicaUrls) {
+        return new ReplicaSet(strategy, ejectionThreshold, ejection, baseUrl, replicaUrls);
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public List<String> getReplicaUrls() {
+        List<String> replicaUrls = new ArrayList<>();
+        replicas.forEach(replica -> replicaUrls.add(replica.url));
+        return replicaUrls;
+    }
+
+    /**
+     * Returns the part of the url that follows this set's base URL, or {@code null} if the url is not under it.
+     */
+    String relativize(String url) {
+        if (!url.startsWith(baseUrl)) {
+            return null;
+        }
+        if (url.length() == baseUrl.length()) {
+            return "";
+        }
+        char next = url.charAt(baseUrl.length());
+        return next == '/' || next == '?' || next == '#' ? url.substring(baseUrl.length()) : null;
+    }
+
+    Replica select() {
+        long now = System.nanoTime();
+        // Ejected replicas whose ejection has ended are probed before anything else, so that they recover promptly.
+        for (Replica replica : replicas) {
+            if (replica.isProbeDue(now) && replica.probing.compareAndSet(false, true)) {
+                return replica;
+            }
+        }
+        List<Replica> available = new ArrayList<>(replicas.size());
+        for (Replica replica : replicas) {
+            if (!replica.isEjected(now)) {
+                available.add(replica);
+            }
+        }
+        if (available.isEmpty()) {
+            Replica earliest = replicas.get(0);
+            for (Replica replica : replicas) {
+                if (replica.ejectedUntilNanos - earliest.ejectedUntilNanos < 0) {
+                    earliest = replica;
+                }
+            }
+            return earliest;
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (strategy == Strategy.POWER_OF_TWO_CHOICES) {
+            if (available.size() == 1) {
+                return available.get(0);
+            }
+            int first = random.nextInt(available.size());
+            int second = random.nextInt(available.size() - 1);
+            if (second >= first) {
+                second += 1;
+            }
+            return lessLoaded(available.get(first), available.get(second));
+        }
+        // Start the scan at a random replica so that ties are spread across replicas.
+        int offset = random.nextInt(available.size());
+        Replica selected = available.get(offset);
+        for (int i = 1; i < available.size(); i++) {
+            selected = lessLoaded(selected, available.get((offset + i) % available.size()));
+        }
+        return selected;
+    }
+
+    private static Replica lessLoaded(Replica a, Replica b) {
+        return b.outstanding.get() < a.outstanding.get() ? b : a;
+    }
+
+    private static String trimTrailingSlash(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+
+    final class Replica {
+        private final String url;
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private final AtomicInteger consecutiveFailures = new AtomicInteger();
+        private final AtomicBoolean probing = new AtomicBoolean();
+
+        private volatile boolean ejected = false;
+        private volatile long ejectedUntilNanos = 0;
+        private volatile int ejectionMultiplier = 1;
+
+        private Replica(String url) {
+            this.url = trimTrailingSlash(HttpUrl.get(url).toString());
+        }
+
+        String resolve(String relativeUrl) {
+            return url + relativeUrl;
+        }
+
+        void onStart() {
+            outstanding.incrementAndGet();
+        }
+
+        void onSuccess() {
+            outstanding.decrementAndGet();
+            consecutiveFailures.set(0);
+            if (ejected) {
+                ejected = false;
+                ejectionMultiplier = 1;
+            }
+            probing.set(false);
+        }
+
+        void onFailure() {
+            outstanding.decrementAndGet();
+            if (probing.get()) {
+                eject(Math.min(ejectionMultiplier * 2, MAX_EJECTION_MULTIPLIER));
+                probing.set(false);
+            } else if (consecutiveFailures.incrementAndGet() >= ejectionThreshold && !ejected) {
+                eject(1);
+            }
+        }
+
+        /**
+         * Releases the replica after a call that says nothing about its health, such as a cancelled call.
+         */
+        void onAbandoned() {
+            outstanding.decrementAndGet();
+            probing.set(false);
+        }
+
+        private void eject(int multiplier) {
+            ejectionMultiplier = multiplier;
+            ejectedUntilNanos = System.nanoTime() + ejectionNanos * multiplier;
+            ejected = true;
+            consecutiveFailures.set(0);
+        }
+
+        private boolean isEjected(long now) {
+            return ejected && (now - ejectedUntilNanos < 0 || probing.get());
+        }
+
+        private boolean isProbeDue(long now) {
+            return ejected && now - ejectedUntilNanos >= 0 && !probing.get();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/**
+ * This file was auto-generated by Fern from our API Definition.
+ */
+package com.seed.singleUrlEnvironmentNoDefault.core;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Sends requests built against the base URL of a {@link ReplicaSet} to one of its replicas. The interceptor runs once
+ * per attempt, so a request that is retried after a failure can fail over to another replica.
+ */
+public final class LoadBalancingInterceptor implements Interceptor {
+
+    private final List<ReplicaSet> replicaSets;
+
+    public LoadBalancingInterceptor(List<ReplicaSet> replicaSets) {
+        // When base URLs are nested, the most specific one must win.
+        this.replicaSets = new ArrayList<>(replicaSets);
+        this.replicaSets.sort(Comparator.comparingInt(
+                        (ReplicaSet replicaSet) -> replicaSet.getBaseUrl().length())
+                .reversed());
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        String url = request.url().toString();
+        for (ReplicaSet replicaSet : replicaSets) {
+            String relativeUrl = replicaSet.relativize(url);
+            if (relativeUrl != null) {
+                return proceed(chain, request, replicaSet.select(), relativeUrl);
+            }
+        }
+        return chain.proceed(request);
+    }
+
+    private static Response proceed(Chain chain, Request request, ReplicaSet.Replica replica, String relativeUrl)
+            throws IOException {
+        Request replicaRequest = request.newBuilder()
+                .url(HttpUrl.get(replica.resolve(relativeUrl)))
+                .build();
+        replica.onStart();
+        Response response;
+        try {
+            response = chain.proceed(replicaRequest);
+        } catch (IOException e) {
+            if (chain.call().isCanceled()) {
+                replica.onAbandoned();
+            } else {
+                replica.onFailure();
+            }
+            throw e;
+        } catch (RuntimeException e) {
+            replica.onAbandoned();
+            throw e;
+        }
+        if (response.code() >= 500) {
+            replica.onFailure();
+        } else {
+            replica.onSuccess();
+        }
+        return response;
+    }
+}
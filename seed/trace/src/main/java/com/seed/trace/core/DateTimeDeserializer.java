@@ -3,12 +3,18 @@
  */
 package com.seed.trace.core;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
 import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.datatype.jsr310.ser.OffsetDateTimeSerializer;
 import java.io.IOException;
+import java.time.DateTimeException;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
@@ -19,12 +25,17 @@ import java.time.temporal.TemporalQueries;
 
 /**
  * Custom deserializer that handles converting ISO8601 dates into {@link OffsetDateTime} objects.
+ *
+ * <p>The common RFC 3339 layouts are parsed and written by hand, since going through {@link DateTimeFormatter} is one
+ * of the slowest parts of reading and writing a payload. Any other layout is still handled by the formatter.
  */
 class DateTimeDeserializer extends JsonDeserializer<OffsetDateTime> {
     private static final SimpleModule MODULE;
 
     static {
-        MODULE = new SimpleModule().addDeserializer(OffsetDateTime.class, new DateTimeDeserializer());
+        MODULE = new SimpleModule()
+                .addDeserializer(OffsetDateTime.class, new DateTimeDeserializer())
+                .addSerializer(OffsetDateTime.class, new Serializer());
     }
 
     /**
@@ -41,14 +52,169 @@ class DateTimeDeserializer extends JsonDeserializer<OffsetDateTime> {
         JsonToken token = parser.currentToken();
         if (token == JsonToken.VALUE_NUMBER_INT) {
             return OffsetDateTime.ofInstant(Instant.ofEpochSecond(parser.getValueAsLong()), ZoneOffset.UTC);
+        }
+        if (token == JsonToken.VALUE_STRING) {
+            OffsetDateTime dateTime =
+                    parseRfc3339(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+            if (dateTime != null) {
+                return dateTime;
+            }
+        }
+        TemporalAccessor temporal = DateTimeFormatter.ISO_DATE_TIME.parseBest(
+                parser.getValueAsString(), OffsetDateTime::from, LocalDateTime::from);
+
+        if (temporal.query(TemporalQueries.offset()) == null) {
+            return LocalDateTime.from(temporal).atOffset(ZoneOffset.UTC);
         } else {
-            TemporalAccessor temporal = DateTimeFormatter.ISO_DATE_TIME.parseBest(
-                    parser.getValueAsString(), OffsetDateTime::from, LocalDateTime::from);
+            return OffsetDateTime.from(temporal);
+        }
+    }
 
-            if (temporal.query(TemporalQueries.offset()) == null) {
-                return LocalDateTime.from(temporal).atOffset(ZoneOffset.UTC);
+    /**
+     * Parses {@code yyyy-MM-ddTHH:mm[:ss[.SSSSSSSSS]][Z|+HH:mm|-HH:mm]}, where a missing offset means UTC.
+     *
+     * @return The parsed date time, or {@code null} if the text has another layout or an invalid field.
+     */
+    private static OffsetDateTime parseRfc3339(char[] text, int start, int length) {
+        int end = start + length;
+        if (length < 16
+                || text[start + 4] != '-'
+                || text[start + 7] != '-'
+                || (text[start + 10] != 'T' && text[start + 10] != 't')
+                || text[start + 13] != ':') {
+            return null;
+        }
+        int year = parseDigits(text, start, 4);
+        int month = parseDigits(text, start + 5, 2);
+        int day = parseDigits(text, start + 8, 2);
+        int hour = parseDigits(text, start + 11, 2);
+        int minute = parseDigits(text, start + 14, 2);
+        int second = 0;
+        int nano = 0;
+        int i = start + 16;
+        if (i < end && text[i] == ':') {
+            if (i + 3 > end) {
+                return null;
+            }
+            second = parseDigits(text, i + 1, 2);
+            i += 3;
+            if (i < end && text[i] == '.') {
+                int fractionStart = ++i;
+                while (i < end && i - fractionStart < 9 && text[i] >= '0' && text[i] <= '9') {
+                    nano = nano * 10 + (text[i++] - '0');
+                }
+                if (i == fractionStart) {
+                    return null;
+                }
+                for (int digits = i - fractionStart; digits < 9; digits++) {
+                    nano *= 10;
+                }
+            }
+        }
+        if ((year | month | day | hour | minute | second) < 0) {
+            return null;
+        }
+        try {
+            ZoneOffset offset;
+            if (i == end) {
+                offset = ZoneOffset.UTC;
+            } else if ((text[i] == 'Z' || text[i] == 'z') && i + 1 == end) {
+                offset = ZoneOffset.UTC;
+            } else if ((text[i] == '+' || text[i] == '-') && i + 6 == end && text[i + 3] == ':') {
+                int offsetHours = parseDigits(text, i + 1, 2);
+                int offsetMinutes = parseDigits(text, i + 4, 2);
+                if ((offsetHours | offsetMinutes) < 0) {
+                    return null;
+                }
+                int sign = text[i] == '-' ? -1 : 1;
+                offset = ZoneOffset.ofHoursMinutes(sign * offsetHours, sign * offsetMinutes);
             } else {
-                return OffsetDateTime.from(temporal);
+                return null;
+            }
+            return OffsetDateTime.of(year, month, day, hour, minute, second, nano, offset);
+        } catch (DateTimeException e) {
+            // Left to the formatter, which reports the error.
+            return null;
+        }
+    }
+
+    /** Returns the value of the decimal digits, or {@code -1} if any character is not a digit. */
+    private static int parseDigits(char[] text, int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            char c = text[i];
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    /**
+     * Writes {@link OffsetDateTime} objects as {@link DateTimeFormatter#ISO_OFFSET_DATE_TIME} would, falling back to the
+     * default serializer when the mapper writes dates as timestamps or in its own time zone.
+     */
+    static final class Serializer extends JsonSerializer<OffsetDateTime> {
+        @Override
+        public void serialize(OffsetDateTime value, JsonGenerator generator, SerializerProvider provider)
+                throws IOException {
+            if (provider.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                    || provider.getConfig().hasExplicitTimeZone()) {
+                OffsetDateTimeSerializer.INSTANCE.serialize(value, generator, provider);
+                return;
+            }
+            if (value.getYear() < 0 || value.getYear() > 9999) {
+                generator.writeString(DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(value));
+                return;
+            }
+            char[] buffer = new char[38];
+            writeDigits(buffer, 0, value.getYear(), 4);
+            buffer[4] = '-';
+            writeDigits(buffer, 5, value.getMonthValue(), 2);
+            buffer[7] = '-';
+            writeDigits(buffer, 8, value.getDayOfMonth(), 2);
+            buffer[10] = 'T';
+            writeDigits(buffer, 11, value.getHour(), 2);
+            buffer[13] = ':';
+            writeDigits(buffer, 14, value.getMinute(), 2);
+            buffer[16] = ':';
+            writeDigits(buffer, 17, value.getSecond(), 2);
+            int length = 19;
+            int nano = value.getNano();
+            if (nano != 0) {
+                int digits = 9;
+                while (nano % 10 == 0) {
+                    nano /= 10;
+                    digits--;
+                }
+                buffer[length++] = '.';
+                writeDigits(buffer, length, nano, digits);
+                length += digits;
+            }
+            int offsetSeconds = value.getOffset().getTotalSeconds();
+            if (offsetSeconds == 0) {
+                buffer[length++] = 'Z';
+            } else {
+                buffer[length++] = offsetSeconds < 0 ? '-' : '+';
+                int absoluteSeconds = Math.abs(offsetSeconds);
+                writeDigits(buffer, length, absoluteSeconds / 3600, 2);
+                buffer[length + 2] = ':';
+                writeDigits(buffer, length + 3, absoluteSeconds / 60 % 60, 2);
+                length += 5;
+                if (absoluteSeconds % 60 != 0) {
+                    buffer[length] = ':';
+                    writeDigits(buffer, length + 1, absoluteSeconds % 60, 2);
+                    length += 3;
+                }
+            }
+            generator.writeString(buffer, 0, length);
+        }
+
+        private static void writeDigits(char[] buffer, int start, int value, int count) {
+            for (int i = start + count - 1; i >= start; i--) {
+                buffer[i] = (char) ('0' + value % 10);
+                value /= 10;
             }
         }
     }